@@ -0,0 +1,167 @@
+package gatling.simulations;
+
+import static io.gatling.javaapi.core.CoreDsl.*;
+import static io.gatling.javaapi.http.HttpDsl.*;
+
+import io.gatling.javaapi.core.ChainBuilder;
+import io.gatling.javaapi.core.ClosedInjectionStep;
+import io.gatling.javaapi.core.Simulation;
+import io.gatling.javaapi.http.HttpProtocolBuilder;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+
+/**
+ * Mixed read and write load on {@code /api/villes}, {@code /api/joueurs}, {@code /api/admin/users} and
+ * {@code /api/authenticate}, each in its own scenario of concurrent users.
+ * <p>
+ * The simulation fails when the 99th percentile of the response time of a scenario, the throughput over all the
+ * scenarios or the share of failed requests does not meet its threshold, see {@link LoadTestSettings}. A concurrent
+ * update of the same entity answers {@code 409 (Conflict)}, which is counted as a success.
+ */
+public class ApiGatlingTest extends Simulation {
+
+    private static final int MAX_PAGE = 50;
+
+    private static final int PAGE_SIZE = 20;
+
+    private final LoadTestSettings settings = new LoadTestSettings();
+
+    private final LoadTestApplication application = settings.baseUrl.isEmpty() ? LoadTestApplication.start() : null;
+
+    private final String baseUrl = application != null ? application.baseUrl() : settings.baseUrl;
+
+    private final LoadTestData data = LoadTestData.seed(baseUrl, settings);
+
+    private final HttpProtocolBuilder httpProtocol = http
+        .baseUrl(baseUrl)
+        .acceptHeader("application/json")
+        .authorizationHeader("Bearer " + data.token)
+        .shareConnections();
+
+    private final ChainBuilder villes = feed(feeder(settings.villes / PAGE_SIZE)).group("villes").on(
+        randomSwitch()
+            .on(
+                percent(40.0).then(exec(http("list villes").get("/api/villes?page=#{page}&size=" + PAGE_SIZE + "&sort=id,asc"))),
+                percent(30.0).then(exec(http("get ville").get("/api/villes/#{villeId}"))),
+                percent(20.0).then(exec(http("keyset villes").get("/api/villes/_keyset?lastId=#{villeId}&size=" + PAGE_SIZE))),
+                percent(10.0).then(
+                    exec(
+                        http("patch ville")
+                            .patch("/api/villes/#{villeId}")
+                            .header("Content-Type", "application/merge-patch+json")
+                            .body(StringBody("{\"id\":#{villeId},\"nbHabitants\":#{nbHabitants}}"))
+                            .check(status().in(200, 409))
+                    )
+                )
+            )
+    );
+
+    private final ChainBuilder joueurs = feed(feeder(settings.joueurs / PAGE_SIZE)).group("joueurs").on(
+        randomSwitch()
+            .on(
+                percent(40.0).then(exec(http("list joueurs").get("/api/joueurs?page=#{page}&size=" + PAGE_SIZE + "&sort=id,asc"))),
+                percent(30.0).then(exec(http("get joueur").get("/api/joueurs/#{joueurId}"))),
+                percent(15.0).then(
+                    exec(
+                        http("create joueur")
+                            .post("/api/joueurs")
+                            .header("Content-Type", "application/json")
+                            .body(StringBody("{\"pseudo\":\"load-#{nbHabitants}\",\"ville\":{\"id\":#{villeId}}}"))
+                            .check(status().is(201))
+                    )
+                ),
+                percent(15.0).then(
+                    exec(
+                        http("patch joueur")
+                            .patch("/api/joueurs/#{joueurId}")
+                            .header("Content-Type", "application/merge-patch+json")
+                            .body(StringBody("{\"id\":#{joueurId},\"pseudo\":\"load-#{nbHabitants}\"}"))
+                            .check(status().in(200, 409))
+                    )
+                )
+            )
+    );
+
+    private final ChainBuilder users = group("users").on(
+        randomSwitch()
+            .on(
+                percent(50.0).then(exec(http("list users").get("/api/admin/users?page=0&size=" + PAGE_SIZE))),
+                percent(50.0).then(exec(http("get user").get("/api/admin/users/" + settings.adminLogin)))
+            )
+    );
+
+    private final ChainBuilder authenticate = group("authenticate").on(
+        exec(
+            http("authenticate")
+                .post("/api/authenticate")
+                .header("Content-Type", "application/json")
+                .body(
+                    StringBody(
+                        "{\"username\":\"" + settings.adminLogin + "\",\"password\":\"" + settings.adminPassword + "\",\"rememberMe\":false}"
+                    )
+                )
+        )
+    );
+
+    {
+        setUp(
+            scenario("villes").exec(villes).injectClosed(load(settings.users)),
+            scenario("joueurs").exec(joueurs).injectClosed(load(settings.users)),
+            scenario("users").exec(users).injectClosed(load(settings.users)),
+            scenario("authenticate").exec(authenticate).injectClosed(load(settings.authUsers))
+        )
+            .protocols(httpProtocol)
+            .assertions(
+                details("villes").responseTime().percentile(99.0).lt(settings.p99Villes),
+                details("joueurs").responseTime().percentile(99.0).lt(settings.p99Joueurs),
+                details("users").responseTime().percentile(99.0).lt(settings.p99Users),
+                details("authenticate").responseTime().percentile(99.0).lt(settings.p99Authenticate),
+                global().requestsPerSec().gte(settings.minRequestsPerSecond),
+                global().failedRequests().percent().lte(settings.maxFailedPercent)
+            );
+    }
+
+    @Override
+    public void after() {
+        if (application != null) {
+            application.close();
+        }
+    }
+
+    /**
+     * Ramp up to the given number of concurrent users, then keep them for the duration of the load test.
+     */
+    private ClosedInjectionStep[] load(int concurrentUsers) {
+        return new ClosedInjectionStep[] {
+            rampConcurrentUsers(0).to(concurrentUsers).during(settings.rampUp),
+            constantConcurrentUsers(concurrentUsers).during(settings.duration),
+        };
+    }
+
+    /**
+     * Random identifiers among the seeded ones, a random page among the first ones, and a random number.
+     */
+    private Iterator<Map<String, Object>> feeder(int pages) {
+        int maxPage = Math.max(1, Math.min(pages, MAX_PAGE));
+        return Stream.generate(() -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            return Map.<String, Object>of(
+                "villeId",
+                randomOf(data.villeIds, random),
+                "joueurId",
+                randomOf(data.joueurIds, random),
+                "page",
+                random.nextInt(maxPage),
+                "nbHabitants",
+                random.nextInt(100, 500_000)
+            );
+        }).iterator();
+    }
+
+    private static Long randomOf(List<Long> ids, ThreadLocalRandom random) {
+        return ids.get(random.nextInt(ids.size()));
+    }
+}
@@ -0,0 +1,48 @@
+package gatling.simulations;
+
+import fr.soheilb.projet.JhipsterVillesApplicationApp;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * The application under load, started with the {@code dev} profile on an in-memory H2 database and a random port.
+ * <p>
+ * The test resources are on the classpath of the simulations, so the configuration is read from the directory of the
+ * main classes: otherwise the test {@code application.yml} would hide the main one, and the application would run
+ * without its second level cache nor its JDBC batching.
+ */
+final class LoadTestApplication implements AutoCloseable {
+
+    private final ConfigurableApplicationContext context;
+
+    private LoadTestApplication(ConfigurableApplicationContext context) {
+        this.context = context;
+    }
+
+    static LoadTestApplication start() {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        String mainClasses = JhipsterVillesApplicationApp.class.getProtectionDomain().getCodeSource().getLocation().toString();
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(JhipsterVillesApplicationApp.class)
+            .profiles("dev")
+            .run(
+                "--spring.config.location=" + mainClasses + "config/",
+                "--spring.datasource.url=jdbc:h2:mem:gatling;DB_CLOSE_DELAY=-1",
+                "--spring.docker.compose.enabled=false",
+                "--server.port=0",
+                "--logging.level.ROOT=WARN",
+                "--logging.level.tech.jhipster=WARN",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--logging.level.fr.soheilb.projet=WARN"
+            );
+        return new LoadTestApplication(context);
+    }
+
+    String baseUrl() {
+        return "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
@@ -0,0 +1,163 @@
+package gatling.simulations;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Data of the load tests, seeded through the REST API so that it goes through the same code as production writes:
+ * the villes are streamed to {@code POST /api/villes/_import} in CSV chunks, and the joueurs are created with
+ * {@code POST /api/joueurs/_bulk}. The values are drawn from a fixed seed, so that two runs load the same data.
+ * <p>
+ * Samples of the created identifiers are kept to feed the scenarios.
+ */
+final class LoadTestData {
+
+    private static final long SEED = 42;
+
+    private static final int REGION_COUNT = 13;
+
+    private static final int IMPORT_CHUNK_SIZE = 10_000;
+
+    private static final int BULK_SIZE = 1000;
+
+    private static final int SAMPLE_SIZE = 10_000;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    private final Random random = new Random(SEED);
+
+    private final String baseUrl;
+
+    String token;
+
+    final List<Long> villeIds = new ArrayList<>();
+
+    final List<Long> joueurIds = new ArrayList<>();
+
+    private LoadTestData(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    static LoadTestData seed(String baseUrl, LoadTestSettings settings) {
+        LoadTestData data = new LoadTestData(baseUrl);
+        data.authenticate(settings.adminLogin, settings.adminPassword);
+        data.importVilles(settings.villes);
+        data.sampleVilleIds();
+        data.createJoueurs(settings.joueurs);
+        return data;
+    }
+
+    private void authenticate(String login, String password) {
+        JsonNode body = send(
+            HttpRequest.newBuilder(URI.create(baseUrl + "/api/authenticate"))
+                .header("Content-Type", "application/json")
+                .POST(BodyPublishers.ofString(write(Map.of("username", login, "password", password, "rememberMe", false))))
+        );
+        token = body.get("id_token").asText();
+    }
+
+    private void importVilles(int count) {
+        for (int start = 0; start < count; start += IMPORT_CHUNK_SIZE) {
+            StringBuilder csv = new StringBuilder("nom;code_postal;nb_habitants;region\n");
+            for (int i = start; i < Math.min(start + IMPORT_CHUNK_SIZE, count); i++) {
+                csv
+                    .append("Ville ")
+                    .append(i)
+                    .append(';')
+                    .append(String.format("%05d", random.nextInt(100_000)))
+                    .append(';')
+                    .append(100 + random.nextInt(500_000))
+                    .append(";Region ")
+                    .append(random.nextInt(REGION_COUNT))
+                    .append('\n');
+            }
+            send(authorized("/api/villes/_import").header("Content-Type", "text/csv").POST(BodyPublishers.ofString(csv.toString())));
+        }
+    }
+
+    private void sampleVilleIds() {
+        String page = "/api/villes/_keyset?size=" + BULK_SIZE;
+        while (villeIds.size() < SAMPLE_SIZE) {
+            JsonNode villes = send(authorized(page).GET());
+            villes.forEach(ville -> villeIds.add(ville.get("id").asLong()));
+            if (villes.size() < BULK_SIZE) {
+                break;
+            }
+            page = "/api/villes/_keyset?size=" + BULK_SIZE + "&lastId=" + villeIds.get(villeIds.size() - 1);
+        }
+        if (villeIds.isEmpty()) {
+            throw new IllegalStateException("No ville was imported");
+        }
+    }
+
+    private void createJoueurs(int count) {
+        for (int start = 0; start < count; start += BULK_SIZE) {
+            ArrayNode joueurs = mapper.createArrayNode();
+            for (int i = start; i < Math.min(start + BULK_SIZE, count); i++) {
+                ObjectNode joueur = joueurs.addObject();
+                joueur.put("pseudo", "joueur-" + i);
+                joueur.put("dateInscription", Instant.ofEpochSecond(1_600_000_000L + random.nextInt(100_000_000)).toString());
+                joueur.put("estAdministrateur", false);
+                joueur.putObject("ville").put("id", randomVilleId());
+            }
+            JsonNode results = send(
+                authorized("/api/joueurs/_bulk").header("Content-Type", "application/json").POST(BodyPublishers.ofString(write(joueurs)))
+            );
+            for (JsonNode result : results) {
+                if (joueurIds.size() < SAMPLE_SIZE && "CREATED".equals(result.get("status").asText())) {
+                    joueurIds.add(result.get("id").asLong());
+                }
+            }
+        }
+        if (joueurIds.isEmpty()) {
+            throw new IllegalStateException("No joueur was created");
+        }
+    }
+
+    private Long randomVilleId() {
+        return villeIds.get(random.nextInt(villeIds.size()));
+    }
+
+    private HttpRequest.Builder authorized(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).header("Authorization", "Bearer " + token);
+    }
+
+    private JsonNode send(HttpRequest.Builder request) {
+        try {
+            var response = client.send(request.build(), BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException(response.request().uri() + " answered " + response.statusCode() + ": " + response.body());
+            }
+            return mapper.readTree(response.body());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String write(Object value) {
+        try {
+            return mapper.writeValueAsString(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package gatling.simulations;
+
+import java.time.Duration;
+
+/**
+ * Settings of the load tests, read from the system properties so that they can be given on the Maven command line,
+ * for instance {@code -Dvilles=1000000 -Dusers=50 -Dp99.villes=200}.
+ */
+final class LoadTestSettings {
+
+    /**
+     * URL of an already running application. When it is empty, the load test starts its own application.
+     */
+    final String baseUrl = System.getProperty("baseURL", "");
+
+    /**
+     * Login and password of the administrator used to seed the data and to call the other endpoints.
+     */
+    final String adminLogin = System.getProperty("adminLogin", "admin");
+
+    final String adminPassword = System.getProperty("adminPassword", "admin");
+
+    /**
+     * Number of villes and of joueurs created before the load test.
+     */
+    final int villes = Integer.getInteger("villes", 10_000);
+
+    final int joueurs = Integer.getInteger("joueurs", 10_000);
+
+    /**
+     * Concurrent users of each scenario, except authentication which is CPU bound and runs {@link #authUsers}.
+     */
+    final int users = Integer.getInteger("users", 10);
+
+    final int authUsers = Integer.getInteger("authUsers", 2);
+
+    /**
+     * Duration of the ramp up of the users, then of the steady load.
+     */
+    final Duration rampUp = Duration.ofSeconds(Integer.getInteger("rampUp", 10));
+
+    final Duration duration = Duration.ofSeconds(Integer.getInteger("duration", 60));
+
+    /**
+     * Thresholds: 99th percentile of the response time of each scenario in milliseconds, minimum number of requests
+     * per second over all scenarios, and maximum percentage of failed requests.
+     */
+    final int p99Villes = Integer.getInteger("p99.villes", 250);
+
+    final int p99Joueurs = Integer.getInteger("p99.joueurs", 250);
+
+    final int p99Users = Integer.getInteger("p99.users", 250);
+
+    final int p99Authenticate = Integer.getInteger("p99.authenticate", 1000);
+
+    final double minRequestsPerSecond = Double.parseDouble(System.getProperty("minRequestsPerSecond", "100"));
+
+    final double maxFailedPercent = Double.parseDouble(System.getProperty("maxFailedPercent", "1"));
+}
@@ -0,0 +1,72 @@
+package fr.soheilb.projet.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of {@link CRLFLogConverter#transform}, which runs on each logged message, for an application logger and
+ * for a logger it considers safe.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class CRLFLogConverterBenchmark {
+
+    private static final String MESSAGE = "Request to get Ville : Ville{id=42, nom='Lyon', codePostal='69000', nbHabitants=522250}";
+
+    private static final String FORGED_MESSAGE = "Request to get Ville : 42\n2024-01-01 00:00:00 INFO  Admin logged in\r\n";
+
+    @Param({ "none", "red" })
+    private String color;
+
+    private CRLFLogConverter converter;
+
+    private LoggingEvent applicationEvent;
+
+    private LoggingEvent safeEvent;
+
+    @Setup
+    public void createConverter() {
+        converter = new CRLFLogConverter();
+        if (!"none".equals(color)) {
+            converter.setOptionList(List.of(color));
+        }
+        applicationEvent = new LoggingEvent();
+        applicationEvent.setLoggerName("fr.soheilb.projet.service.impl.VilleServiceImpl");
+        applicationEvent.setLevel(Level.DEBUG);
+        safeEvent = new LoggingEvent();
+        safeEvent.setLoggerName("org.hibernate.SQL");
+        safeEvent.setLevel(Level.DEBUG);
+    }
+
+    @Benchmark
+    public String transformMessage() {
+        return converter.transform(applicationEvent, MESSAGE);
+    }
+
+    @Benchmark
+    public String transformForgedMessage() {
+        return converter.transform(applicationEvent, FORGED_MESSAGE);
+    }
+
+    @Benchmark
+    public String transformSafeLogger() {
+        return converter.transform(safeEvent, MESSAGE);
+    }
+}
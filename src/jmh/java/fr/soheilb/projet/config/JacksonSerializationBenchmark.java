@@ -0,0 +1,102 @@
+package fr.soheilb.projet.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import fr.soheilb.projet.domain.Joueur;
+import fr.soheilb.projet.domain.Region;
+import fr.soheilb.projet.domain.Ville;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the JSON serialization of {@link Region}, {@link Ville} and {@link Joueur} graphs, with the modules of
+ * {@link JacksonConfiguration}, including its {@code Hibernate6Module}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class JacksonSerializationBenchmark {
+
+    @Param({ "10", "100" })
+    private int villeCount;
+
+    @Param({ "5" })
+    private int joueursPerVille;
+
+    private ObjectMapper mapper;
+
+    private Region region;
+
+    private List<Ville> villes;
+
+    private List<Joueur> joueurs;
+
+    @Setup
+    public void createGraph() {
+        JacksonConfiguration jacksonConfiguration = new JacksonConfiguration();
+        mapper = JsonMapper.builder()
+            .addModules(
+                jacksonConfiguration.javaTimeModule(),
+                jacksonConfiguration.jdk8TimeModule(),
+                jacksonConfiguration.hibernate6Module()
+            )
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+        region = new Region().id(1L).nom("Region");
+        villes = new ArrayList<>();
+        joueurs = new ArrayList<>();
+        long joueurId = 1;
+        for (int i = 0; i < villeCount; i++) {
+            Ville ville = new Ville()
+                .id((long) i + 1)
+                .nom("Ville " + i)
+                .codePostal(String.format("%05d", i))
+                .nbHabitants(1000 + i);
+            region.addVilles(ville);
+            villes.add(ville);
+            for (int j = 0; j < joueursPerVille; j++) {
+                Joueur joueur = new Joueur()
+                    .id(joueurId++)
+                    .pseudo("joueur-" + i + "-" + j)
+                    .dateInscription(Instant.parse("2024-01-01T00:00:00Z"))
+                    .estAdministrateur(false);
+                ville.addJoueurs(joueur);
+                joueurs.add(joueur);
+            }
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeRegion() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(region);
+    }
+
+    @Benchmark
+    public byte[] serializeVilles() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(villes);
+    }
+
+    @Benchmark
+    public byte[] serializeJoueurs() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(joueurs);
+    }
+}
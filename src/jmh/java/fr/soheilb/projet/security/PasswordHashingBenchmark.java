@@ -0,0 +1,76 @@
+package fr.soheilb.projet.security;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Benchmark of the verification of a password, as done by each login, for several algorithms and costs of
+ * {@link PasswordEncoders}.
+ * <p>
+ * It runs on one thread, so that its result is the login latency on one core, and {@code 1000 / latency} the logins per
+ * second of each core. Pick the highest cost whose latency stays under the target, for instance with
+ * {@code -Djmh.args="PasswordHashingBenchmark -p encoder=argon2-47104-1-1,argon2-19456-2-1"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Threads(1)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+public class PasswordHashingBenchmark {
+
+    /**
+     * The algorithm followed by its costs: the BCrypt strength, the PBKDF2 iterations, or the Argon2 memory in KiB,
+     * iterations and parallelism.
+     */
+    @Param(
+        {
+            "bcrypt-10",
+            "bcrypt-12",
+            "pbkdf2-310000",
+            "pbkdf2-600000",
+            "argon2-19456-2-1",
+            "argon2-47104-1-1",
+            "argon2-65536-3-1",
+        }
+    )
+    private String encoder;
+
+    private PasswordEncoder passwordEncoder;
+
+    private String hash;
+
+    @Setup
+    public void hashPassword() {
+        String[] parameters = encoder.split("-");
+        passwordEncoder = switch (parameters[0]) {
+            case PasswordEncoders.BCRYPT -> PasswordEncoders.bcrypt(Integer.parseInt(parameters[1]));
+            case PasswordEncoders.PBKDF2 -> PasswordEncoders.pbkdf2(Integer.parseInt(parameters[1]));
+            case PasswordEncoders.ARGON2 -> PasswordEncoders.argon2(
+                Integer.parseInt(parameters[1]),
+                Integer.parseInt(parameters[2]),
+                Integer.parseInt(parameters[3])
+            );
+            default -> throw new IllegalArgumentException("Unknown password encoder: " + encoder);
+        };
+        hash = passwordEncoder.encode("correct horse battery staple");
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return passwordEncoder.matches("correct horse battery staple", hash);
+    }
+}
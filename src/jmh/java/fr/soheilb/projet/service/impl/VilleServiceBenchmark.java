@@ -0,0 +1,111 @@
+package fr.soheilb.projet.service.impl;
+
+import fr.soheilb.projet.JhipsterVillesApplicationApp;
+import fr.soheilb.projet.domain.Region;
+import fr.soheilb.projet.domain.Ville;
+import fr.soheilb.projet.service.RegionService;
+import fr.soheilb.projet.service.VilleService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Benchmarks of {@link VilleServiceImpl}, called through its transactional proxy.
+ * <p>
+ * The application is started with the {@code testdev} profile on an in-memory H2 database, which Liquibase creates and
+ * which is filled with {@link #villeCount} villes. The second level cache is disabled by that profile, so every call
+ * reaches the database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class VilleServiceBenchmark {
+
+    private static final int REGION_COUNT = 10;
+
+    private static final int PAGE_SIZE = 20;
+
+    @Param({ "1000" })
+    private int villeCount;
+
+    private ConfigurableApplicationContext context;
+
+    private VilleService villeService;
+
+    private final List<Long> villeIds = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(JhipsterVillesApplicationApp.class)
+            .profiles("testdev")
+            .run(
+                "--spring.datasource.url=jdbc:h2:mem:jmh;DB_CLOSE_DELAY=-1",
+                "--server.port=0",
+                "--logging.level.ROOT=WARN",
+                "--logging.level.fr.soheilb.projet=WARN"
+            );
+        villeService = context.getBean(VilleService.class);
+        RegionService regionService = context.getBean(RegionService.class);
+
+        List<Region> regions = new ArrayList<>();
+        for (int i = 0; i < REGION_COUNT; i++) {
+            regions.add(regionService.save(new Region().nom("Region " + i)));
+        }
+        for (int i = 0; i < villeCount; i++) {
+            Ville ville = new Ville()
+                .nom("Ville " + i)
+                .codePostal(String.format("%05d", i))
+                .nbHabitants(1000 + i)
+                .region(regions.get(i % REGION_COUNT));
+            villeIds.add(villeService.save(ville).getId());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<Ville> findAll() {
+        int page = ThreadLocalRandom.current().nextInt(villeCount / PAGE_SIZE);
+        return villeService.findAll(PageRequest.of(page, PAGE_SIZE, Sort.by("id")));
+    }
+
+    @Benchmark
+    public Ville findOne() {
+        return villeService.findOne(randomVilleId()).orElseThrow();
+    }
+
+    @Benchmark
+    public Ville partialUpdate() {
+        Ville patch = new Ville().id(randomVilleId()).nbHabitants(ThreadLocalRandom.current().nextInt(1000, 100_000));
+        return villeService.partialUpdate(patch).orElseThrow();
+    }
+
+    private Long randomVilleId() {
+        return villeIds.get(ThreadLocalRandom.current().nextInt(villeIds.size()));
+    }
+}
@@ -0,0 +1,69 @@
+package fr.soheilb.projet.service.mapper;
+
+import fr.soheilb.projet.domain.Authority;
+import fr.soheilb.projet.domain.User;
+import fr.soheilb.projet.security.AuthoritiesConstants;
+import fr.soheilb.projet.service.dto.AdminUserDTO;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of {@link UserMapper#usersToAdminUserDTOs(List)}, as used by the user administration page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class UserMapperBenchmark {
+
+    @Param({ "20", "100" })
+    private int userCount;
+
+    private final UserMapper userMapper = new UserMapper();
+
+    private List<User> users;
+
+    @Setup
+    public void createUsers() {
+        Authority user = new Authority().name(AuthoritiesConstants.USER);
+        Authority admin = new Authority().name(AuthoritiesConstants.ADMIN);
+        users = new ArrayList<>();
+        for (int i = 0; i < userCount; i++) {
+            User u = new User();
+            u.setId((long) i);
+            u.setLogin("user-" + i);
+            u.setFirstName("First" + i);
+            u.setLastName("Last" + i);
+            u.setEmail("user-" + i + "@localhost");
+            u.setActivated(true);
+            u.setLangKey("fr");
+            u.setCreatedBy("system");
+            u.setCreatedDate(Instant.parse("2024-01-01T00:00:00Z"));
+            u.getAuthorities().add(user);
+            if (i % 10 == 0) {
+                u.getAuthorities().add(admin);
+            }
+            users.add(u);
+        }
+    }
+
+    @Benchmark
+    public List<AdminUserDTO> usersToAdminUserDTOs() {
+        return userMapper.usersToAdminUserDTOs(users);
+    }
+}
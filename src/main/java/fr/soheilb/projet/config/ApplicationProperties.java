@@ -1,5 +1,8 @@
 package fr.soheilb.projet.config;
 
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
@@ -13,12 +16,54 @@ public class ApplicationProperties {
 
     private final Liquibase liquibase = new Liquibase();
 
+    private final VilleSuggest villeSuggest = new VilleSuggest();
+
+    private final VilleImport villeImport = new VilleImport();
+
+    private final Persistence persistence = new Persistence();
+
+    private final Cache cache = new Cache();
+
+    private final CacheWarmUp cacheWarmUp = new CacheWarmUp();
+
+    private final PerfData perfData = new PerfData();
+
+    private final PasswordHashing passwordHashing = new PasswordHashing();
+
     // jhipster-needle-application-properties-property
 
     public Liquibase getLiquibase() {
         return liquibase;
     }
 
+    public VilleSuggest getVilleSuggest() {
+        return villeSuggest;
+    }
+
+    public VilleImport getVilleImport() {
+        return villeImport;
+    }
+
+    public Persistence getPersistence() {
+        return persistence;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public CacheWarmUp getCacheWarmUp() {
+        return cacheWarmUp;
+    }
+
+    public PerfData getPerfData() {
+        return perfData;
+    }
+
+    public PasswordHashing getPasswordHashing() {
+        return passwordHashing;
+    }
+
     // jhipster-needle-application-properties-property-getter
 
     public static class Liquibase {
@@ -33,5 +78,534 @@ public class ApplicationProperties {
             this.asyncStart = asyncStart;
         }
     }
+
+    public static class VilleSuggest {
+
+        /**
+         * Maximum number of suggestions a single autocomplete request can return.
+         */
+        private int maxResults = 20;
+
+        public int getMaxResults() {
+            return maxResults;
+        }
+
+        public void setMaxResults(int maxResults) {
+            this.maxResults = maxResults;
+        }
+    }
+
+    public static class VilleImport {
+
+        /**
+         * Number of lines committed together; a failing chunk is rolled back and reported as a whole.
+         */
+        private int chunkSize = 1000;
+
+        /**
+         * Maximum number of line errors kept in an import report; further errors are only counted.
+         */
+        private int maxReportedErrors = 1000;
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+
+        public int getMaxReportedErrors() {
+            return maxReportedErrors;
+        }
+
+        public void setMaxReportedErrors(int maxReportedErrors) {
+            this.maxReportedErrors = maxReportedErrors;
+        }
+    }
+
+    public static class Persistence {
+
+        /**
+         * Number of identifiers reserved by each call to an entity sequence, unless overridden by {@link #idAllocationSize}.
+         * It must equal the increment of the sequences in the database.
+         */
+        private int defaultIdAllocationSize = 50;
+
+        /**
+         * Number of identifiers reserved by each call to a sequence, by sequence name.
+         */
+        private Map<String, Integer> idAllocationSize = new HashMap<>();
+
+        public int getDefaultIdAllocationSize() {
+            return defaultIdAllocationSize;
+        }
+
+        public void setDefaultIdAllocationSize(int defaultIdAllocationSize) {
+            this.defaultIdAllocationSize = defaultIdAllocationSize;
+        }
+
+        public Map<String, Integer> getIdAllocationSize() {
+            return idAllocationSize;
+        }
+
+        public void setIdAllocationSize(Map<String, Integer> idAllocationSize) {
+            this.idAllocationSize = idAllocationSize;
+        }
+    }
+
+    public static class Cache {
+
+        /**
+         * Root directory of the disk tiers, required when a cache has a disk tier.
+         */
+        private String diskPath;
+
+        /**
+         * Sizing and expiry of each cache, by cache name; the caches not listed use the {@code jhipster.cache.ehcache} settings.
+         */
+        private Map<String, CacheSettings> caches = new HashMap<>();
+
+        private final Cluster cluster = new Cluster();
+
+        public String getDiskPath() {
+            return diskPath;
+        }
+
+        public void setDiskPath(String diskPath) {
+            this.diskPath = diskPath;
+        }
+
+        public Map<String, CacheSettings> getCaches() {
+            return caches;
+        }
+
+        public void setCaches(Map<String, CacheSettings> caches) {
+            this.caches = caches;
+        }
+
+        public Cluster getCluster() {
+            return cluster;
+        }
+
+        public static class Cluster {
+
+            /**
+             * How the nodes tell each other about the cache entries they invalidate, {@code none} for a single node.
+             */
+            private Mode mode = Mode.NONE;
+
+            /**
+             * Name of the channel the invalidations are sent on, shared by all the nodes of the cluster.
+             */
+            private String channel = "cache_invalidation";
+
+            /**
+             * Number of keys of a same cache invalidated by a transaction above which the whole cache is cleared instead.
+             */
+            private int maxKeysPerCache = 100;
+
+            /**
+             * How long the listening connection waits for notifications between two checks, {@code postgres} mode only.
+             */
+            private Duration pollInterval = Duration.ofMillis(500);
+
+            public Mode getMode() {
+                return mode;
+            }
+
+            public void setMode(Mode mode) {
+                this.mode = mode;
+            }
+
+            public String getChannel() {
+                return channel;
+            }
+
+            public void setChannel(String channel) {
+                this.channel = channel;
+            }
+
+            public int getMaxKeysPerCache() {
+                return maxKeysPerCache;
+            }
+
+            public void setMaxKeysPerCache(int maxKeysPerCache) {
+                this.maxKeysPerCache = maxKeysPerCache;
+            }
+
+            public Duration getPollInterval() {
+                return pollInterval;
+            }
+
+            public void setPollInterval(Duration pollInterval) {
+                this.pollInterval = pollInterval;
+            }
+
+            public enum Mode {
+                /**
+                 * Caches are local to the node.
+                 */
+                NONE,
+                /**
+                 * Invalidations go through PostgreSQL {@code NOTIFY}, every node {@code LISTEN}s on the channel.
+                 */
+                POSTGRES,
+                /**
+                 * Invalidations go to the other nodes of the same JVM, for tests.
+                 */
+                IN_MEMORY,
+            }
+        }
+
+        public static class CacheSettings {
+
+            /**
+             * Number of entries kept on the heap, {@code jhipster.cache.ehcache.max-entries} if not set.
+             */
+            private Long heapEntries;
+
+            /**
+             * Size in MB of the off-heap tier, none if 0. Entries in this tier are serialized outside of the Java heap.
+             */
+            private long offHeapMb;
+
+            /**
+             * Size in MB of the disk tier, none if 0. It must be larger than the off-heap tier.
+             */
+            private long diskMb;
+
+            /**
+             * Whether the disk tier is kept across restarts.
+             */
+            private boolean diskPersistent;
+
+            /**
+             * Time to live of the entries, {@code jhipster.cache.ehcache.time-to-live-seconds} if not set.
+             */
+            private Duration timeToLive;
+
+            /**
+             * Time to idle of the entries, replacing the time to live when set.
+             */
+            private Duration timeToIdle;
+
+            public Long getHeapEntries() {
+                return heapEntries;
+            }
+
+            public void setHeapEntries(Long heapEntries) {
+                this.heapEntries = heapEntries;
+            }
+
+            public long getOffHeapMb() {
+                return offHeapMb;
+            }
+
+            public void setOffHeapMb(long offHeapMb) {
+                this.offHeapMb = offHeapMb;
+            }
+
+            public long getDiskMb() {
+                return diskMb;
+            }
+
+            public void setDiskMb(long diskMb) {
+                this.diskMb = diskMb;
+            }
+
+            public boolean isDiskPersistent() {
+                return diskPersistent;
+            }
+
+            public void setDiskPersistent(boolean diskPersistent) {
+                this.diskPersistent = diskPersistent;
+            }
+
+            public Duration getTimeToLive() {
+                return timeToLive;
+            }
+
+            public void setTimeToLive(Duration timeToLive) {
+                this.timeToLive = timeToLive;
+            }
+
+            public Duration getTimeToIdle() {
+                return timeToIdle;
+            }
+
+            public void setTimeToIdle(Duration timeToIdle) {
+                this.timeToIdle = timeToIdle;
+            }
+        }
+    }
+
+    public static class CacheWarmUp {
+
+        /**
+         * Whether the regions and villes are loaded in the second level cache at startup.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Maximum duration of the warm-up; the application is reported ready once it is over, warm or not.
+         */
+        private Duration timeout = Duration.ofMinutes(2);
+
+        /**
+         * Number of villes loaded by each query.
+         */
+        private int pageSize = 500;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
+        }
+
+        public int getPageSize() {
+            return pageSize;
+        }
+
+        public void setPageSize(int pageSize) {
+            this.pageSize = pageSize;
+        }
+    }
+
+    public static class PerfData {
+
+        /**
+         * Number of villes to generate, the number of French communes when not set.
+         */
+        private Integer villes;
+
+        /**
+         * Number of joueurs to generate.
+         */
+        private int joueurs = 1_000_000;
+
+        /**
+         * Seed of the generated values: the same seed always generates the same data.
+         */
+        private long seed = 42;
+
+        /**
+         * Number of rows written by each transaction.
+         */
+        private int chunkSize = 50_000;
+
+        /**
+         * Whether the application stops once the data is generated.
+         */
+        private boolean exitWhenDone;
+
+        public Integer getVilles() {
+            return villes;
+        }
+
+        public void setVilles(Integer villes) {
+            this.villes = villes;
+        }
+
+        public int getJoueurs() {
+            return joueurs;
+        }
+
+        public void setJoueurs(int joueurs) {
+            this.joueurs = joueurs;
+        }
+
+        public long getSeed() {
+            return seed;
+        }
+
+        public void setSeed(long seed) {
+            this.seed = seed;
+        }
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+
+        public boolean isExitWhenDone() {
+            return exitWhenDone;
+        }
+
+        public void setExitWhenDone(boolean exitWhenDone) {
+            this.exitWhenDone = exitWhenDone;
+        }
+    }
+
+    public static class PasswordHashing {
+
+        /**
+         * Algorithm of the new password hashes. The hashes of the other algorithms, or with lower costs, are still
+         * accepted, and replaced at the next login of their user.
+         */
+        private Algorithm algorithm = Algorithm.BCRYPT;
+
+        private final Bcrypt bcrypt = new Bcrypt();
+
+        private final Pbkdf2 pbkdf2 = new Pbkdf2();
+
+        private final Argon2 argon2 = new Argon2();
+
+        /**
+         * Threads computing the hashes, the number of processors when 0.
+         */
+        private int threads;
+
+        /**
+         * Hashes waiting for a thread. Beyond, the requests needing a hash are answered 503 at once.
+         */
+        private int queueCapacity = 16;
+
+        /**
+         * Maximum time a request waits for its hash. Beyond, it is answered 503.
+         */
+        private Duration maxWait = Duration.ofSeconds(2);
+
+        public Algorithm getAlgorithm() {
+            return algorithm;
+        }
+
+        public void setAlgorithm(Algorithm algorithm) {
+            this.algorithm = algorithm;
+        }
+
+        public Bcrypt getBcrypt() {
+            return bcrypt;
+        }
+
+        public Pbkdf2 getPbkdf2() {
+            return pbkdf2;
+        }
+
+        public Argon2 getArgon2() {
+            return argon2;
+        }
+
+        public int getThreads() {
+            return threads;
+        }
+
+        public void setThreads(int threads) {
+            this.threads = threads;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public Duration getMaxWait() {
+            return maxWait;
+        }
+
+        public void setMaxWait(Duration maxWait) {
+            this.maxWait = maxWait;
+        }
+
+        public enum Algorithm {
+            /**
+             * BCrypt, whose cost is CPU time.
+             */
+            BCRYPT,
+            /**
+             * PBKDF2 with HMAC-SHA256, the FIPS-140 approved choice.
+             */
+            PBKDF2,
+            /**
+             * Argon2id, whose cost is memory as well as CPU time.
+             */
+            ARGON2,
+        }
+
+        public static class Bcrypt {
+
+            /**
+             * Log2 of the number of rounds, from 4 to 31.
+             */
+            private int strength = 10;
+
+            public int getStrength() {
+                return strength;
+            }
+
+            public void setStrength(int strength) {
+                this.strength = strength;
+            }
+        }
+
+        public static class Pbkdf2 {
+
+            /**
+             * Number of iterations of PBKDF2 with HMAC-SHA256. It is written into the hashes, so that changing it
+             * keeps the existing hashes valid, and replaces them at the next login of their user.
+             */
+            private int iterations = 310_000;
+
+            public int getIterations() {
+                return iterations;
+            }
+
+            public void setIterations(int iterations) {
+                this.iterations = iterations;
+            }
+        }
+
+        public static class Argon2 {
+
+            /**
+             * Memory used by each hash, in KiB.
+             */
+            private int memory = 19_456;
+
+            private int iterations = 2;
+
+            private int parallelism = 1;
+
+            public int getMemory() {
+                return memory;
+            }
+
+            public void setMemory(int memory) {
+                this.memory = memory;
+            }
+
+            public int getIterations() {
+                return iterations;
+            }
+
+            public void setIterations(int iterations) {
+                this.iterations = iterations;
+            }
+
+            public int getParallelism() {
+                return parallelism;
+            }
+
+            public void setParallelism(int parallelism) {
+                this.parallelism = parallelism;
+            }
+        }
+    }
     // jhipster-needle-application-properties-property-class
 }
@@ -0,0 +1,70 @@
+package fr.soheilb.projet.config;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.jcache.JCacheCache;
+import org.springframework.cache.jcache.JCacheCacheManager;
+
+/**
+ * Spring {@link JCacheCacheManager} whose caches tell the other nodes of the cluster about their evictions, through
+ * the {@link CacheInvalidationBus}.
+ */
+public class BroadcastingJCacheCacheManager extends JCacheCacheManager {
+
+    private final CacheInvalidationBus cacheInvalidationBus;
+
+    public BroadcastingJCacheCacheManager(javax.cache.CacheManager cacheManager, CacheInvalidationBus cacheInvalidationBus) {
+        super(cacheManager);
+        this.cacheInvalidationBus = cacheInvalidationBus;
+    }
+
+    @Override
+    protected Cache decorateCache(Cache cache) {
+        if (cache instanceof JCacheCache jCacheCache) {
+            return super.decorateCache(new BroadcastingJCacheCache(jCacheCache.getNativeCache(), isAllowNullValues(), cacheInvalidationBus));
+        }
+        return super.decorateCache(cache);
+    }
+
+    /**
+     * A {@link JCacheCache} publishing its evictions, still a {@link JCacheCache} so that its metrics are published.
+     */
+    static class BroadcastingJCacheCache extends JCacheCache {
+
+        private final CacheInvalidationBus cacheInvalidationBus;
+
+        BroadcastingJCacheCache(
+            javax.cache.Cache<Object, Object> cache,
+            boolean allowNullValues,
+            CacheInvalidationBus cacheInvalidationBus
+        ) {
+            super(cache, allowNullValues);
+            this.cacheInvalidationBus = cacheInvalidationBus;
+        }
+
+        @Override
+        public void evict(Object key) {
+            super.evict(key);
+            cacheInvalidationBus.evicted(getName(), key);
+        }
+
+        @Override
+        public boolean evictIfPresent(Object key) {
+            boolean evicted = super.evictIfPresent(key);
+            cacheInvalidationBus.evicted(getName(), key);
+            return evicted;
+        }
+
+        @Override
+        public void clear() {
+            super.clear();
+            cacheInvalidationBus.cleared(getName());
+        }
+
+        @Override
+        public boolean invalidate() {
+            boolean invalidated = super.invalidate();
+            cacheInvalidationBus.cleared(getName());
+            return invalidated;
+        }
+    }
+}
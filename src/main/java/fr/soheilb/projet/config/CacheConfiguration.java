@@ -1,9 +1,24 @@
 package fr.soheilb.projet.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import java.io.File;
+import java.net.URI;
 import java.time.Duration;
+import java.util.UUID;
+import javax.cache.Caching;
+import javax.sql.DataSource;
 import org.ehcache.config.builders.*;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.core.config.DefaultConfiguration;
+import org.ehcache.expiry.ExpiryPolicy;
+import org.ehcache.impl.config.persistence.DefaultPersistenceConfiguration;
+import org.ehcache.impl.serialization.PlainJavaSerializer;
 import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
 import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.cache.JCacheManagerCustomizer;
 import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
@@ -21,20 +36,38 @@ public class CacheConfiguration {
 
     private GitProperties gitProperties;
     private BuildProperties buildProperties;
-    private final javax.cache.configuration.Configuration<Object, Object> jcacheConfiguration;
-
-    public CacheConfiguration(JHipsterProperties jHipsterProperties) {
-        JHipsterProperties.Cache.Ehcache ehcache = jHipsterProperties.getCache().getEhcache();
-
-        jcacheConfiguration = Eh107Configuration.fromEhcacheCacheConfiguration(
-            CacheConfigurationBuilder.newCacheConfigurationBuilder(
-                Object.class,
-                Object.class,
-                ResourcePoolsBuilder.heap(ehcache.getMaxEntries())
-            )
-                .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(ehcache.getTimeToLiveSeconds())))
-                .build()
-        );
+    private final JHipsterProperties.Cache.Ehcache ehcache;
+    private final ApplicationProperties.Cache cacheProperties;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public CacheConfiguration(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties) {
+        this.ehcache = jHipsterProperties.getCache().getEhcache();
+        this.cacheProperties = applicationProperties.getCache();
+    }
+
+    /**
+     * The Ehcache JCache manager, built here rather than by Spring Boot so that it can hold the disk tiers.
+     * <p>
+     * With the {@code in-memory} cluster mode, each node of the JVM has its own cache manager.
+     *
+     * @param cacheManagerCustomizers the customizers creating the caches.
+     * @return the cache manager.
+     */
+    @Bean
+    public javax.cache.CacheManager jCacheCacheManager(ObjectProvider<JCacheManagerCustomizer> cacheManagerCustomizers) {
+        EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        DefaultConfiguration configuration = cacheProperties.getDiskPath() == null
+            ? new DefaultConfiguration(provider.getDefaultClassLoader())
+            : new DefaultConfiguration(
+                provider.getDefaultClassLoader(),
+                new DefaultPersistenceConfiguration(new File(cacheProperties.getDiskPath()))
+            );
+        URI uri = cacheProperties.getCluster().getMode() == ApplicationProperties.Cache.Cluster.Mode.IN_MEMORY
+            ? URI.create("urn:jhipster-villes:node:" + nodeId)
+            : provider.getDefaultURI();
+        javax.cache.CacheManager cacheManager = provider.getCacheManager(uri, configuration);
+        cacheManagerCustomizers.orderedStream().forEach(customizer -> customizer.customize(cacheManager));
+        return cacheManager;
     }
 
     @Bean
@@ -42,6 +75,35 @@ public class CacheConfiguration {
         return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
     }
 
+    /**
+     * The bus sharing the cache invalidations of this node with the other nodes of the cluster, inactive with the
+     * {@code none} cluster mode.
+     */
+    @Bean(initMethod = "start", destroyMethod = "close")
+    public CacheInvalidationBus cacheInvalidationBus(
+        javax.cache.CacheManager cacheManager,
+        EntityManagerFactory entityManagerFactory,
+        DataSource dataSource,
+        ObjectMapper objectMapper
+    ) {
+        ApplicationProperties.Cache.Cluster cluster = cacheProperties.getCluster();
+        CacheInvalidationTransport transport =
+            switch (cluster.getMode()) {
+                case NONE -> null;
+                case POSTGRES -> new PostgresCacheInvalidationTransport(dataSource, cluster.getChannel(), cluster.getPollInterval());
+                case IN_MEMORY -> new InMemoryCacheInvalidationTransport(cluster.getChannel());
+            };
+        return new CacheInvalidationBus(nodeId, transport, cacheManager, entityManagerFactory, objectMapper, cluster.getMaxKeysPerCache());
+    }
+
+    @Bean
+    public org.springframework.cache.CacheManager cacheManager(
+        javax.cache.CacheManager jCacheCacheManager,
+        CacheInvalidationBus cacheInvalidationBus
+    ) {
+        return new BroadcastingJCacheCacheManager(jCacheCacheManager, cacheInvalidationBus);
+    }
+
     @Bean
     public JCacheManagerCustomizer cacheManagerCustomizer() {
         return cm -> {
@@ -55,17 +117,100 @@ public class CacheConfiguration {
             createCache(cm, fr.soheilb.projet.domain.Region.class.getName());
             createCache(cm, fr.soheilb.projet.domain.Region.class.getName() + ".villes");
             createCache(cm, fr.soheilb.projet.domain.Joueur.class.getName());
+            createCache(cm, fr.soheilb.projet.service.RegionStatsService.REGION_STATS_CACHE);
+            createTimestampsCache(cm, RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME);
+            createCache(cm, RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME);
+            createCache(cm, fr.soheilb.projet.repository.VilleRepository.VILLES_BY_REGION_CACHE);
+            createCache(cm, fr.soheilb.projet.repository.JoueurRepository.JOUEUR_BY_PSEUDO_CACHE);
             // jhipster-needle-ehcache-add-entry
         };
     }
 
+    /**
+     * Create a cache, with statistics so that its gets, puts, removals and evictions are published as
+     * {@code cache.*} metrics tagged with the cache name.
+     */
     private void createCache(javax.cache.CacheManager cm, String cacheName) {
         javax.cache.Cache<Object, Object> cache = cm.getCache(cacheName);
         if (cache != null) {
             cache.clear();
         } else {
-            cm.createCache(cacheName, jcacheConfiguration);
+            cm.createCache(cacheName, jcacheConfiguration(cacheName));
+        }
+        cm.enableStatistics(cacheName, true);
+    }
+
+    /**
+     * Create the Hibernate update timestamps cache, which invalidates the cached query results of the tables written
+     * since. Its entries must outlive the query results, so they never expire.
+     */
+    private void createTimestampsCache(javax.cache.CacheManager cm, String cacheName) {
+        javax.cache.Cache<Object, Object> cache = cm.getCache(cacheName);
+        if (cache != null) {
+            cache.clear();
+        } else {
+            cm.createCache(
+                cacheName,
+                Eh107Configuration.fromEhcacheCacheConfiguration(
+                    CacheConfigurationBuilder.newCacheConfigurationBuilder(
+                        Object.class,
+                        Object.class,
+                        ResourcePoolsBuilder.heap(ehcache.getMaxEntries())
+                    )
+                        .withExpiry(ExpiryPolicyBuilder.noExpiration())
+                        .build()
+                )
+            );
+        }
+        cm.enableStatistics(cacheName, true);
+    }
+
+    /**
+     * Build the configuration of a cache from its {@code application.cache.caches} settings, if any, then from the
+     * {@code jhipster.cache.ehcache} defaults.
+     *
+     * @param cacheName the name of the cache.
+     * @return the configuration of the cache.
+     */
+    javax.cache.configuration.Configuration<Object, Object> jcacheConfiguration(String cacheName) {
+        ApplicationProperties.Cache.CacheSettings settings = cacheProperties.getCaches().get(cacheName);
+        if (settings == null) {
+            settings = new ApplicationProperties.Cache.CacheSettings();
+        }
+
+        ResourcePoolsBuilder resourcePools = ResourcePoolsBuilder.heap(
+            settings.getHeapEntries() != null ? settings.getHeapEntries() : ehcache.getMaxEntries()
+        );
+        if (settings.getOffHeapMb() > 0) {
+            resourcePools = resourcePools.offheap(settings.getOffHeapMb(), MemoryUnit.MB);
+        }
+        if (settings.getDiskMb() > 0) {
+            resourcePools = resourcePools.disk(settings.getDiskMb(), MemoryUnit.MB, settings.isDiskPersistent());
+        }
+
+        CacheConfigurationBuilder<Object, Object> builder = CacheConfigurationBuilder.newCacheConfigurationBuilder(
+            Object.class,
+            Object.class,
+            resourcePools
+        ).withExpiry(expiryPolicy(settings));
+        if (settings.getOffHeapMb() > 0 || settings.getDiskMb() > 0) {
+            // Entries leaving the heap are serialized, and Ehcache has no default serializer for Object
+            ClassLoader classLoader = getClass().getClassLoader();
+            builder = builder
+                .withKeySerializer(new PlainJavaSerializer<>(classLoader))
+                .withValueSerializer(new PlainJavaSerializer<>(classLoader));
+        }
+        return Eh107Configuration.fromEhcacheCacheConfiguration(builder.build());
+    }
+
+    private ExpiryPolicy<Object, Object> expiryPolicy(ApplicationProperties.Cache.CacheSettings settings) {
+        if (settings.getTimeToIdle() != null) {
+            return ExpiryPolicyBuilder.timeToIdleExpiration(settings.getTimeToIdle());
         }
+        Duration timeToLive = settings.getTimeToLive() != null
+            ? settings.getTimeToLive()
+            : Duration.ofSeconds(ehcache.getTimeToLiveSeconds());
+        return ExpiryPolicyBuilder.timeToLiveExpiration(timeToLive);
     }
 
     @Autowired(required = false)
@@ -0,0 +1,355 @@
+package fr.soheilb.projet.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.StreamSupport;
+import org.hibernate.Cache;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.metamodel.mapping.EntityValuedModelPart;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Keeps the caches of the nodes of a cluster consistent, each node keeping its own local Ehcache caches.
+ * <p>
+ * The entities written by a committed transaction, and the keys evicted from the Spring caches through
+ * {@link BroadcastingJCacheCacheManager}, are sent once the transaction is over to the other nodes through a
+ * {@link CacheInvalidationTransport}; each node then evicts them from its own caches, with the collections holding the
+ * written entities and the cached query results. When a transaction invalidates more than
+ * {@code application.cache.cluster.max-keys-per-cache} keys of a same cache, the whole cache is evicted instead.
+ * <p>
+ * Bulk HQL and native updates only invalidate the caches of the node running them.
+ */
+public class CacheInvalidationBus
+    implements
+        CacheInvalidationTransport.Receiver,
+        PostCommitInsertEventListener,
+        PostCommitUpdateEventListener,
+        PostCommitDeleteEventListener {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CacheInvalidationBus.class);
+
+    /**
+     * Keeps the messages under the 8000 bytes of a PostgreSQL notification, the keys being at most a few hundred bytes.
+     */
+    private static final int MAX_INVALIDATIONS_PER_MESSAGE = 20;
+
+    private final String nodeId;
+
+    private final CacheInvalidationTransport transport;
+
+    private final javax.cache.CacheManager cacheManager;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final ObjectMapper objectMapper;
+
+    private final int maxKeysPerCache;
+
+    /**
+     * @param nodeId the identifier of this node, to ignore the messages it sent itself.
+     * @param transport the transport of the messages, {@code null} when the caches are local to the node.
+     * @param cacheManager the cache manager holding the caches of the node.
+     * @param entityManagerFactory the entity manager factory whose second level cache is kept consistent.
+     * @param objectMapper the mapper of the messages.
+     * @param maxKeysPerCache the number of keys of a cache above which the whole cache is invalidated.
+     */
+    public CacheInvalidationBus(
+        String nodeId,
+        CacheInvalidationTransport transport,
+        javax.cache.CacheManager cacheManager,
+        EntityManagerFactory entityManagerFactory,
+        ObjectMapper objectMapper,
+        int maxKeysPerCache
+    ) {
+        this.nodeId = nodeId;
+        this.transport = transport;
+        this.cacheManager = cacheManager;
+        this.entityManagerFactory = entityManagerFactory;
+        this.objectMapper = objectMapper;
+        this.maxKeysPerCache = maxKeysPerCache;
+    }
+
+    /**
+     * Start listening to the invalidations of the other nodes, and publishing the entities written on this one.
+     */
+    public void start() {
+        if (transport == null) {
+            return;
+        }
+        SessionFactoryImplementor sessionFactory = sessionFactory();
+        if (sessionFactory.getSessionFactoryOptions().isSecondLevelCacheEnabled()) {
+            EventListenerRegistry listeners = sessionFactory.getServiceRegistry().requireService(EventListenerRegistry.class);
+            listeners.appendListeners(EventType.POST_COMMIT_INSERT, this);
+            listeners.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+            listeners.appendListeners(EventType.POST_COMMIT_DELETE, this);
+        }
+        transport.start(this);
+        LOG.info("Cache invalidations of node {} shared with the cluster", nodeId);
+    }
+
+    public void close() {
+        if (transport != null) {
+            transport.close();
+        }
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Tell the other nodes that a key was evicted from a Spring cache.
+     *
+     * @param cacheName the name of the cache.
+     * @param key the key; the keys other than strings clear the whole cache, as they may not read back the same.
+     */
+    public void evicted(String cacheName, Object key) {
+        if (key instanceof String) {
+            publish(new Invalidation(Invalidation.Type.EVICT, cacheName, key));
+        } else {
+            cleared(cacheName);
+        }
+    }
+
+    /**
+     * Tell the other nodes that a Spring cache was cleared.
+     *
+     * @param cacheName the name of the cache.
+     */
+    public void cleared(String cacheName) {
+        publish(new Invalidation(Invalidation.Type.CLEAR, cacheName, null));
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        publish(new Invalidation(Invalidation.Type.ENTITY, event.getPersister().getEntityName(), event.getId()));
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        publish(new Invalidation(Invalidation.Type.ENTITY, event.getPersister().getEntityName(), event.getId()));
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        publish(new Invalidation(Invalidation.Type.ENTITY, event.getPersister().getEntityName(), event.getId()));
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+        // Nothing was written
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        // Nothing was written
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        // Nothing was written
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return true;
+    }
+
+    /**
+     * Send the invalidation once the current transaction is over, with the other invalidations of the transaction, or
+     * right away outside of a transaction.
+     */
+    private void publish(Invalidation invalidation) {
+        if (transport == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            send(List.of(invalidation));
+            return;
+        }
+        PendingInvalidations pending = (PendingInvalidations) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingInvalidations();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.invalidations.add(invalidation);
+    }
+
+    private void send(Set<Invalidation> invalidations) {
+        send(coalesce(invalidations));
+    }
+
+    private void send(List<Invalidation> invalidations) {
+        for (int from = 0; from < invalidations.size(); from += MAX_INVALIDATIONS_PER_MESSAGE) {
+            List<Invalidation> chunk = invalidations.subList(from, Math.min(from + MAX_INVALIDATIONS_PER_MESSAGE, invalidations.size()));
+            try {
+                transport.send(objectMapper.writeValueAsString(new Message(nodeId, chunk)));
+            } catch (JsonProcessingException | RuntimeException e) {
+                LOG.warn("Could not send the cache invalidations {}: {}", chunk, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Replace the keys of the caches with too many keys by the invalidation of the whole cache.
+     */
+    private List<Invalidation> coalesce(Set<Invalidation> invalidations) {
+        Map<String, Integer> keysPerCache = new LinkedHashMap<>();
+        invalidations.forEach(invalidation -> keysPerCache.merge(invalidation.cache(), 1, Integer::sum));
+        List<Invalidation> coalesced = new ArrayList<>();
+        Set<String> wholeCaches = new LinkedHashSet<>();
+        for (Invalidation invalidation : invalidations) {
+            if (keysPerCache.get(invalidation.cache()) <= maxKeysPerCache) {
+                coalesced.add(invalidation);
+            } else if (wholeCaches.add(invalidation.cache())) {
+                coalesced.add(invalidation.wholeCache());
+            }
+        }
+        return coalesced;
+    }
+
+    @Override
+    public void onMessage(String message) {
+        Message received;
+        try {
+            received = objectMapper.readValue(message, Message.class);
+        } catch (JsonProcessingException e) {
+            LOG.warn("Ignored an invalid cache invalidation message: {}", e.getMessage());
+            return;
+        }
+        if (nodeId.equals(received.node())) {
+            return;
+        }
+        LOG.debug("Cache invalidations from node {}: {}", received.node(), received.invalidations());
+        boolean entitiesWritten = false;
+        for (Invalidation invalidation : received.invalidations()) {
+            switch (invalidation.type()) {
+                case ENTITY, ALL_ENTITIES -> {
+                    evictEntity(invalidation.cache(), invalidation.key());
+                    entitiesWritten = true;
+                }
+                case EVICT -> {
+                    javax.cache.Cache<Object, Object> cache = cacheManager.getCache(invalidation.cache());
+                    if (cache != null) {
+                        cache.remove(invalidation.key());
+                    }
+                }
+                case CLEAR -> {
+                    javax.cache.Cache<Object, Object> cache = cacheManager.getCache(invalidation.cache());
+                    if (cache != null) {
+                        cache.clear();
+                    }
+                }
+            }
+        }
+        if (entitiesWritten) {
+            Cache cache = sessionFactory().getCache();
+            cache.evictDefaultQueryRegion();
+            cache.evictQueryRegions();
+        }
+    }
+
+    @Override
+    public void onMessagesLost() {
+        LOG.info("Cache invalidations may have been lost, clearing all the caches");
+        StreamSupport.stream(cacheManager.getCacheNames().spliterator(), false)
+            .map(cacheManager::getCache)
+            .forEach(cache -> cache.clear());
+    }
+
+    /**
+     * Evict an entity, or all the entities of its type when the key is {@code null}, with its own collections and the
+     * collections whose elements are of its type, as the message does not tell which ones held it.
+     */
+    private void evictEntity(String entityName, Object key) {
+        SessionFactoryImplementor sessionFactory = sessionFactory();
+        EntityPersister persister = sessionFactory.getMappingMetamodel().findEntityDescriptor(entityName);
+        if (persister == null) {
+            return;
+        }
+        Cache cache = sessionFactory.getCache();
+        Object id = key == null ? null : objectMapper.convertValue(key, persister.getIdentifierType().getReturnedClass());
+        if (id == null) {
+            cache.evictEntityData(entityName);
+        } else {
+            cache.evictEntityData(entityName, id);
+        }
+        sessionFactory
+            .getMappingMetamodel()
+            .forEachCollectionDescriptor(collection -> {
+                if (!collection.hasCache()) {
+                    return;
+                }
+                if (id != null && collection.getOwnerEntityPersister().getEntityName().equals(entityName)) {
+                    cache.evictCollectionData(collection.getRole(), id);
+                } else if (
+                    collection.getOwnerEntityPersister().getEntityName().equals(entityName) ||
+                    (collection.getAttributeMapping().getElementDescriptor() instanceof EntityValuedModelPart element &&
+                        element.getEntityMappingType().getEntityName().equals(entityName))
+                ) {
+                    cache.evictCollectionData(collection.getRole());
+                }
+            });
+    }
+
+    private SessionFactoryImplementor sessionFactory() {
+        return entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+    }
+
+    /**
+     * An invalidated key of a cache, or the whole cache when the key is {@code null}.
+     *
+     * @param type the kind of cache.
+     * @param cache the entity name for the second level cache, the cache name for the Spring caches.
+     * @param key the identifier of the entity, or the key in the Spring cache.
+     */
+    record Invalidation(Type type, String cache, Object key) {
+        enum Type {
+            ENTITY,
+            ALL_ENTITIES,
+            EVICT,
+            CLEAR,
+        }
+
+        Invalidation wholeCache() {
+            return new Invalidation(type == Type.ENTITY || type == Type.ALL_ENTITIES ? Type.ALL_ENTITIES : Type.CLEAR, cache, null);
+        }
+    }
+
+    record Message(String node, List<Invalidation> invalidations) {}
+
+    /**
+     * The invalidations of a transaction, sent when it is over: after a rollback, only the Spring cache evictions, which
+     * happened anyway on this node.
+     */
+    private final class PendingInvalidations implements TransactionSynchronization {
+
+        private final Set<Invalidation> invalidations = new LinkedHashSet<>();
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(CacheInvalidationBus.this);
+            send(invalidations);
+        }
+    }
+}
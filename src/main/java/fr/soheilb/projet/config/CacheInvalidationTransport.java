@@ -0,0 +1,40 @@
+package fr.soheilb.projet.config;
+
+/**
+ * Channel carrying the cache invalidation messages of {@link CacheInvalidationBus} between the nodes of a cluster.
+ */
+public interface CacheInvalidationTransport extends AutoCloseable {
+    /**
+     * Send a message to all the nodes listening on the channel, this one included.
+     *
+     * @param message the message, at most 7900 bytes once encoded in UTF-8.
+     */
+    void send(String message);
+
+    /**
+     * Start listening on the channel.
+     *
+     * @param receiver the receiver of the messages.
+     */
+    void start(Receiver receiver);
+
+    /**
+     * Stop listening on the channel.
+     */
+    @Override
+    void close();
+
+    interface Receiver {
+        /**
+         * Called for each message received on the channel.
+         *
+         * @param message the message.
+         */
+        void onMessage(String message);
+
+        /**
+         * Called when messages may have been lost, e.g. when the listening connection was reestablished.
+         */
+        void onMessagesLost();
+    }
+}
@@ -0,0 +1,33 @@
+package fr.soheilb.projet.config;
+
+import fr.soheilb.projet.service.CacheWarmUpService;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Health indicator of the cache warm-up, out of service until the warm-up is over.
+ * <p>
+ * It is part of the readiness group, so that no traffic is routed to an instance whose caches are still cold.
+ */
+@Component
+public class CacheWarmUpHealthIndicator implements HealthIndicator {
+
+    private final CacheWarmUpService cacheWarmUpService;
+
+    public CacheWarmUpHealthIndicator(CacheWarmUpService cacheWarmUpService) {
+        this.cacheWarmUpService = cacheWarmUpService;
+    }
+
+    @Override
+    public Health health() {
+        CacheWarmUpService.Status status = cacheWarmUpService.getStatus();
+        Health.Builder builder = status.isOver() ? Health.up() : Health.outOfService();
+        return builder
+            .withDetail("status", status)
+            .withDetail("villes", cacheWarmUpService.getVilleCount())
+            .withDetail("regions", cacheWarmUpService.getRegionCount())
+            .withDetail("durationMs", cacheWarmUpService.getDuration().toMillis())
+            .build();
+    }
+}
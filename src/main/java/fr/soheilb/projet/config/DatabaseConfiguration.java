@@ -1,10 +1,17 @@
 package fr.soheilb.projet.config;
 
+import fr.soheilb.projet.domain.id.PooledLoSequenceGenerator;
+import fr.soheilb.projet.repository.MultiIdJpaRepository;
+import io.micrometer.core.instrument.Tags;
+import jakarta.persistence.EntityManagerFactory;
 import java.sql.SQLException;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.HibernateMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.h2.H2ConsoleProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -17,7 +24,7 @@ import tech.jhipster.config.JHipsterConstants;
 import tech.jhipster.config.h2.H2ConfigurationHelper;
 
 @Configuration
-@EnableJpaRepositories({ "fr.soheilb.projet.repository" })
+@EnableJpaRepositories(value = { "fr.soheilb.projet.repository" }, repositoryBaseClass = MultiIdJpaRepository.class)
 @EnableJpaAuditing(auditorAwareRef = "springSecurityAuditorAware")
 @EnableTransactionManagement
 @EnableConfigurationProperties(H2ConsoleProperties.class)
@@ -31,6 +38,37 @@ public class DatabaseConfiguration {
         this.env = env;
     }
 
+    /**
+     * Pass the identifier allocation sizes to the {@link PooledLoSequenceGenerator}, which is instantiated by Hibernate.
+     *
+     * @param applicationProperties the application properties.
+     * @return the customizer of the Hibernate properties.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer idAllocationSizeCustomizer(ApplicationProperties applicationProperties) {
+        ApplicationProperties.Persistence persistence = applicationProperties.getPersistence();
+        return hibernateProperties -> {
+            hibernateProperties.put(PooledLoSequenceGenerator.DEFAULT_ALLOCATION_SIZE_SETTING, persistence.getDefaultIdAllocationSize());
+            persistence
+                .getIdAllocationSize()
+                .forEach((sequence, allocationSize) ->
+                    hibernateProperties.put(PooledLoSequenceGenerator.ALLOCATION_SIZE_SETTING_PREFIX + sequence, allocationSize)
+                );
+        };
+    }
+
+    /**
+     * Publish the Hibernate statistics (sessions, queries, entity and collection operations, second level and query
+     * cache hits and misses per region) as {@code hibernate.*} metrics, when {@code hibernate.generate_statistics} is on.
+     *
+     * @param entityManagerFactory the entity manager factory.
+     * @return the binder of the Hibernate metrics.
+     */
+    @Bean
+    public HibernateMetrics hibernateMetrics(EntityManagerFactory entityManagerFactory) {
+        return new HibernateMetrics(entityManagerFactory.unwrap(SessionFactory.class), "entityManagerFactory", Tags.empty());
+    }
+
     /**
      * Open the TCP port for the H2 database, so it is available remotely.
      *
@@ -0,0 +1,42 @@
+package fr.soheilb.projet.config;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+/**
+ * {@link CacheInvalidationTransport} between the nodes running in the same JVM, for tests.
+ * <p>
+ * The messages are delivered synchronously, on the thread sending them.
+ */
+public class InMemoryCacheInvalidationTransport implements CacheInvalidationTransport {
+
+    private static final Map<String, Set<Receiver>> RECEIVERS = new ConcurrentHashMap<>();
+
+    private final String channel;
+
+    private Receiver receiver;
+
+    public InMemoryCacheInvalidationTransport(String channel) {
+        this.channel = channel;
+    }
+
+    @Override
+    public void send(String message) {
+        RECEIVERS.getOrDefault(channel, Set.of()).forEach(listening -> listening.onMessage(message));
+    }
+
+    @Override
+    public void start(Receiver receiver) {
+        this.receiver = receiver;
+        RECEIVERS.computeIfAbsent(channel, key -> new CopyOnWriteArraySet<>()).add(receiver);
+    }
+
+    @Override
+    public void close() {
+        if (receiver != null) {
+            RECEIVERS.getOrDefault(channel, Set.of()).remove(receiver);
+        }
+    }
+}
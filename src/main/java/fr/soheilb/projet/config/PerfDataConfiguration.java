@@ -0,0 +1,34 @@
+package fr.soheilb.projet.config;
+
+import fr.soheilb.projet.service.PerfDataService;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Generates the performance data at startup, see {@link PerfDataService}.
+ * <p>
+ * Run for instance {@code ./mvnw -Pprod -Dspring-boot.run.profiles=prod,perfdata} to fill the database of the
+ * {@code prod} profile, then stop; the generation is skipped when the database already holds the configured data.
+ */
+@Configuration
+@Profile(Constants.SPRING_PROFILE_PERF_DATA)
+public class PerfDataConfiguration {
+
+    @Bean
+    public ApplicationRunner perfDataRunner(
+        PerfDataService perfDataService,
+        ApplicationProperties applicationProperties,
+        ConfigurableApplicationContext context
+    ) {
+        return args -> {
+            perfDataService.generateIfMissing();
+            if (applicationProperties.getPerfData().isExitWhenDone()) {
+                System.exit(SpringApplication.exit(context));
+            }
+        };
+    }
+}
@@ -0,0 +1,140 @@
+package fr.soheilb.projet.config;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.regex.Pattern;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link CacheInvalidationTransport} over PostgreSQL {@code LISTEN}/{@code NOTIFY}.
+ * <p>
+ * Each node holds one connection of the pool to {@code LISTEN} on the channel, polled by a daemon thread; the messages
+ * are sent with {@code pg_notify} on another connection, outside of any transaction. The PostgreSQL driver is only on the
+ * classpath of the {@code prod} profile, so its {@code PGConnection} is reached by reflection.
+ */
+public class PostgresCacheInvalidationTransport implements CacheInvalidationTransport {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PostgresCacheInvalidationTransport.class);
+
+    private static final Pattern CHANNEL_PATTERN = Pattern.compile("[a-z_][a-z0-9_]{0,62}");
+
+    private static final Duration RECONNECT_DELAY = Duration.ofSeconds(5);
+
+    private final DataSource dataSource;
+
+    private final String channel;
+
+    private final Duration pollInterval;
+
+    private volatile boolean running;
+
+    private Thread listener;
+
+    public PostgresCacheInvalidationTransport(DataSource dataSource, String channel, Duration pollInterval) {
+        if (!CHANNEL_PATTERN.matcher(channel).matches()) {
+            throw new IllegalArgumentException("Invalid cache invalidation channel: " + channel);
+        }
+        this.dataSource = dataSource;
+        this.channel = channel;
+        this.pollInterval = pollInterval;
+    }
+
+    @Override
+    public void send(String message) {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(true);
+            try (PreparedStatement statement = connection.prepareStatement("select pg_notify(?, ?)")) {
+                statement.setString(1, channel);
+                statement.setString(2, message);
+                statement.execute();
+            }
+        } catch (SQLException e) {
+            LOG.warn("Could not send the cache invalidation message: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void start(Receiver receiver) {
+        running = true;
+        listener = new Thread(() -> listen(receiver), "cache-invalidation-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    private void listen(Receiver receiver) {
+        boolean reconnecting = false;
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                connection.setAutoCommit(true);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                LOG.debug("Listening to the cache invalidations on channel {}", channel);
+                if (reconnecting) {
+                    receiver.onMessagesLost();
+                }
+                poll(connection, receiver);
+            } catch (SQLException e) {
+                LOG.warn("Lost the cache invalidation channel {}, reconnecting: {}", channel, e.getMessage());
+            } catch (ReflectiveOperationException e) {
+                LOG.error("Cache invalidation needs the PostgreSQL driver", e);
+                return;
+            }
+            reconnecting = true;
+            sleep(RECONNECT_DELAY);
+        }
+    }
+
+    private void poll(Connection connection, Receiver receiver) throws SQLException, ReflectiveOperationException {
+        Class<?> pgConnectionClass = Class.forName("org.postgresql.PGConnection");
+        Object pgConnection = connection.unwrap(pgConnectionClass);
+        Method getNotifications = pgConnectionClass.getMethod("getNotifications", int.class);
+        Method getParameter = Class.forName("org.postgresql.PGNotification").getMethod("getParameter");
+        int timeout = (int) Math.max(pollInterval.toMillis(), 1);
+        while (running) {
+            Object[] notifications;
+            try {
+                notifications = (Object[]) getNotifications.invoke(pgConnection, timeout);
+            } catch (InvocationTargetException e) {
+                if (e.getCause() instanceof SQLException sqlException) {
+                    throw sqlException;
+                }
+                throw e;
+            }
+            if (notifications == null) {
+                continue;
+            }
+            for (Object notification : notifications) {
+                try {
+                    receiver.onMessage((String) getParameter.invoke(notification));
+                } catch (RuntimeException e) {
+                    LOG.warn("Could not process the cache invalidation message: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package fr.soheilb.projet.domain;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import fr.soheilb.projet.domain.id.PooledLoSequence;
 import jakarta.persistence.*;
 import java.io.Serializable;
 import java.time.Instant;
@@ -19,8 +20,7 @@ public class Joueur implements Serializable {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequenceGenerator")
-    @SequenceGenerator(name = "sequenceGenerator")
+    @PooledLoSequence(name = "joueur_sequence")
     @Column(name = "id")
     private Long id;
 
@@ -40,6 +40,10 @@ public class Joueur implements Serializable {
     @JsonIgnoreProperties(value = { "joueurs", "region" }, allowSetters = true)
     private Ville ville;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Integer version;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here
 
     public Long getId() {
@@ -120,6 +124,19 @@ public class Joueur implements Serializable {
         return this;
     }
 
+    public Integer getVersion() {
+        return this.version;
+    }
+
+    public Joueur version(Integer version) {
+        this.setVersion(version);
+        return this;
+    }
+
+    public void setVersion(Integer version) {
+        this.version = version;
+    }
+
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
     @Override
@@ -148,6 +165,7 @@ public class Joueur implements Serializable {
             ", motDePasse='" + getMotDePasse() + "'" +
             ", dateInscription='" + getDateInscription() + "'" +
             ", estAdministrateur='" + getEstAdministrateur() + "'" +
+            ", version=" + getVersion() +
             "}";
     }
 }
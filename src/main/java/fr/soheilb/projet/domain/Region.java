@@ -1,6 +1,7 @@
 package fr.soheilb.projet.domain;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import fr.soheilb.projet.domain.id.PooledLoSequence;
 import jakarta.persistence.*;
 import java.io.Serializable;
 import java.util.HashSet;
@@ -20,8 +21,7 @@ public class Region implements Serializable {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequenceGenerator")
-    @SequenceGenerator(name = "sequenceGenerator")
+    @PooledLoSequence(name = "region_sequence")
     @Column(name = "id")
     private Long id;
 
@@ -33,6 +33,10 @@ public class Region implements Serializable {
     @JsonIgnoreProperties(value = { "joueurs", "region" }, allowSetters = true)
     private Set<Ville> villes = new HashSet<>();
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Integer version;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here
 
     public Long getId() {
@@ -92,6 +96,19 @@ public class Region implements Serializable {
         return this;
     }
 
+    public Integer getVersion() {
+        return this.version;
+    }
+
+    public Region version(Integer version) {
+        this.setVersion(version);
+        return this;
+    }
+
+    public void setVersion(Integer version) {
+        this.version = version;
+    }
+
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
     @Override
@@ -117,6 +134,7 @@ public class Region implements Serializable {
         return "Region{" +
             "id=" + getId() +
             ", nom='" + getNom() + "'" +
+            ", version=" + getVersion() +
             "}";
     }
 }
@@ -0,0 +1,102 @@
+package fr.soheilb.projet.domain;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+
+/**
+ * The population rollup of a Region: the sum of the nbHabitants and the number of its villes.
+ * <p>
+ * It is maintained with deltas in the transactions which write villes, so that it never has to be computed from
+ * the ville table. It is only written with bulk statements, so it is not in the second level cache.
+ */
+@Entity
+@Table(name = "region_population")
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class RegionPopulation implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "region_id")
+    private Long regionId;
+
+    @Column(name = "population", nullable = false)
+    private Long population = 0L;
+
+    @Column(name = "ville_count", nullable = false)
+    private Long villeCount = 0L;
+
+    public RegionPopulation() {}
+
+    public RegionPopulation(Long regionId, Long population, Long villeCount) {
+        this.regionId = regionId;
+        this.population = population;
+        this.villeCount = villeCount;
+    }
+
+    public Long getRegionId() {
+        return this.regionId;
+    }
+
+    public RegionPopulation regionId(Long regionId) {
+        this.setRegionId(regionId);
+        return this;
+    }
+
+    public void setRegionId(Long regionId) {
+        this.regionId = regionId;
+    }
+
+    public Long getPopulation() {
+        return this.population;
+    }
+
+    public RegionPopulation population(Long population) {
+        this.setPopulation(population);
+        return this;
+    }
+
+    public void setPopulation(Long population) {
+        this.population = population;
+    }
+
+    public Long getVilleCount() {
+        return this.villeCount;
+    }
+
+    public RegionPopulation villeCount(Long villeCount) {
+        this.setVilleCount(villeCount);
+        return this;
+    }
+
+    public void setVilleCount(Long villeCount) {
+        this.villeCount = villeCount;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof RegionPopulation)) {
+            return false;
+        }
+        return getRegionId() != null && getRegionId().equals(((RegionPopulation) o).getRegionId());
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "RegionPopulation{" +
+            "regionId=" + getRegionId() +
+            ", population=" + getPopulation() +
+            ", villeCount=" + getVilleCount() +
+            "}";
+    }
+}
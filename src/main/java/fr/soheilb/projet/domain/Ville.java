@@ -1,6 +1,7 @@
 package fr.soheilb.projet.domain;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import fr.soheilb.projet.domain.id.PooledLoSequence;
 import jakarta.persistence.*;
 import java.io.Serializable;
 import java.util.HashSet;
@@ -20,8 +21,7 @@ public class Ville implements Serializable {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequenceGenerator")
-    @SequenceGenerator(name = "sequenceGenerator")
+    @PooledLoSequence(name = "ville_sequence")
     @Column(name = "id")
     private Long id;
 
@@ -43,6 +43,10 @@ public class Ville implements Serializable {
     @JsonIgnoreProperties(value = { "villes" }, allowSetters = true)
     private Region region;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Integer version;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here
 
     public Long getId() {
@@ -141,6 +145,19 @@ public class Ville implements Serializable {
         return this;
     }
 
+    public Integer getVersion() {
+        return this.version;
+    }
+
+    public Ville version(Integer version) {
+        this.setVersion(version);
+        return this;
+    }
+
+    public void setVersion(Integer version) {
+        this.version = version;
+    }
+
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
     @Override
@@ -168,6 +185,7 @@ public class Ville implements Serializable {
             ", nom='" + getNom() + "'" +
             ", codePostal='" + getCodePostal() + "'" +
             ", nbHabitants=" + getNbHabitants() +
+            ", version=" + getVersion() +
             "}";
     }
 }
@@ -0,0 +1,22 @@
+package fr.soheilb.projet.domain.id;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import org.hibernate.annotations.IdGeneratorType;
+
+/**
+ * Generates the identifier of an entity from its own database sequence, with the {@code pooled-lo} optimizer.
+ * <p>
+ * The allocation size is read from the {@code application.persistence} properties, see {@link PooledLoSequenceGenerator}.
+ */
+@IdGeneratorType(PooledLoSequenceGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.FIELD, ElementType.METHOD })
+public @interface PooledLoSequence {
+    /**
+     * The name of the database sequence.
+     */
+    String name();
+}
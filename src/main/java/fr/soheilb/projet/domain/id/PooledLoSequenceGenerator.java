@@ -0,0 +1,51 @@
+package fr.soheilb.projet.domain.id;
+
+import java.util.Properties;
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.id.OptimizableGenerator;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+/**
+ * Sequence generator of the {@link PooledLoSequence} identifiers.
+ * <p>
+ * Each call to the sequence reserves a block of {@code allocationSize} identifiers, starting at the value returned
+ * by the sequence, which are then handed out from memory: bulk and concurrent inserts only reach the sequence once
+ * per block. The allocation size of a sequence is read from the {@value #ALLOCATION_SIZE_SETTING_PREFIX}{@code <sequence>}
+ * Hibernate setting, then from {@value #DEFAULT_ALLOCATION_SIZE_SETTING}, and must equal the increment of the sequence
+ * in the database: Hibernate refuses to start otherwise.
+ */
+public class PooledLoSequenceGenerator extends SequenceStyleGenerator {
+
+    public static final String ALLOCATION_SIZE_SETTING_PREFIX = "application.persistence.id-allocation-size.";
+
+    public static final String DEFAULT_ALLOCATION_SIZE_SETTING = "application.persistence.default-id-allocation-size";
+
+    public static final int DEFAULT_ALLOCATION_SIZE = 50;
+
+    private final String sequenceName;
+
+    public PooledLoSequenceGenerator(PooledLoSequence config) {
+        this.sequenceName = config.name();
+    }
+
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) throws MappingException {
+        var settings = serviceRegistry.requireService(ConfigurationService.class).getSettings();
+        int allocationSize = ConfigurationHelper.getInt(
+            ALLOCATION_SIZE_SETTING_PREFIX + sequenceName,
+            settings,
+            ConfigurationHelper.getInt(DEFAULT_ALLOCATION_SIZE_SETTING, settings, DEFAULT_ALLOCATION_SIZE)
+        );
+        Properties sequenceParameters = new Properties();
+        sequenceParameters.putAll(parameters);
+        sequenceParameters.put(SEQUENCE_PARAM, sequenceName);
+        sequenceParameters.put(OptimizableGenerator.INCREMENT_PARAM, allocationSize);
+        sequenceParameters.put(OptimizableGenerator.OPT_PARAM, StandardOptimizerDescriptor.POOLED_LO.getExternalName());
+        super.configure(type, sequenceParameters, serviceRegistry);
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Identifier generation of the domain objects.
+ */
+package fr.soheilb.projet.domain.id;
@@ -0,0 +1,24 @@
+package fr.soheilb.projet.repository;
+
+/**
+ * Summary of the rows of an entity table, which changes whenever a row is inserted, updated or deleted.
+ * <p>
+ * The sum of the ids tells apart a deleted row replaced by a new one, the ids never being reused, and the sum of the
+ * versions changes with each update.
+ */
+public interface CollectionVersion {
+    Long getCount();
+
+    Long getMaxId();
+
+    Long getIdSum();
+
+    Long getVersionSum();
+
+    /**
+     * @return the summary as a single string.
+     */
+    default String fingerprint() {
+        return getCount() + "-" + getMaxId() + "-" + getIdSum() + "-" + getVersionSum();
+    }
+}
@@ -1,7 +1,13 @@
 package fr.soheilb.projet.repository;
 
 import fr.soheilb.projet.domain.Joueur;
+import jakarta.persistence.QueryHint;
+import java.util.List;
+import java.util.Optional;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +15,40 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface JoueurRepository extends JpaRepository<Joueur, Long> {}
+public interface JoueurRepository extends MultiIdRepository<Joueur, Long>, JpaSpecificationExecutor<Joueur> {
+    String JOUEUR_BY_PSEUDO_CACHE = "joueurByPseudo";
+
+    /**
+     * Get the "id" joueur, with its ville fetched in the same statement.
+     */
+    @EntityGraph(attributePaths = "ville")
+    @Query("select joueur from Joueur joueur where joueur.id = :id")
+    Optional<Joueur> findOneWithEagerRelationships(@Param("id") Long id);
+
+    /**
+     * Get the joueurs matching the specification, with their ville fetched in the same statement.
+     */
+    default List<Joueur> findAllWithVille(Specification<Joueur> specification) {
+        return findBy(specification, query -> query.project("ville").all());
+    }
+
+    /**
+     * Get the first joueur, by id, with the given pseudo.
+     * <p>
+     * The result is kept in the {@value #JOUEUR_BY_PSEUDO_CACHE} query cache until a joueur is written, and the joueur
+     * itself is read from the second level cache.
+     */
+    @QueryHints(
+        {
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = JOUEUR_BY_PSEUDO_CACHE),
+        }
+    )
+    Optional<Joueur> findFirstByPseudoOrderByIdAsc(String pseudo);
+
+    /**
+     * Get the version of the "id" joueur, without loading it.
+     */
+    @Query("select joueur.version from Joueur joueur where joueur.id = :id")
+    Optional<Integer> findVersionById(@Param("id") Long id);
+}
@@ -0,0 +1,41 @@
+package fr.soheilb.projet.repository;
+
+import jakarta.persistence.EntityManager;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.data.jpa.repository.support.JpaEntityInformation;
+import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
+
+/**
+ * Base class of the JPA repositories, implementing {@link MultiIdRepository} with the multi-load of Hibernate.
+ *
+ * @param <T> the type of the entities.
+ * @param <ID> the type of their ids.
+ */
+public class MultiIdJpaRepository<T, ID> extends SimpleJpaRepository<T, ID> implements MultiIdRepository<T, ID> {
+
+    private final EntityManager entityManager;
+
+    public MultiIdJpaRepository(JpaEntityInformation<T, ?> entityInformation, EntityManager entityManager) {
+        super(entityInformation, entityManager);
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<T> findAllByIdInOrder(Collection<ID> ids) {
+        return entityManager
+            .unwrap(Session.class)
+            .byMultipleIds(getDomainClass())
+            .with(CacheMode.NORMAL)
+            .enableSessionCheck(true)
+            .enableOrderedReturn(true)
+            .multiLoad(List.copyOf(new LinkedHashSet<>(ids)))
+            .stream()
+            .filter(Objects::nonNull)
+            .toList();
+    }
+}
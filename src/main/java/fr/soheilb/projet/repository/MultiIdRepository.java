@@ -0,0 +1,26 @@
+package fr.soheilb.projet.repository;
+
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.repository.NoRepositoryBean;
+
+/**
+ * JPA repository able to load many entities by id at once, implemented by {@link MultiIdJpaRepository}.
+ *
+ * @param <T> the type of the entities.
+ * @param <ID> the type of their ids.
+ */
+@NoRepositoryBean
+public interface MultiIdRepository<T, ID> extends JpaRepository<T, ID> {
+    /**
+     * Get the entities of the given ids, in the order of the ids, skipping the duplicate and unknown ids.
+     * <p>
+     * Unlike {@link #findAllById(Iterable)}, the entities already in the persistence context or in the second level
+     * cache are not read again, and the others are loaded with a single query.
+     *
+     * @param ids the ids of the entities.
+     * @return the list of entities.
+     */
+    List<T> findAllByIdInOrder(Collection<ID> ids);
+}
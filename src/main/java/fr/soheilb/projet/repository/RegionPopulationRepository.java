@@ -0,0 +1,40 @@
+package fr.soheilb.projet.repository;
+
+import fr.soheilb.projet.domain.RegionPopulation;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the RegionPopulation entity.
+ */
+@SuppressWarnings("unused")
+@Repository
+public interface RegionPopulationRepository extends JpaRepository<RegionPopulation, Long> {
+    /**
+     * Add deltas to the rollup of a region, creating the rollup if the region has none yet, in a single upsert
+     * statement, so that concurrent writers neither lose updates nor collide on the first insert.
+     */
+    @Modifying
+    @Query(
+        "insert into RegionPopulation (regionId, population, villeCount) values (:regionId, :population, :villeCount) " +
+        "on conflict(regionId) do update set population = population + excluded.population, " +
+        "villeCount = villeCount + excluded.villeCount"
+    )
+    void addToRegion(@Param("regionId") Long regionId, @Param("population") long population, @Param("villeCount") long villeCount);
+
+    /**
+     * Get the rollup of a region, read from the database even if it is already in the persistence context, as it is
+     * only written with bulk statements.
+     */
+    @Query(
+        "select new fr.soheilb.projet.domain.RegionPopulation(regionPopulation.regionId, regionPopulation.population, " +
+        "regionPopulation.villeCount) from RegionPopulation regionPopulation where regionPopulation.regionId = :regionId"
+    )
+    Optional<RegionPopulation> findOneByRegionId(@Param("regionId") Long regionId);
+
+    @Modifying
+    @Query("delete from RegionPopulation regionPopulation where regionPopulation.regionId = :regionId")
+    void deleteByRegionId(@Param("regionId") Long regionId);
+}
@@ -1,7 +1,10 @@
 package fr.soheilb.projet.repository;
 
 import fr.soheilb.projet.domain.Region;
+import java.util.List;
+import java.util.Optional;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +12,56 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface RegionRepository extends JpaRepository<Region, Long> {}
+public interface RegionRepository extends MultiIdRepository<Region, Long>, JpaSpecificationExecutor<Region> {
+    String STATS_SELECT =
+        "select region.id as regionId, region.nom as regionNom, count(ville.id) as villeCount, " +
+        "sum(ville.nbHabitants) as totalHabitants, avg(ville.nbHabitants) as averageHabitants, " +
+        "(select count(joueur.id) from Joueur joueur where joueur.ville.region.id = region.id) as joueurCount " +
+        "from Region region left join region.villes ville ";
+
+    Optional<Region> findFirstByNomIgnoreCase(String nom);
+
+    /**
+     * Get the "id" region, with its villes fetched in the same statement.
+     */
+    @Query("select region from Region region left join fetch region.villes where region.id = :id")
+    Optional<Region> findOneWithVilles(@Param("id") Long id);
+
+    @Query(STATS_SELECT + "group by region.id, region.nom order by region.id")
+    List<RegionStats> findAllStats();
+
+    @Query(STATS_SELECT + "where region.id = :id group by region.id, region.nom")
+    Optional<RegionStats> findStats(@Param("id") Long id);
+
+    /**
+     * Get the version of the "id" region, without loading it.
+     */
+    @Query("select region.version from Region region where region.id = :id")
+    Optional<Integer> findVersionById(@Param("id") Long id);
+
+    /**
+     * Get the summary of the region table, changing with each write to it.
+     */
+    @Query(
+        "select count(region.id) as count, coalesce(max(region.id), 0) as maxId, coalesce(sum(region.id), 0) as idSum, " +
+        "coalesce(sum(region.version), 0) as versionSum from Region region"
+    )
+    CollectionVersion findCollectionVersion();
+
+    /**
+     * The aggregate statistics of a region, computed by the database.
+     */
+    interface RegionStats {
+        Long getRegionId();
+
+        String getRegionNom();
+
+        Long getVilleCount();
+
+        Long getTotalHabitants();
+
+        Double getAverageHabitants();
+
+        Long getJoueurCount();
+    }
+}
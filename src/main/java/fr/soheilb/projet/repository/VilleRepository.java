@@ -1,7 +1,18 @@
 package fr.soheilb.projet.repository;
 
 import fr.soheilb.projet.domain.Ville;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +20,76 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface VilleRepository extends JpaRepository<Ville, Long> {}
+public interface VilleRepository extends MultiIdRepository<Ville, Long>, JpaSpecificationExecutor<Ville> {
+    int STREAM_FETCH_SIZE = 500;
+
+    String VILLES_BY_REGION_CACHE = "villesByRegion";
+
+    /**
+     * Get the "id" ville, with its region fetched in the same statement.
+     */
+    @EntityGraph(attributePaths = "region")
+    @Query("select ville from Ville ville where ville.id = :id")
+    Optional<Ville> findOneWithEagerRelationships(@Param("id") Long id);
+
+    /**
+     * Get the villes matching the specification, with their region fetched in the same statement.
+     */
+    default Page<Ville> findAllWithRegion(Specification<Ville> specification, Pageable pageable) {
+        return findBy(specification, query -> query.project("region").page(pageable));
+    }
+
+    /**
+     * Get the villes of the "regionId" region, ordered by nom.
+     * <p>
+     * The result is kept in the {@value #VILLES_BY_REGION_CACHE} query cache until a ville is written, and the villes
+     * themselves are read from the second level cache.
+     */
+    @QueryHints(
+        {
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = VILLES_BY_REGION_CACHE),
+        }
+    )
+    List<Ville> findAllByRegionIdOrderByNomAscIdAsc(Long regionId);
+
+    @Query("select ville.id from Ville ville where ville.id in :ids")
+    Set<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    List<Ville> findAllBy(Pageable pageable);
+
+    List<Ville> findAllByIdGreaterThan(Long id, Pageable pageable);
+
+    /**
+     * Get the villes with the given ids, with their joueurs fetched in the same statement.
+     */
+    @Query("select distinct ville from Ville ville left join fetch ville.joueurs where ville.id in :ids")
+    List<Ville> findAllWithJoueursByIdIn(@Param("ids") Collection<Long> ids);
+
+    List<Ville> findAllByNomNotNull(Pageable pageable);
+
+    @Query("select ville from Ville ville where ville.nom > :nom or (ville.nom = :nom and ville.id > :id)")
+    List<Ville> findAllAfterNomAndId(@Param("nom") String nom, @Param("id") Long id, Pageable pageable);
+
+    /**
+     * Stream all the villes with their region, ordered by id, for exports.
+     * <p>
+     * Rows are fetched from a JDBC cursor {@value #STREAM_FETCH_SIZE} at a time, as read-only entities which are not
+     * put in the second level cache. The stream must be consumed and closed inside a transaction.
+     */
+    @QueryHints(
+        {
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE"),
+        }
+    )
+    @Query("select ville from Ville ville left join fetch ville.region order by ville.id")
+    Stream<Ville> streamAllWithRegion();
+
+    /**
+     * Get the version of the "id" ville, without loading it.
+     */
+    @Query("select ville.version from Ville ville where ville.id = :id")
+    Optional<Integer> findVersionById(@Param("id") Long id);
+}
@@ -0,0 +1,72 @@
+package fr.soheilb.projet.security;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+/**
+ * PBKDF2 with HMAC-SHA256, whose hashes start with their iteration count, for instance {@code 310000$5f4dcc3b...}.
+ * <p>
+ * {@link Pbkdf2PasswordEncoder} does not store the iteration count, so a hash could only be matched with the count it
+ * was created with. Here each hash is matched with its own count, and a hash of another count than the configured one
+ * is replaced at the next login of its user.
+ */
+class IteratedPbkdf2PasswordEncoder implements PasswordEncoder {
+
+    private static final char SEPARATOR = '$';
+
+    private final int saltLength;
+
+    private final int iterations;
+
+    private final Pbkdf2PasswordEncoder encoder;
+
+    IteratedPbkdf2PasswordEncoder(int saltLength, int iterations) {
+        this.saltLength = saltLength;
+        this.iterations = iterations;
+        this.encoder = pbkdf2(iterations);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return iterations + String.valueOf(SEPARATOR) + encoder.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        int hashIterations = iterationsOf(encodedPassword);
+        if (hashIterations < 1) {
+            return false;
+        }
+        String hash = encodedPassword.substring(encodedPassword.indexOf(SEPARATOR) + 1);
+        return (hashIterations == iterations ? encoder : pbkdf2(hashIterations)).matches(rawPassword, hash);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return iterationsOf(encodedPassword) != iterations;
+    }
+
+    private Pbkdf2PasswordEncoder pbkdf2(int hashIterations) {
+        return new Pbkdf2PasswordEncoder(
+            "",
+            saltLength,
+            hashIterations,
+            Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256
+        );
+    }
+
+    /**
+     * @return the iteration count of the hash, or 0 if it has none.
+     */
+    private static int iterationsOf(String encodedPassword) {
+        int separator = encodedPassword == null ? -1 : encodedPassword.indexOf(SEPARATOR);
+        if (separator < 1) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(encodedPassword, 0, separator, 10);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
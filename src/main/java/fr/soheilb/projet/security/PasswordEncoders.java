@@ -0,0 +1,71 @@
+package fr.soheilb.projet.security;
+
+import fr.soheilb.projet.config.ApplicationProperties;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Factory of the password encoders.
+ * <p>
+ * The hashes are prefixed with the id of their algorithm, for instance {@code {argon2}$argon2id$v=19$m=19456,t=2,p=1$...},
+ * so that the algorithm can change while the existing hashes remain valid. The hashes created before the prefix are
+ * BCrypt hashes. On login, {@link DomainUserDetailsService} replaces a hash of another algorithm, or of a lower cost,
+ * or of another iteration count for PBKDF2, with a hash of the configured algorithm and cost.
+ */
+public final class PasswordEncoders {
+
+    public static final String BCRYPT = "bcrypt";
+
+    public static final String PBKDF2 = "pbkdf2";
+
+    public static final String ARGON2 = "argon2";
+
+    private static final int SALT_LENGTH = 16;
+
+    private static final int ARGON2_HASH_LENGTH = 32;
+
+    private PasswordEncoders() {}
+
+    /**
+     * @param settings the algorithm and the costs of the new hashes.
+     * @return an encoder hashing with the configured algorithm, and matching the hashes of every algorithm.
+     */
+    public static PasswordEncoder delegating(ApplicationProperties.PasswordHashing settings) {
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put(BCRYPT, bcrypt(settings.getBcrypt().getStrength()));
+        encoders.put(PBKDF2, pbkdf2(settings.getPbkdf2().getIterations()));
+        ApplicationProperties.PasswordHashing.Argon2 argon2 = settings.getArgon2();
+        encoders.put(ARGON2, argon2(argon2.getMemory(), argon2.getIterations(), argon2.getParallelism()));
+        // The ids are the names of the algorithms
+        String idForEncode = settings.getAlgorithm().name().toLowerCase(Locale.ROOT);
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(idForEncode, encoders);
+        encoder.setDefaultPasswordEncoderForMatches(encoders.get(BCRYPT));
+        return encoder;
+    }
+
+    /**
+     * @param strength log2 of the number of rounds.
+     */
+    public static PasswordEncoder bcrypt(int strength) {
+        return new BCryptPasswordEncoder(strength);
+    }
+
+    /**
+     * @param iterations the number of iterations, written into the hashes.
+     */
+    public static PasswordEncoder pbkdf2(int iterations) {
+        return new IteratedPbkdf2PasswordEncoder(SALT_LENGTH, iterations);
+    }
+
+    /**
+     * @param memory the memory used by each hash, in KiB.
+     */
+    public static PasswordEncoder argon2(int memory, int iterations, int parallelism) {
+        return new Argon2PasswordEncoder(SALT_LENGTH, ARGON2_HASH_LENGTH, parallelism, memory, iterations);
+    }
+}
@@ -0,0 +1,13 @@
+package fr.soheilb.projet.security;
+
+/**
+ * Thrown when a password cannot be hashed because the hashing threads are saturated.
+ */
+public class PasswordHashingUnavailableException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public PasswordHashingUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,179 @@
+package fr.soheilb.projet.service;
+
+import fr.soheilb.projet.config.ApplicationProperties;
+import fr.soheilb.projet.domain.Region;
+import fr.soheilb.projet.domain.Ville;
+import fr.soheilb.projet.repository.RegionRepository;
+import fr.soheilb.projet.repository.VilleRepository;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.Duration;
+import java.util.List;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service loading the {@link Ville} and {@link Region} referential in the second level cache at startup.
+ * <p>
+ * The villes are read by pages of {@code application.cache-warm-up.page-size}, each with their joueurs, then the
+ * regions one by one with their villes, each page in its own read-only transaction so that the persistence context
+ * stays small. The warm-up runs on the async executor once the application is ready and stops at
+ * {@code application.cache-warm-up.timeout}; its outcome is reported by the {@code cacheWarmUp} health indicator of the
+ * readiness group.
+ */
+@Service
+public class CacheWarmUpService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CacheWarmUpService.class);
+
+    private final VilleRepository villeRepository;
+
+    private final RegionRepository regionRepository;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final ApplicationProperties applicationProperties;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private volatile Status status = Status.PENDING;
+
+    private volatile long villeCount;
+
+    private volatile long regionCount;
+
+    private volatile Duration duration = Duration.ZERO;
+
+    public CacheWarmUpService(
+        VilleRepository villeRepository,
+        RegionRepository regionRepository,
+        EntityManagerFactory entityManagerFactory,
+        ApplicationProperties applicationProperties,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.villeRepository = villeRepository;
+        this.regionRepository = regionRepository;
+        this.entityManagerFactory = entityManagerFactory;
+        this.applicationProperties = applicationProperties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Load the villes, with their joueurs, and the regions, with their villes, in the second level cache.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        ApplicationProperties.CacheWarmUp properties = applicationProperties.getCacheWarmUp();
+        if (!properties.isEnabled() || !isSecondLevelCacheEnabled()) {
+            LOG.debug("Cache warm-up skipped");
+            status = Status.SKIPPED;
+            return;
+        }
+        LOG.debug("Warming up the Ville and Region caches");
+        status = Status.RUNNING;
+        long start = System.nanoTime();
+        long deadline = start + properties.getTimeout().toNanos();
+        try {
+            boolean completed = warmUpVilles(deadline, Math.max(properties.getPageSize(), 1)) && warmUpRegions(deadline);
+            status = completed ? Status.COMPLETED : Status.TIMED_OUT;
+        } catch (RuntimeException e) {
+            LOG.warn("Cache warm-up failed: {}", e.getMessage());
+            status = Status.FAILED;
+        }
+        duration = Duration.ofNanos(System.nanoTime() - start);
+        LOG.info("Cache warm-up {} in {} ms, with {} villes and {} regions", status, duration.toMillis(), villeCount, regionCount);
+    }
+
+    private boolean warmUpVilles(long deadline, int pageSize) {
+        long lastId = Long.MIN_VALUE;
+        while (System.nanoTime() < deadline) {
+            long after = lastId;
+            List<Long> ids = transactionTemplate.execute(transaction -> {
+                List<Long> pageIds = villeRepository
+                    .findAllByIdGreaterThan(after, PageRequest.of(0, pageSize, Sort.by("id")))
+                    .stream()
+                    .map(Ville::getId)
+                    .toList();
+                if (!pageIds.isEmpty()) {
+                    villeRepository.findAllWithJoueursByIdIn(pageIds);
+                }
+                return pageIds;
+            });
+            villeCount += ids.size();
+            if (ids.size() < pageSize) {
+                return true;
+            }
+            lastId = ids.get(ids.size() - 1);
+        }
+        return false;
+    }
+
+    private boolean warmUpRegions(long deadline) {
+        List<Long> ids = transactionTemplate.execute(transaction ->
+            regionRepository.findAll(Sort.by("id")).stream().map(Region::getId).toList()
+        );
+        for (Long id : ids) {
+            if (System.nanoTime() >= deadline) {
+                return false;
+            }
+            transactionTemplate.executeWithoutResult(transaction -> regionRepository.findOneWithVilles(id));
+            regionCount++;
+        }
+        return true;
+    }
+
+    private boolean isSecondLevelCacheEnabled() {
+        return entityManagerFactory.unwrap(SessionFactoryImplementor.class).getSessionFactoryOptions().isSecondLevelCacheEnabled();
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public long getVilleCount() {
+        return villeCount;
+    }
+
+    public long getRegionCount() {
+        return regionCount;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    /**
+     * The progress of the warm-up.
+     */
+    public enum Status {
+        PENDING(false),
+        RUNNING(false),
+        COMPLETED(true),
+        TIMED_OUT(true),
+        FAILED(true),
+        SKIPPED(true);
+
+        private final boolean over;
+
+        Status(boolean over) {
+            this.over = over;
+        }
+
+        /**
+         * @return whether the warm-up is over, successfully or not.
+         */
+        public boolean isOver() {
+            return over;
+        }
+    }
+}
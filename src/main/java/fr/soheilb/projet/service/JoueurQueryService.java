@@ -0,0 +1,107 @@
+package fr.soheilb.projet.service;
+
+import fr.soheilb.projet.domain.*; // for static metamodels
+import fr.soheilb.projet.domain.Joueur;
+import fr.soheilb.projet.repository.JoueurRepository;
+import fr.soheilb.projet.service.criteria.JoueurCriteria;
+import jakarta.persistence.criteria.JoinType;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tech.jhipster.service.QueryService;
+
+/**
+ * Service for executing complex queries for {@link Joueur} entities in the database.
+ * The main input is a {@link JoueurCriteria} which gets converted to {@link Specification},
+ * in a way that all the filters must apply.
+ * It returns a {@link List} of {@link Joueur} which fulfills the criteria.
+ */
+@Service
+@Transactional(readOnly = true)
+public class JoueurQueryService extends QueryService<Joueur> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(JoueurQueryService.class);
+
+    private final JoueurRepository joueurRepository;
+
+    public JoueurQueryService(JoueurRepository joueurRepository) {
+        this.joueurRepository = joueurRepository;
+    }
+
+    /**
+     * Return a {@link List} of {@link Joueur} which matches the criteria from the database.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public List<Joueur> findByCriteria(JoueurCriteria criteria) {
+        return findByCriteria(criteria, false);
+    }
+
+    /**
+     * Return a {@link List} of {@link Joueur} which matches the criteria from the database.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param withVille whether the ville of each joueur should be fetched in the same statement.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public List<Joueur> findByCriteria(JoueurCriteria criteria, boolean withVille) {
+        LOG.debug("find by criteria : {}, with ville: {}", criteria, withVille);
+        final Specification<Joueur> specification = createSpecification(criteria);
+        if (withVille) {
+            return joueurRepository.findAllWithVille(specification);
+        }
+        return joueurRepository.findAll(specification);
+    }
+
+    /**
+     * Return the number of matching entities in the database.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the number of matching entities.
+     */
+    @Transactional(readOnly = true)
+    public long countByCriteria(JoueurCriteria criteria) {
+        LOG.debug("count by criteria : {}", criteria);
+        final Specification<Joueur> specification = createSpecification(criteria);
+        return joueurRepository.count(specification);
+    }
+
+    /**
+     * Function to convert {@link JoueurCriteria} to a {@link Specification}
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the matching {@link Specification} of the entity.
+     */
+    protected Specification<Joueur> createSpecification(JoueurCriteria criteria) {
+        Specification<Joueur> specification = Specification.where(null);
+        if (criteria != null) {
+            // This has to be called first, because the distinct method returns null
+            if (criteria.getDistinct() != null) {
+                specification = specification.and(distinct(criteria.getDistinct()));
+            }
+            if (criteria.getId() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getId(), Joueur_.id));
+            }
+            if (criteria.getPseudo() != null) {
+                specification = specification.and(buildStringSpecification(criteria.getPseudo(), Joueur_.pseudo));
+            }
+            if (criteria.getMotDePasse() != null) {
+                specification = specification.and(buildStringSpecification(criteria.getMotDePasse(), Joueur_.motDePasse));
+            }
+            if (criteria.getDateInscription() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getDateInscription(), Joueur_.dateInscription));
+            }
+            if (criteria.getEstAdministrateur() != null) {
+                specification = specification.and(buildSpecification(criteria.getEstAdministrateur(), Joueur_.estAdministrateur));
+            }
+            if (criteria.getVilleId() != null) {
+                specification = specification.and(
+                    buildSpecification(criteria.getVilleId(), root -> root.join(Joueur_.ville, JoinType.LEFT).get(Ville_.id))
+                );
+            }
+        }
+        return specification;
+    }
+}
@@ -1,6 +1,8 @@
 package fr.soheilb.projet.service;
 
 import fr.soheilb.projet.domain.Joueur;
+import fr.soheilb.projet.service.dto.BulkItemResultDTO;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,21 +19,40 @@ public interface JoueurService {
     Joueur save(Joueur joueur);
 
     /**
-     * Updates a joueur.
+     * Updates a joueur, checking its version when it is given.
      *
      * @param joueur the entity to update.
-     * @return the persisted entity.
+     * @return the persisted entity, or empty if the joueur does not exist.
+     * @throws org.springframework.orm.ObjectOptimisticLockingFailureException if the joueur was changed since its given version.
      */
-    Joueur update(Joueur joueur);
+    Optional<Joueur> update(Joueur joueur);
 
     /**
-     * Partially updates a joueur.
+     * Partially updates a joueur, checking its version when it is given.
      *
      * @param joueur the entity to update partially.
-     * @return the persisted entity.
+     * @return the persisted entity, or empty if the joueur does not exist.
+     * @throws org.springframework.orm.ObjectOptimisticLockingFailureException if the joueur was changed since its given version.
      */
     Optional<Joueur> partialUpdate(Joueur joueur);
 
+    /**
+     * Save new joueurs in one transaction, sending their inserts in JDBC batches.
+     * Joueurs which already have an id, or whose ville does not exist, are not saved.
+     *
+     * @param joueurs the entities to save.
+     * @return the result of each entity, in the order of the entities.
+     */
+    List<BulkItemResultDTO> saveAll(List<Joueur> joueurs);
+
+    /**
+     * Partially update joueurs in one transaction, sending their updates in JDBC batches.
+     *
+     * @param joueurs the entities to update partially.
+     * @return the result of each entity, in the order of the entities.
+     */
+    List<BulkItemResultDTO> partialUpdateAll(List<Joueur> joueurs);
+
     /**
      * Get all the joueurs.
      *
@@ -47,6 +68,31 @@ public interface JoueurService {
      */
     Optional<Joueur> findOne(Long id);
 
+    /**
+     * Get the joueurs with the given ids, served from the second level cache where possible, the others being
+     * loaded with a single query.
+     *
+     * @param ids the ids of the entities.
+     * @return the entities which exist, in the order of the ids.
+     */
+    List<Joueur> findAllByIds(Collection<Long> ids);
+
+    /**
+     * Get the first joueur with the given pseudo, served from the query cache where possible.
+     *
+     * @param pseudo the pseudo of the entity.
+     * @return the entity.
+     */
+    Optional<Joueur> findOneByPseudo(String pseudo);
+
+    /**
+     * Get the "id" joueur with its ville.
+     *
+     * @param id the id of the entity.
+     * @return the entity.
+     */
+    Optional<Joueur> findOneWithEagerRelationships(Long id);
+
     /**
      * Delete the "id" joueur.
      *
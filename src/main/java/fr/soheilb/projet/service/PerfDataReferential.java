@@ -0,0 +1,308 @@
+package fr.soheilb.projet.service;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Synthetic referential of the performance data: the French regions with their departments and their number of
+ * communes, and generators of realistic commune names, postal codes, populations and joueurs.
+ * <p>
+ * Every value is drawn from the given {@link Random}, so that the same seed always generates the same data.
+ */
+final class PerfDataReferential {
+
+    /**
+     * A region, the departments of its postal codes, and its number of communes (2024).
+     */
+    record RegionData(String nom, List<String> departements, int communes) {}
+
+    static final List<RegionData> REGIONS = List.of(
+        new RegionData("Auvergne-Rhône-Alpes", List.of("01", "03", "07", "15", "26", "38", "42", "43", "63", "69", "73", "74"), 4030),
+        new RegionData("Bourgogne-Franche-Comté", List.of("21", "25", "39", "58", "70", "71", "89", "90"), 3699),
+        new RegionData("Bretagne", List.of("22", "29", "35", "56"), 1207),
+        new RegionData("Centre-Val de Loire", List.of("18", "28", "36", "37", "41", "45"), 1754),
+        new RegionData("Corse", List.of("20"), 360),
+        new RegionData("Grand Est", List.of("08", "10", "51", "52", "54", "55", "57", "67", "68", "88"), 5121),
+        new RegionData("Hauts-de-France", List.of("02", "59", "60", "62", "80"), 3789),
+        new RegionData("Île-de-France", List.of("75", "77", "78", "91", "92", "93", "94", "95"), 1265),
+        new RegionData("Normandie", List.of("14", "27", "50", "61", "76"), 2651),
+        new RegionData("Nouvelle-Aquitaine", List.of("16", "17", "19", "23", "24", "33", "40", "47", "64", "79", "86", "87"), 4309),
+        new RegionData("Occitanie", List.of("09", "11", "12", "30", "31", "32", "34", "46", "48", "65", "66", "81", "82"), 4453),
+        new RegionData("Pays de la Loire", List.of("44", "49", "53", "72", "85"), 1233),
+        new RegionData("Provence-Alpes-Côte d'Azur", List.of("04", "05", "06", "13", "83", "84"), 946),
+        new RegionData("Guadeloupe", List.of("971"), 32),
+        new RegionData("Martinique", List.of("972"), 34),
+        new RegionData("Guyane", List.of("973"), 22),
+        new RegionData("La Réunion", List.of("974"), 24),
+        new RegionData("Mayotte", List.of("976"), 17)
+    );
+
+    /**
+     * Number of communes of the referential.
+     */
+    static final int COMMUNES = REGIONS.stream().mapToInt(RegionData::communes).sum();
+
+    /**
+     * The population of the communes follows a log-normal distribution around the median French commune.
+     */
+    private static final double MEDIAN_POPULATION = 450;
+
+    private static final double POPULATION_SIGMA = 1.5;
+
+    private static final int MAX_POPULATION = 2_200_000;
+
+    private static final List<String> SAINTS = List.of(
+        "Martin",
+        "Jean",
+        "Pierre",
+        "Germain",
+        "Laurent",
+        "Julien",
+        "Denis",
+        "Étienne",
+        "Hilaire",
+        "Aubin",
+        "Georges",
+        "Michel"
+    );
+
+    private static final List<String> SAINTES = List.of("Marie", "Foy", "Colombe", "Croix", "Anne", "Geneviève", "Eulalie");
+
+    private static final List<String> ROOTS = List.of(
+        "Beau",
+        "Mont",
+        "Ville",
+        "Château",
+        "Fontaine",
+        "Roche",
+        "Bel",
+        "Clair",
+        "Grand",
+        "Neuf",
+        "Val",
+        "Bois",
+        "Champ",
+        "Pont",
+        "Mar",
+        "Ber",
+        "Cor",
+        "Lan",
+        "Ker",
+        "Plou",
+        "Gui",
+        "Sau",
+        "Ver",
+        "Aur",
+        "Cha",
+        "Mor"
+    );
+
+    private static final List<String> ENDINGS = List.of(
+        "ville",
+        "court",
+        "mont",
+        "bourg",
+        "lieu",
+        "y",
+        "ac",
+        "ay",
+        "ieux",
+        "ange",
+        "heim",
+        "fort",
+        "vic",
+        "ignac",
+        "ières",
+        "oux",
+        "an",
+        "ec",
+        "el",
+        "ois"
+    );
+
+    private static final List<String> ARTICLES = List.of("Le ", "La ", "Les ");
+
+    private static final List<String> RIVERS = List.of(
+        "Loire",
+        "Seine",
+        "Marne",
+        "Saône",
+        "Rhône",
+        "Garonne",
+        "Dordogne",
+        "Mer",
+        "Meuse",
+        "Oise",
+        "Lot",
+        "Tarn",
+        "Vienne",
+        "Cher",
+        "Yonne"
+    );
+
+    private static final List<String> COMPLEMENTS = List.of(
+        "-en-Bresse",
+        "-en-Provence",
+        "-en-Argonne",
+        "-en-Auge",
+        "-en-Brie",
+        "-les-Bains",
+        "-le-Château",
+        "-la-Forêt",
+        "-le-Vieux"
+    );
+
+    private static final List<String> ANIMALS = List.of(
+        "loup",
+        "renard",
+        "aigle",
+        "ours",
+        "lynx",
+        "faucon",
+        "chat",
+        "tigre",
+        "dragon",
+        "hibou",
+        "sanglier",
+        "cerf"
+    );
+
+    private static final List<String> ADJECTIVES = List.of(
+        "rouge",
+        "noir",
+        "bleu",
+        "sage",
+        "fou",
+        "vif",
+        "gris",
+        "dore",
+        "rapide",
+        "malin"
+    );
+
+    /**
+     * Joueurs registered over the five years before this date.
+     */
+    private static final Instant LAST_INSCRIPTION = Instant.parse("2025-01-01T00:00:00Z");
+
+    private static final long INSCRIPTION_SECONDS = ChronoUnit.DAYS.getDuration().getSeconds() * 365 * 5;
+
+    private static final double ADMINISTRATEUR_RATE = 0.001;
+
+    private final Random random;
+
+    PerfDataReferential(Random random) {
+        this.random = random;
+    }
+
+    /**
+     * Split a number of villes between the regions, in proportion to their number of communes.
+     *
+     * @param villes the total number of villes.
+     * @return the number of villes of each region of {@link #REGIONS}, in the same order.
+     */
+    static int[] villesByRegion(int villes) {
+        int[] quotas = new int[REGIONS.size()];
+        double[] remainders = new double[REGIONS.size()];
+        int assigned = 0;
+        for (int i = 0; i < quotas.length; i++) {
+            double exact = (double) villes * REGIONS.get(i).communes() / COMMUNES;
+            quotas[i] = (int) exact;
+            remainders[i] = exact - quotas[i];
+            assigned += quotas[i];
+        }
+        // Largest remainders first, so that the quotas add up to the total
+        for (; assigned < villes; assigned++) {
+            int largest = 0;
+            for (int i = 1; i < remainders.length; i++) {
+                if (remainders[i] > remainders[largest]) {
+                    largest = i;
+                }
+            }
+            quotas[largest]++;
+            remainders[largest] = -1;
+        }
+        return quotas;
+    }
+
+    String communeNom() {
+        double draw = random.nextDouble();
+        if (draw < 0.15) {
+            return "Saint-" + pick(SAINTS) + complement();
+        }
+        if (draw < 0.2) {
+            return "Sainte-" + pick(SAINTES) + complement();
+        }
+        String nom = pick(ROOTS) + pick(ENDINGS);
+        if (draw < 0.35) {
+            nom = pick(ARTICLES) + nom;
+        }
+        return nom + complement();
+    }
+
+    private String complement() {
+        double draw = random.nextDouble();
+        if (draw < 0.1) {
+            return "-sur-" + pick(RIVERS);
+        }
+        if (draw < 0.15) {
+            return pick(COMPLEMENTS);
+        }
+        return "";
+    }
+
+    String codePostal(RegionData region) {
+        String departement = pick(region.departements());
+        if (departement.length() == 3) {
+            return departement + String.format("%02d", random.nextInt(100));
+        }
+        return departement + String.format("%03d", random.nextInt(100) * 10);
+    }
+
+    int population() {
+        double population = MEDIAN_POPULATION * Math.exp(POPULATION_SIGMA * random.nextGaussian());
+        return (int) Math.max(1, Math.min(MAX_POPULATION, Math.round(population)));
+    }
+
+    /**
+     * @param index the index of the joueur, which makes the pseudo unique.
+     */
+    String pseudo(long index) {
+        return pick(ANIMALS) + "_" + pick(ADJECTIVES) + "_" + Long.toString(index, 36);
+    }
+
+    Instant dateInscription() {
+        return LAST_INSCRIPTION.minusSeconds((long) (random.nextDouble() * INSCRIPTION_SECONDS));
+    }
+
+    boolean estAdministrateur() {
+        return random.nextDouble() < ADMINISTRATEUR_RATE;
+    }
+
+    /**
+     * Pick an index with a probability proportional to its weight.
+     *
+     * @param cumulativeWeights the running sum of the weights, increasing.
+     * @return the index of the picked weight.
+     */
+    int pickWeighted(long[] cumulativeWeights) {
+        long draw = (long) (random.nextDouble() * cumulativeWeights[cumulativeWeights.length - 1]);
+        int low = 0;
+        int high = cumulativeWeights.length - 1;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (cumulativeWeights[middle] > draw) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        return low;
+    }
+
+    private <T> T pick(List<T> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+}
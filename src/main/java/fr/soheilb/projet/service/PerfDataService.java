@@ -0,0 +1,344 @@
+package fr.soheilb.projet.service;
+
+import fr.soheilb.projet.config.ApplicationProperties;
+import fr.soheilb.projet.domain.Region;
+import fr.soheilb.projet.repository.RegionRepository;
+import fr.soheilb.projet.service.PerfDataReferential.RegionData;
+import fr.soheilb.projet.service.dto.PerfDataReportDTO;
+import jakarta.persistence.EntityManagerFactory;
+import java.io.Reader;
+import java.io.StringReader;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service generating large volumes of realistic data, to load and benchmark the application.
+ * <p>
+ * The regions are the French regions, the villes follow the number of communes of each region with synthetic noms,
+ * postal codes of the departments of the region and a log-normal population, and the joueurs are spread over the
+ * villes in proportion to their population. All the values are drawn from one seeded {@link Random}, so that the same
+ * seed and counts always generate the same rows.
+ * <p>
+ * The rows bypass Hibernate: their identifiers are reserved from the entity sequences with one query per chunk, and
+ * they are written with {@code COPY ... FROM STDIN} on PostgreSQL, or with JDBC batches on the other databases, one
+ * transaction per chunk of {@code application.perf-data.chunk-size} rows. The region population rollup is updated with
+ * the deltas of each chunk, and the caches and the ville suggestion index are refreshed at the end.
+ */
+@Service
+public class PerfDataService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PerfDataService.class);
+
+    /**
+     * BCrypt hash of {@code admin}, shared by all the generated joueurs.
+     */
+    private static final String MOT_DE_PASSE = "$2a$10$gSAhZrxMllrbgj/kkK9UceBPpChGWJA7SYIb1Mqo.n5aNLq1/oRrC";
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final String VILLE_SEQUENCE = "ville_sequence";
+
+    private static final String JOUEUR_SEQUENCE = "joueur_sequence";
+
+    private static final List<String> VILLE_COLUMNS = List.of("id", "nom", "code_postal", "nb_habitants", "region_id", "version");
+
+    private static final List<String> JOUEUR_COLUMNS = List.of(
+        "id",
+        "pseudo",
+        "mot_de_passe",
+        "date_inscription",
+        "est_administrateur",
+        "ville_id",
+        "version"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final RegionRepository regionRepository;
+
+    private final RegionPopulationService regionPopulationService;
+
+    private final RegionStatsService regionStatsService;
+
+    private final VilleSuggestService villeSuggestService;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final ApplicationProperties applicationProperties;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public PerfDataService(
+        JdbcTemplate jdbcTemplate,
+        RegionRepository regionRepository,
+        RegionPopulationService regionPopulationService,
+        RegionStatsService regionStatsService,
+        VilleSuggestService villeSuggestService,
+        EntityManagerFactory entityManagerFactory,
+        ApplicationProperties applicationProperties,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.regionRepository = regionRepository;
+        this.regionPopulationService = regionPopulationService;
+        this.regionStatsService = regionStatsService;
+        this.villeSuggestService = villeSuggestService;
+        this.entityManagerFactory = entityManagerFactory;
+        this.applicationProperties = applicationProperties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Generate the data configured by {@code application.perf-data}, unless the database already holds as many villes
+     * and joueurs.
+     *
+     * @return the generation report, empty counts when the data was already there.
+     */
+    public PerfDataReportDTO generateIfMissing() {
+        ApplicationProperties.PerfData settings = applicationProperties.getPerfData();
+        int villes = settings.getVilles() == null ? PerfDataReferential.COMMUNES : settings.getVilles();
+        long existingVilles = count("ville");
+        long existingJoueurs = count("joueur");
+        if (existingVilles >= villes && existingJoueurs >= settings.getJoueurs()) {
+            LOG.info("Performance data already there: {} villes and {} joueurs", existingVilles, existingJoueurs);
+            return new PerfDataReportDTO();
+        }
+        return generate(villes, settings.getJoueurs(), settings.getSeed());
+    }
+
+    /**
+     * Generate the regions, villes and joueurs.
+     *
+     * @param villeCount the number of villes to generate.
+     * @param joueurCount the number of joueurs to generate, spread over the generated villes.
+     * @param seed the seed of the generated values.
+     * @return the generation report.
+     */
+    public PerfDataReportDTO generate(int villeCount, int joueurCount, long seed) {
+        LOG.info("Generating {} villes and {} joueurs with seed {}", villeCount, joueurCount, seed);
+        Instant start = Instant.now();
+        PerfDataReferential referential = new PerfDataReferential(new Random(seed));
+        boolean postgres = Boolean.TRUE.equals(
+            jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())
+            )
+        );
+        PerfDataReportDTO report = new PerfDataReportDTO();
+        List<Long> regionIds = transactionTemplate.execute(status -> saveRegions(report));
+
+        // The villes, with the running sum of their population to pick the ville of each joueur
+        long[] villeIds = new long[villeCount];
+        long[] cumulativePopulation = new long[villeCount];
+        int[] villesByRegion = PerfDataReferential.villesByRegion(villeCount);
+        int chunkSize = Math.max(applicationProperties.getPerfData().getChunkSize(), 1);
+        List<Object[]> chunk = new ArrayList<>(Math.min(chunkSize, villeCount));
+        int villeIndex = 0;
+        long population = 0;
+        for (int r = 0; r < villesByRegion.length; r++) {
+            RegionData region = PerfDataReferential.REGIONS.get(r);
+            for (int i = 0; i < villesByRegion[r]; i++) {
+                int nbHabitants = referential.population();
+                String nom = referential.communeNom();
+                String codePostal = referential.codePostal(region);
+                chunk.add(new Object[] { null, nom, codePostal, nbHabitants, regionIds.get(r), 0 });
+                population += nbHabitants;
+                cumulativePopulation[villeIndex++] = population;
+                if (chunk.size() == chunkSize) {
+                    writeVilles(chunk, villeIds, villeIndex - chunk.size(), postgres, report);
+                    chunk.clear();
+                }
+            }
+        }
+        writeVilles(chunk, villeIds, villeIndex - chunk.size(), postgres, report);
+        chunk.clear();
+
+        if (villeCount > 0) {
+            for (int i = 0; i < joueurCount; i++) {
+                long villeId = villeIds[referential.pickWeighted(cumulativePopulation)];
+                chunk.add(
+                    new Object[] {
+                        null,
+                        referential.pseudo(i),
+                        MOT_DE_PASSE,
+                        referential.dateInscription(),
+                        referential.estAdministrateur(),
+                        villeId,
+                        0,
+                    }
+                );
+                if (chunk.size() == chunkSize) {
+                    writeJoueurs(chunk, postgres, report);
+                    chunk.clear();
+                }
+            }
+            writeJoueurs(chunk, postgres, report);
+        }
+
+        regionStatsService.evict();
+        entityManagerFactory.getCache().evictAll();
+        villeSuggestService.rebuild();
+        report.setDuration(Duration.between(start, Instant.now()));
+        LOG.info("Performance data generated: {}", report);
+        return report;
+    }
+
+    private List<Long> saveRegions(PerfDataReportDTO report) {
+        List<Long> regionIds = new ArrayList<>();
+        for (RegionData data : PerfDataReferential.REGIONS) {
+            Region region = regionRepository.findFirstByNomIgnoreCase(data.nom()).orElse(null);
+            if (region == null) {
+                region = regionRepository.save(new Region().nom(data.nom()));
+                report.setRegionsCreated(report.getRegionsCreated() + 1);
+            }
+            regionIds.add(region.getId());
+        }
+        return regionIds;
+    }
+
+    private void writeVilles(List<Object[]> rows, long[] villeIds, int firstIndex, boolean postgres, PerfDataReportDTO report) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            long[] ids = reserveIds(VILLE_SEQUENCE, rows.size(), postgres);
+            // Deltas of the population rollup of each region, applied once for the chunk, by increasing region id
+            Map<Long, long[]> populationDeltas = new TreeMap<>();
+            for (int i = 0; i < rows.size(); i++) {
+                Object[] row = rows.get(i);
+                row[0] = ids[i];
+                villeIds[firstIndex + i] = ids[i];
+                long[] delta = populationDeltas.computeIfAbsent((Long) row[4], id -> new long[2]);
+                delta[0] += (Integer) row[3];
+                delta[1]++;
+            }
+            insert("ville", VILLE_COLUMNS, rows, postgres);
+            populationDeltas.forEach((regionId, delta) -> regionPopulationService.addToRegion(regionId, delta[0], delta[1]));
+        });
+        report.setVillesCreated(report.getVillesCreated() + rows.size());
+        LOG.info("Performance data progress: {} villes", report.getVillesCreated());
+    }
+
+    private void writeJoueurs(List<Object[]> rows, boolean postgres, PerfDataReportDTO report) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            long[] ids = reserveIds(JOUEUR_SEQUENCE, rows.size(), postgres);
+            for (int i = 0; i < rows.size(); i++) {
+                rows.get(i)[0] = ids[i];
+            }
+            insert("joueur", JOUEUR_COLUMNS, rows, postgres);
+        });
+        report.setJoueursCreated(report.getJoueursCreated() + rows.size());
+        LOG.info("Performance data progress: {} joueurs", report.getJoueursCreated());
+    }
+
+    /**
+     * Reserve identifiers the way the pooled-lo optimizer of the entities does: each value of the sequence reserves
+     * the identifiers from that value to the value plus the allocation size, excluded.
+     */
+    private long[] reserveIds(String sequence, int count, boolean postgres) {
+        ApplicationProperties.Persistence persistence = applicationProperties.getPersistence();
+        int allocationSize = persistence.getIdAllocationSize().getOrDefault(sequence, persistence.getDefaultIdAllocationSize());
+        int calls = (count + allocationSize - 1) / allocationSize;
+        List<Long> values = postgres
+            ? jdbcTemplate.queryForList("select nextval('" + sequence + "') from generate_series(1, ?)", Long.class, calls)
+            : jdbcTemplate.queryForList("select next value for " + sequence + " from system_range(1, ?)", Long.class, calls);
+        long[] ids = new long[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = values.get(i / allocationSize) + i % allocationSize;
+        }
+        return ids;
+    }
+
+    private void insert(String table, List<String> columns, List<Object[]> rows, boolean postgres) {
+        String columnList = String.join(", ", columns);
+        if (postgres) {
+            jdbcTemplate.execute((ConnectionCallback<Long>) connection ->
+                copyIn(connection, "copy " + table + " (" + columnList + ") from stdin with (format csv)", toCsv(rows))
+            );
+        } else {
+            String parameters = String.join(", ", columns.stream().map(column -> "?").toList());
+            jdbcTemplate.batchUpdate(
+                "insert into " + table + " (" + columnList + ") values (" + parameters + ")",
+                rows,
+                BATCH_SIZE,
+                (PreparedStatement statement, Object[] row) -> {
+                    for (int i = 0; i < row.length; i++) {
+                        statement.setObject(i + 1, toJdbc(row[i]));
+                    }
+                }
+            );
+        }
+    }
+
+    /**
+     * The PostgreSQL driver is only on the classpath of the {@code prod} profile, so its {@code CopyManager} is reached
+     * by reflection.
+     */
+    private static long copyIn(Connection connection, String sql, String csv) throws SQLException {
+        try {
+            Class<?> pgConnectionClass = Class.forName("org.postgresql.PGConnection");
+            Object copyManager = pgConnectionClass.getMethod("getCopyAPI").invoke(connection.unwrap(pgConnectionClass));
+            Method copyIn = copyManager.getClass().getMethod("copyIn", String.class, Reader.class);
+            return (long) copyIn.invoke(copyManager, sql, new StringReader(csv));
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof SQLException sqlException) {
+                throw sqlException;
+            }
+            throw new IllegalStateException("Could not copy the performance data", e.getCause());
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Copying the performance data needs the PostgreSQL driver", e);
+        }
+    }
+
+    private static String toCsv(List<Object[]> rows) {
+        StringBuilder csv = new StringBuilder(rows.size() * 64);
+        for (Object[] row : rows) {
+            for (int i = 0; i < row.length; i++) {
+                if (i > 0) {
+                    csv.append(',');
+                }
+                Object value = toJdbc(row[i]);
+                if (value instanceof String text) {
+                    csv.append('"').append(text.replace("\"", "\"\"")).append('"');
+                } else if (value != null) {
+                    csv.append(value);
+                }
+            }
+            csv.append('\n');
+        }
+        return csv.toString();
+    }
+
+    /**
+     * The instants are stored in UTC, like Hibernate does with {@code hibernate.jdbc.time_zone}.
+     */
+    private static Object toJdbc(Object value) {
+        return value instanceof Instant instant ? LocalDateTime.ofInstant(instant, ZoneOffset.UTC) : value;
+    }
+
+    private long count(String table) {
+        Long count = jdbcTemplate.queryForObject("select count(*) from " + table, Long.class);
+        return count == null ? 0 : count;
+    }
+}
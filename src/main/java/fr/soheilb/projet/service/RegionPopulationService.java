@@ -0,0 +1,120 @@
+package fr.soheilb.projet.service;
+
+import fr.soheilb.projet.domain.RegionPopulation;
+import fr.soheilb.projet.repository.RegionPopulationRepository;
+import fr.soheilb.projet.repository.RegionRepository;
+import java.util.Objects;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service maintaining the {@link RegionPopulation} rollup of each region.
+ * <p>
+ * The services writing villes report their changes here, inside their own transaction, and the rollup is updated
+ * with deltas by an {@code insert ... on conflict do update set population = population + ?} statement, so that
+ * concurrent writes do not lose updates. Reading the population of a region is then a primary key lookup.
+ */
+@Service
+@Transactional
+public class RegionPopulationService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RegionPopulationService.class);
+
+    private final RegionPopulationRepository regionPopulationRepository;
+
+    private final RegionRepository regionRepository;
+
+    public RegionPopulationService(RegionPopulationRepository regionPopulationRepository, RegionRepository regionRepository) {
+        this.regionPopulationRepository = regionPopulationRepository;
+        this.regionRepository = regionRepository;
+    }
+
+    /**
+     * Get the population rollup of the "id" region.
+     *
+     * @param regionId the id of the region.
+     * @return the rollup, empty if the region does not exist.
+     */
+    @Transactional(readOnly = true)
+    public Optional<RegionPopulation> findOne(Long regionId) {
+        LOG.debug("Request to get the population of Region : {}", regionId);
+        Optional<RegionPopulation> regionPopulation = regionPopulationRepository.findOneByRegionId(regionId);
+        if (regionPopulation.isEmpty() && regionRepository.existsById(regionId)) {
+            // No ville was ever added to this region
+            return Optional.of(new RegionPopulation().regionId(regionId));
+        }
+        return regionPopulation;
+    }
+
+    /**
+     * Account for a new ville.
+     *
+     * @param regionId the id of the region of the ville, can be {@code null}.
+     * @param nbHabitants the nbHabitants of the ville, can be {@code null}.
+     */
+    public void villeAdded(Long regionId, Integer nbHabitants) {
+        addToRegion(regionId, valueOf(nbHabitants), 1);
+    }
+
+    /**
+     * Account for a deleted ville.
+     *
+     * @param regionId the id of the region of the ville, can be {@code null}.
+     * @param nbHabitants the nbHabitants of the ville, can be {@code null}.
+     */
+    public void villeRemoved(Long regionId, Integer nbHabitants) {
+        addToRegion(regionId, -valueOf(nbHabitants), -1);
+    }
+
+    /**
+     * Account for an updated ville, which may have moved to another region.
+     *
+     * @param previousRegionId the id of the region of the ville before the update, can be {@code null}.
+     * @param previousNbHabitants the nbHabitants of the ville before the update, can be {@code null}.
+     * @param regionId the id of the region of the ville after the update, can be {@code null}.
+     * @param nbHabitants the nbHabitants of the ville after the update, can be {@code null}.
+     */
+    public void villeUpdated(Long previousRegionId, Integer previousNbHabitants, Long regionId, Integer nbHabitants) {
+        if (Objects.equals(previousRegionId, regionId)) {
+            addToRegion(regionId, valueOf(nbHabitants) - valueOf(previousNbHabitants), 0);
+        } else if (previousRegionId != null && regionId != null && regionId < previousRegionId) {
+            // Rows are always locked by increasing region id, so that two concurrent moves cannot deadlock
+            villeAdded(regionId, nbHabitants);
+            villeRemoved(previousRegionId, previousNbHabitants);
+        } else {
+            villeRemoved(previousRegionId, previousNbHabitants);
+            villeAdded(regionId, nbHabitants);
+        }
+    }
+
+    /**
+     * Add deltas to the rollup of a region, creating the rollup if the region has none yet.
+     *
+     * @param regionId the id of the region, can be {@code null}.
+     * @param population the delta of the population.
+     * @param villeCount the delta of the number of villes.
+     */
+    public void addToRegion(Long regionId, long population, long villeCount) {
+        if (regionId == null || (population == 0 && villeCount == 0)) {
+            return;
+        }
+        regionPopulationRepository.addToRegion(regionId, population, villeCount);
+    }
+
+    /**
+     * Delete the rollup of the "id" region, before the region itself is deleted.
+     *
+     * @param regionId the id of the region.
+     */
+    public void delete(Long regionId) {
+        LOG.debug("Request to delete the population of Region : {}", regionId);
+        regionPopulationRepository.deleteByRegionId(regionId);
+    }
+
+    private static long valueOf(Integer nbHabitants) {
+        return nbHabitants == null ? 0 : nbHabitants;
+    }
+}
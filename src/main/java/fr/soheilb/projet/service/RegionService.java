@@ -1,6 +1,7 @@
 package fr.soheilb.projet.service;
 
 import fr.soheilb.projet.domain.Region;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,18 +18,20 @@ public interface RegionService {
     Region save(Region region);
 
     /**
-     * Updates a region.
+     * Updates a region, checking its version when it is given.
      *
      * @param region the entity to update.
-     * @return the persisted entity.
+     * @return the persisted entity, or empty if the region does not exist.
+     * @throws org.springframework.orm.ObjectOptimisticLockingFailureException if the region was changed since its given version.
      */
-    Region update(Region region);
+    Optional<Region> update(Region region);
 
     /**
-     * Partially updates a region.
+     * Partially updates a region, checking its version when it is given.
      *
      * @param region the entity to update partially.
-     * @return the persisted entity.
+     * @return the persisted entity, or empty if the region does not exist.
+     * @throws org.springframework.orm.ObjectOptimisticLockingFailureException if the region was changed since its given version.
      */
     Optional<Region> partialUpdate(Region region);
 
@@ -47,6 +50,15 @@ public interface RegionService {
      */
     Optional<Region> findOne(Long id);
 
+    /**
+     * Get the regions with the given ids, served from the second level cache where possible, the others being
+     * loaded with a single query.
+     *
+     * @param ids the ids of the entities.
+     * @return the entities which exist, in the order of the ids.
+     */
+    List<Region> findAllByIds(Collection<Long> ids);
+
     /**
      * Delete the "id" region.
      *
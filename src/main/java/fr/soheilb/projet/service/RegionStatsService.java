@@ -0,0 +1,88 @@
+package fr.soheilb.projet.service;
+
+import fr.soheilb.projet.repository.RegionRepository;
+import fr.soheilb.projet.service.dto.RegionStatsDTO;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Service computing the aggregate statistics of the regions.
+ * <p>
+ * The statistics are computed by the database with one {@code GROUP BY} query, and cached in the
+ * {@value #REGION_STATS_CACHE} cache until a region, ville or joueur is written.
+ */
+@Service
+@Transactional(readOnly = true)
+public class RegionStatsService {
+
+    public static final String REGION_STATS_CACHE = "regionStats";
+
+    private static final String ALL_REGIONS_KEY = "all";
+
+    private static final Logger LOG = LoggerFactory.getLogger(RegionStatsService.class);
+
+    private final RegionRepository regionRepository;
+
+    private final CacheManager cacheManager;
+
+    public RegionStatsService(RegionRepository regionRepository, CacheManager cacheManager) {
+        this.regionRepository = regionRepository;
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Get the statistics of all the regions, ordered by region id.
+     *
+     * @return the statistics of each region.
+     */
+    @Cacheable(cacheNames = REGION_STATS_CACHE, key = "'" + ALL_REGIONS_KEY + "'")
+    public List<RegionStatsDTO> findAll() {
+        LOG.debug("Request to get the statistics of all Regions");
+        return regionRepository.findAllStats().stream().map(RegionStatsDTO::new).collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    /**
+     * Get the statistics of the "id" region.
+     *
+     * @param id the id of the region.
+     * @return the statistics of the region, empty if the region does not exist.
+     */
+    @Cacheable(cacheNames = REGION_STATS_CACHE, key = "#id", unless = "#result == null")
+    public Optional<RegionStatsDTO> findOne(Long id) {
+        LOG.debug("Request to get the statistics of Region : {}", id);
+        return regionRepository.findStats(id).map(RegionStatsDTO::new);
+    }
+
+    /**
+     * Evict the cached statistics, now and once the current transaction, if any, has completed, so that
+     * statistics read by concurrent transactions before the commit are not kept.
+     */
+    public void evict() {
+        clearCache();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        clearCache();
+                    }
+                }
+            );
+        }
+    }
+
+    private void clearCache() {
+        Objects.requireNonNull(cacheManager.getCache(REGION_STATS_CACHE)).clear();
+    }
+}
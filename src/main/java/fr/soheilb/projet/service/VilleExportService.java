@@ -0,0 +1,136 @@
+package fr.soheilb.projet.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fr.soheilb.projet.domain.Region;
+import fr.soheilb.projet.domain.Ville;
+import fr.soheilb.projet.repository.VilleRepository;
+import jakarta.persistence.EntityManager;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service for exporting all the {@link Ville} at once.
+ * <p>
+ * Villes are read from a database cursor and written to the output one by one, then detached from the persistence
+ * context, so that memory stays flat whatever the number of villes. The columns are the ones read by
+ * {@link VilleImportService}, plus the id, so that an export can be imported back.
+ */
+@Service
+public class VilleExportService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(VilleExportService.class);
+
+    private static final char CSV_SEPARATOR = ';';
+
+    private static final String CSV_HEADER = "id;nom;codePostal;nbHabitants;region";
+
+    private final VilleRepository villeRepository;
+
+    private final EntityManager entityManager;
+
+    private final ObjectMapper objectMapper;
+
+    public VilleExportService(VilleRepository villeRepository, EntityManager entityManager, ObjectMapper objectMapper) {
+        this.villeRepository = villeRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Write all the villes to the output, ordered by id.
+     * <p>
+     * The output is flushed but not closed.
+     *
+     * @param output the output, written in UTF-8.
+     * @param format the format of the output.
+     * @return the number of villes written.
+     * @throws IOException if the output cannot be written.
+     */
+    @Transactional(readOnly = true)
+    public long exportVilles(OutputStream output, VilleFileFormat format) throws IOException {
+        LOG.debug("Request to export all Villes as {}", format);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        long count = 0;
+        try (Stream<Ville> villes = villeRepository.streamAllWithRegion()) {
+            Iterator<Ville> iterator = villes.iterator();
+            if (format == VilleFileFormat.CSV) {
+                writer.write(CSV_HEADER);
+                writer.write('\n');
+                while (iterator.hasNext()) {
+                    Ville ville = iterator.next();
+                    writeCsv(writer, ville);
+                    entityManager.detach(ville);
+                    count++;
+                }
+            } else {
+                JsonGenerator generator = objectMapper.getFactory().createGenerator(writer);
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.setRootValueSeparator(null);
+                while (iterator.hasNext()) {
+                    Ville ville = iterator.next();
+                    writeJson(generator, ville);
+                    entityManager.detach(ville);
+                    count++;
+                }
+                generator.close();
+            }
+        }
+        writer.flush();
+        LOG.debug("Exported {} Villes", count);
+        return count;
+    }
+
+    private static void writeCsv(Writer writer, Ville ville) throws IOException {
+        writer.write(String.valueOf(ville.getId()));
+        writer.write(CSV_SEPARATOR);
+        writer.write(csvValue(ville.getNom()));
+        writer.write(CSV_SEPARATOR);
+        writer.write(csvValue(ville.getCodePostal()));
+        writer.write(CSV_SEPARATOR);
+        writer.write(ville.getNbHabitants() == null ? "" : String.valueOf(ville.getNbHabitants()));
+        writer.write(CSV_SEPARATOR);
+        writer.write(csvValue(regionNom(ville)));
+        writer.write('\n');
+    }
+
+    private static void writeJson(JsonGenerator generator, Ville ville) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("id", ville.getId());
+        generator.writeStringField("nom", ville.getNom());
+        generator.writeStringField("codePostal", ville.getCodePostal());
+        if (ville.getNbHabitants() == null) {
+            generator.writeNullField("nbHabitants");
+        } else {
+            generator.writeNumberField("nbHabitants", ville.getNbHabitants());
+        }
+        generator.writeStringField("region", regionNom(ville));
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    private static String regionNom(Ville ville) {
+        Region region = ville.getRegion();
+        return region == null ? null : region.getNom();
+    }
+
+    private static String csvValue(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(CSV_SEPARATOR) < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
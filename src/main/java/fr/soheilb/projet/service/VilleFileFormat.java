@@ -0,0 +1,18 @@
+package fr.soheilb.projet.service;
+
+/**
+ * The file formats supported to import and export villes in bulk.
+ * <p>
+ * Both formats carry the {@code nom}, {@code codePostal}, {@code nbHabitants} and {@code region} (the nom of the
+ * region) of each ville, so that an export can be imported back.
+ */
+public enum VilleFileFormat {
+    /**
+     * Comma or semicolon separated values, with a header line naming the columns.
+     */
+    CSV,
+    /**
+     * One JSON object per line.
+     */
+    NDJSON,
+}
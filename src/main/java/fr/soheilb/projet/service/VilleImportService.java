@@ -0,0 +1,324 @@
+package fr.soheilb.projet.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fr.soheilb.projet.config.ApplicationProperties;
+import fr.soheilb.projet.domain.Region;
+import fr.soheilb.projet.domain.Ville;
+import fr.soheilb.projet.repository.RegionRepository;
+import fr.soheilb.projet.service.dto.VilleImportReportDTO;
+import jakarta.persistence.EntityManager;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service for importing large volumes of {@link Ville} at once.
+ * <p>
+ * The input is read line by line and committed in chunks of {@code application.ville-import.chunk-size} lines.
+ * Inside a chunk, villes are persisted and flushed every {@code hibernate.jdbc.batch_size} rows, so that Hibernate
+ * sends them in JDBC batches while the persistence context stays small. Regions are resolved by nom (ignoring case)
+ * once per import, and created when missing.
+ */
+@Service
+public class VilleImportService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(VilleImportService.class);
+
+    private final EntityManager entityManager;
+
+    private final RegionRepository regionRepository;
+
+    private final VilleSuggestService villeSuggestService;
+
+    private final RegionStatsService regionStatsService;
+
+    private final RegionPopulationService regionPopulationService;
+
+    private final ObjectMapper objectMapper;
+
+    private final ApplicationProperties applicationProperties;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int batchSize;
+
+    public VilleImportService(
+        EntityManager entityManager,
+        RegionRepository regionRepository,
+        VilleSuggestService villeSuggestService,
+        RegionStatsService regionStatsService,
+        RegionPopulationService regionPopulationService,
+        ObjectMapper objectMapper,
+        ApplicationProperties applicationProperties,
+        PlatformTransactionManager transactionManager,
+        @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:25}") int batchSize
+    ) {
+        this.entityManager = entityManager;
+        this.regionRepository = regionRepository;
+        this.villeSuggestService = villeSuggestService;
+        this.regionStatsService = regionStatsService;
+        this.regionPopulationService = regionPopulationService;
+        this.objectMapper = objectMapper;
+        this.applicationProperties = applicationProperties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = Math.max(batchSize, 1);
+    }
+
+    /**
+     * Import the villes read from the input.
+     *
+     * @param input the CSV (with a header line) or NDJSON content, encoded in UTF-8.
+     * @param format the format of the input.
+     * @return the import report, with the lines which could not be imported.
+     * @throws IOException if the input cannot be read.
+     * @throws IllegalArgumentException if the CSV header does not have a {@code nom} column.
+     */
+    public VilleImportReportDTO importVilles(InputStream input, VilleFileFormat format) throws IOException {
+        LOG.debug("Request to import Villes from {}", format);
+        ImportRun run = new ImportRun();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            LineParser parser;
+            long lineNumber = 0;
+            if (format == VilleFileFormat.CSV) {
+                String header = reader.readLine();
+                lineNumber++;
+                if (header == null) {
+                    return run.report;
+                }
+                parser = new CsvLineParser(header);
+            } else {
+                parser = this::parseJsonLine;
+            }
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                run.report.setLinesRead(run.report.getLinesRead() + 1);
+                try {
+                    run.chunk.add(parser.parse(lineNumber, line));
+                } catch (IllegalArgumentException e) {
+                    run.reject(lineNumber, e.getMessage());
+                }
+                if (run.chunk.size() >= applicationProperties.getVilleImport().getChunkSize()) {
+                    persistChunk(run);
+                }
+            }
+            persistChunk(run);
+        }
+        LOG.info("Ville import done: {}", run.report);
+        return run.report;
+    }
+
+    private void persistChunk(ImportRun run) {
+        if (run.chunk.isEmpty()) {
+            return;
+        }
+        List<Row> rows = run.chunk;
+        run.chunk = new ArrayList<>();
+        try {
+            Integer regionsCreated = transactionTemplate.execute(status -> persistRows(rows, run.regionIds));
+            run.report.setImported(run.report.getImported() + rows.size());
+            run.report.setRegionsCreated(run.report.getRegionsCreated() + regionsCreated);
+        } catch (RuntimeException e) {
+            // Regions created in the rolled back chunk do not exist anymore
+            run.regionIds.clear();
+            long firstLine = rows.get(0).line();
+            long lastLine = rows.get(rows.size() - 1).line();
+            String cause = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            run.reject(firstLine, "Lines " + firstLine + " to " + lastLine + " rolled back: " + cause);
+            // reject() counted one failed line, the other lines of the chunk failed with it
+            run.report.setFailed(run.report.getFailed() + rows.size() - 1);
+        }
+        LOG.info(
+            "Ville import progress: {} lines read, {} villes imported, {} lines failed",
+            run.report.getLinesRead(),
+            run.report.getImported(),
+            run.report.getFailed()
+        );
+    }
+
+    private int persistRows(List<Row> rows, Map<String, Long> regionIds) {
+        int regionsCreated = 0;
+        // Deltas of the population rollup of each region, applied once for the chunk, by increasing region id
+        Map<Long, long[]> populationDeltas = new TreeMap<>();
+        for (int i = 0; i < rows.size(); i++) {
+            Row row = rows.get(i);
+            Ville ville = new Ville().nom(row.nom()).codePostal(row.codePostal()).nbHabitants(row.nbHabitants());
+            if (row.region() != null) {
+                String key = row.region().toLowerCase(Locale.ROOT);
+                Long regionId = regionIds.get(key);
+                if (regionId == null) {
+                    Region region = regionRepository.findFirstByNomIgnoreCase(row.region()).orElse(null);
+                    if (region == null) {
+                        region = new Region().nom(row.region());
+                        entityManager.persist(region);
+                        regionsCreated++;
+                    }
+                    regionId = region.getId();
+                    regionIds.put(key, regionId);
+                }
+                ville.setRegion(entityManager.getReference(Region.class, regionId));
+                long[] delta = populationDeltas.computeIfAbsent(regionId, id -> new long[2]);
+                delta[0] += row.nbHabitants() == null ? 0 : row.nbHabitants();
+                delta[1]++;
+            }
+            entityManager.persist(ville);
+            villeSuggestService.index(ville);
+            if ((i + 1) % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        populationDeltas.forEach((regionId, delta) -> regionPopulationService.addToRegion(regionId, delta[0], delta[1]));
+        regionStatsService.evict();
+        return regionsCreated;
+    }
+
+    private Row parseJsonLine(long line, String text) {
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(text);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid JSON: " + e.getOriginalMessage());
+        }
+        if (node == null || !node.isObject()) {
+            throw new IllegalArgumentException("A JSON object is expected");
+        }
+        return toRow(line, textOf(node, "nom"), textOf(node, "codePostal"), textOf(node, "nbHabitants"), textOf(node, "region"));
+    }
+
+    private static String textOf(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    private static Row toRow(long line, String nom, String codePostal, String nbHabitants, String region) {
+        if (isBlank(nom)) {
+            throw new IllegalArgumentException("The nom is missing");
+        }
+        Integer habitants = null;
+        if (!isBlank(nbHabitants)) {
+            try {
+                habitants = Integer.valueOf(nbHabitants.trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid nbHabitants: " + nbHabitants);
+            }
+        }
+        return new Row(line, nom.trim(), isBlank(codePostal) ? null : codePostal.trim(), habitants, isBlank(region) ? null : region.trim());
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private record Row(long line, String nom, String codePostal, Integer nbHabitants, String region) {}
+
+    @FunctionalInterface
+    private interface LineParser {
+        Row parse(long line, String text);
+    }
+
+    /**
+     * Parses CSV lines according to the column names of the header line.
+     */
+    private static final class CsvLineParser implements LineParser {
+
+        private final char separator;
+
+        private final Map<String, Integer> columns = new HashMap<>();
+
+        CsvLineParser(String header) {
+            String cleanHeader = header.startsWith("\uFEFF") ? header.substring(1) : header;
+            this.separator = cleanHeader.indexOf(';') >= 0 ? ';' : ',';
+            List<String> names = split(cleanHeader);
+            for (int i = 0; i < names.size(); i++) {
+                columns.put(names.get(i).trim().replace("_", "").toLowerCase(Locale.ROOT), i);
+            }
+            if (!columns.containsKey("nom")) {
+                throw new IllegalArgumentException("The CSV header must have a nom column");
+            }
+        }
+
+        @Override
+        public Row parse(long line, String text) {
+            List<String> values = split(text);
+            return toRow(line, value(values, "nom"), value(values, "codepostal"), value(values, "nbhabitants"), value(values, "region"));
+        }
+
+        private String value(List<String> values, String column) {
+            Integer index = columns.get(column);
+            return index == null || index >= values.size() ? null : values.get(index);
+        }
+
+        private List<String> split(String text) {
+            List<String> values = new ArrayList<>();
+            StringBuilder current = new StringBuilder();
+            boolean quoted = false;
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (quoted) {
+                    if (c == '"' && i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                        current.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        current.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == separator) {
+                    values.add(current.toString());
+                    current.setLength(0);
+                } else {
+                    current.append(c);
+                }
+            }
+            if (quoted) {
+                throw new IllegalArgumentException("Unterminated quoted value");
+            }
+            values.add(current.toString());
+            return values;
+        }
+    }
+
+    /**
+     * The state of one import: its report, the pending chunk, and the ids of the regions already resolved.
+     */
+    private final class ImportRun {
+
+        private final VilleImportReportDTO report = new VilleImportReportDTO();
+
+        private final Map<String, Long> regionIds = new HashMap<>();
+
+        private List<Row> chunk = new ArrayList<>();
+
+        void reject(long line, String message) {
+            report.setFailed(report.getFailed() + 1);
+            if (report.getErrors().size() < applicationProperties.getVilleImport().getMaxReportedErrors()) {
+                report.getErrors().add(new VilleImportReportDTO.LineError(line, message));
+            }
+        }
+    }
+}
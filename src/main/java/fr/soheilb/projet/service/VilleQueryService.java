@@ -0,0 +1,112 @@
+package fr.soheilb.projet.service;
+
+import fr.soheilb.projet.domain.*; // for static metamodels
+import fr.soheilb.projet.domain.Ville;
+import fr.soheilb.projet.repository.VilleRepository;
+import fr.soheilb.projet.service.criteria.VilleCriteria;
+import jakarta.persistence.criteria.JoinType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tech.jhipster.service.QueryService;
+
+/**
+ * Service for executing complex queries for {@link Ville} entities in the database.
+ * The main input is a {@link VilleCriteria} which gets converted to {@link Specification},
+ * in a way that all the filters must apply.
+ * It returns a {@link Page} of {@link Ville} which fulfills the criteria.
+ */
+@Service
+@Transactional(readOnly = true)
+public class VilleQueryService extends QueryService<Ville> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(VilleQueryService.class);
+
+    private final VilleRepository villeRepository;
+
+    public VilleQueryService(VilleRepository villeRepository) {
+        this.villeRepository = villeRepository;
+    }
+
+    /**
+     * Return a {@link Page} of {@link Ville} which matches the criteria from the database.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Page<Ville> findByCriteria(VilleCriteria criteria, Pageable page) {
+        return findByCriteria(criteria, page, false);
+    }
+
+    /**
+     * Return a {@link Page} of {@link Ville} which matches the criteria from the database.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @param withRegion whether the region of each ville should be fetched in the same statement.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Page<Ville> findByCriteria(VilleCriteria criteria, Pageable page, boolean withRegion) {
+        LOG.debug("find by criteria : {}, page: {}, with region: {}", criteria, page, withRegion);
+        final Specification<Ville> specification = createSpecification(criteria);
+        if (withRegion) {
+            return villeRepository.findAllWithRegion(specification, page);
+        }
+        return villeRepository.findAll(specification, page);
+    }
+
+    /**
+     * Return the number of matching entities in the database.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the number of matching entities.
+     */
+    @Transactional(readOnly = true)
+    public long countByCriteria(VilleCriteria criteria) {
+        LOG.debug("count by criteria : {}", criteria);
+        final Specification<Ville> specification = createSpecification(criteria);
+        return villeRepository.count(specification);
+    }
+
+    /**
+     * Function to convert {@link VilleCriteria} to a {@link Specification}
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the matching {@link Specification} of the entity.
+     */
+    protected Specification<Ville> createSpecification(VilleCriteria criteria) {
+        Specification<Ville> specification = Specification.where(null);
+        if (criteria != null) {
+            // This has to be called first, because the distinct method returns null
+            if (criteria.getDistinct() != null) {
+                specification = specification.and(distinct(criteria.getDistinct()));
+            }
+            if (criteria.getId() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getId(), Ville_.id));
+            }
+            if (criteria.getNom() != null) {
+                specification = specification.and(buildStringSpecification(criteria.getNom(), Ville_.nom));
+            }
+            if (criteria.getCodePostal() != null) {
+                specification = specification.and(buildStringSpecification(criteria.getCodePostal(), Ville_.codePostal));
+            }
+            if (criteria.getNbHabitants() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getNbHabitants(), Ville_.nbHabitants));
+            }
+            if (criteria.getJoueursId() != null) {
+                specification = specification.and(
+                    buildSpecification(criteria.getJoueursId(), root -> root.join(Ville_.joueurs, JoinType.LEFT).get(Joueur_.id))
+                );
+            }
+            if (criteria.getRegionId() != null) {
+                specification = specification.and(
+                    buildSpecification(criteria.getRegionId(), root -> root.join(Ville_.region, JoinType.LEFT).get(Region_.id))
+                );
+            }
+        }
+        return specification;
+    }
+}
@@ -1,8 +1,11 @@
 package fr.soheilb.projet.service;
 
 import fr.soheilb.projet.domain.Ville;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
 /**
  * Service Interface for managing {@link fr.soheilb.projet.domain.Ville}.
@@ -17,27 +20,50 @@ public interface VilleService {
     Ville save(Ville ville);
 
     /**
-     * Updates a ville.
+     * Updates a ville, checking its version when it is given.
      *
      * @param ville the entity to update.
-     * @return the persisted entity.
+     * @return the persisted entity, or empty if the ville does not exist.
+     * @throws org.springframework.orm.ObjectOptimisticLockingFailureException if the ville was changed since its given version.
      */
-    Ville update(Ville ville);
+    Optional<Ville> update(Ville ville);
 
     /**
-     * Partially updates a ville.
+     * Partially updates a ville, checking its version when it is given.
      *
      * @param ville the entity to update partially.
-     * @return the persisted entity.
+     * @return the persisted entity, or empty if the ville does not exist.
+     * @throws org.springframework.orm.ObjectOptimisticLockingFailureException if the ville was changed since its given version.
      */
     Optional<Ville> partialUpdate(Ville ville);
 
     /**
      * Get all the villes.
      *
+     * @param pageable the pagination information.
+     * @return the list of entities.
+     */
+    Page<Ville> findAll(Pageable pageable);
+
+    /**
+     * Get the villes following the given id, ordered by id (keyset pagination).
+     *
+     * @param lastId the id of the last ville of the previous slice, or {@code null} for the first slice.
+     * @param size the maximum number of villes to return.
      * @return the list of entities.
      */
-    List<Ville> findAll();
+    List<Ville> findAllAfterId(Long lastId, int size);
+
+    /**
+     * Get the named villes following the given {@code (nom, id)} key, ordered by nom then id (keyset pagination).
+     * Villes without a nom are not part of this ordering.
+     *
+     * @param lastNom the nom of the last ville of the previous slice, or {@code null} for the first slice.
+     * @param lastId the id of the last ville of the previous slice.
+     * @param size the maximum number of villes to return.
+     * @return the list of entities.
+     */
+    List<Ville> findAllAfterNom(String lastNom, Long lastId, int size);
 
     /**
      * Get the "id" ville.
@@ -47,6 +73,31 @@ public interface VilleService {
      */
     Optional<Ville> findOne(Long id);
 
+    /**
+     * Get the villes with the given ids, served from the second level cache where possible, the others being
+     * loaded with a single query.
+     *
+     * @param ids the ids of the entities.
+     * @return the entities which exist, in the order of the ids.
+     */
+    List<Ville> findAllByIds(Collection<Long> ids);
+
+    /**
+     * Get the villes of the "regionId" region, ordered by nom, served from the query cache where possible.
+     *
+     * @param regionId the id of the region.
+     * @return the list of entities.
+     */
+    List<Ville> findAllByRegion(Long regionId);
+
+    /**
+     * Get the "id" ville with its region.
+     *
+     * @param id the id of the entity.
+     * @return the entity.
+     */
+    Optional<Ville> findOneWithEagerRelationships(Long id);
+
     /**
      * Delete the "id" ville.
      *
@@ -0,0 +1,191 @@
+package fr.soheilb.projet.service;
+
+import fr.soheilb.projet.config.ApplicationProperties;
+import fr.soheilb.projet.domain.Ville;
+import fr.soheilb.projet.repository.VilleRepository;
+import fr.soheilb.projet.service.dto.VilleSuggestionDTO;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * In-memory autocomplete index over the nom and codePostal of the villes.
+ * <p>
+ * Every ville is indexed under its accent-folded, lower-cased nom, under each word of that nom (so that
+ * {@code "etienne"} finds {@code "Saint-Étienne"}) and under its codePostal. Keys are kept sorted in a
+ * {@link ConcurrentSkipListMap}, so a lookup is a range scan over the keys starting with the query, and the
+ * database is never queried. The index is built when the application is ready, then kept up to date by
+ * {@link fr.soheilb.projet.service.impl.VilleServiceImpl} once its transactions commit.
+ */
+@Service
+public class VilleSuggestService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(VilleSuggestService.class);
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{Alnum}]+");
+
+    private static final char ID_SEPARATOR = '\u0000';
+
+    private static final Comparator<VilleSuggestionDTO> BY_POPULATION = Comparator.comparing(
+        (VilleSuggestionDTO suggestion) -> suggestion.getNbHabitants() == null ? 0 : suggestion.getNbHabitants()
+    ).thenComparing(VilleSuggestionDTO::getId, Comparator.reverseOrder());
+
+    private final VilleRepository villeRepository;
+
+    private final ApplicationProperties applicationProperties;
+
+    private volatile NavigableMap<String, VilleSuggestionDTO> entries = new ConcurrentSkipListMap<>();
+
+    private volatile Map<Long, VilleSuggestionDTO> villesById = new ConcurrentHashMap<>();
+
+    public VilleSuggestService(VilleRepository villeRepository, ApplicationProperties applicationProperties) {
+        this.villeRepository = villeRepository;
+        this.applicationProperties = applicationProperties;
+    }
+
+    /**
+     * Get the most populated villes whose nom, one of the words of their nom, or codePostal starts with the query.
+     *
+     * @param query the text typed by the user, accents and case are ignored.
+     * @param size the maximum number of suggestions, capped by {@code application.ville-suggest.max-results}.
+     * @return the suggestions, most populated first.
+     */
+    public List<VilleSuggestionDTO> suggest(String query, int size) {
+        String prefix = fold(query);
+        int limit = Math.min(size, applicationProperties.getVilleSuggest().getMaxResults());
+        if (prefix.isEmpty() || limit < 1) {
+            return List.of();
+        }
+        PriorityQueue<VilleSuggestionDTO> best = new PriorityQueue<>(limit + 1, BY_POPULATION);
+        Set<Long> seen = new HashSet<>();
+        for (VilleSuggestionDTO suggestion : entries.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+            if (seen.add(suggestion.getId())) {
+                best.offer(suggestion);
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+        }
+        List<VilleSuggestionDTO> result = new ArrayList<>(best);
+        result.sort(BY_POPULATION.reversed());
+        return result;
+    }
+
+    /**
+     * Rebuild the whole index from the database, replacing the current one at once.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        LOG.debug("Rebuilding the Ville suggestion index");
+        NavigableMap<String, VilleSuggestionDTO> newEntries = new ConcurrentSkipListMap<>();
+        Map<Long, VilleSuggestionDTO> newVillesById = new ConcurrentHashMap<>();
+        for (Ville ville : villeRepository.findAll()) {
+            VilleSuggestionDTO suggestion = new VilleSuggestionDTO(ville);
+            newVillesById.put(suggestion.getId(), suggestion);
+            keysOf(suggestion).forEach(key -> newEntries.put(key, suggestion));
+        }
+        this.entries = newEntries;
+        this.villesById = newVillesById;
+        LOG.info("Ville suggestion index built with {} villes", newVillesById.size());
+    }
+
+    /**
+     * Add or replace a ville in the index, once the current transaction, if any, has committed.
+     *
+     * @param ville the saved ville.
+     */
+    public void index(Ville ville) {
+        VilleSuggestionDTO suggestion = new VilleSuggestionDTO(ville);
+        afterCommit(() -> put(suggestion));
+    }
+
+    /**
+     * Remove a ville from the index, once the current transaction, if any, has committed.
+     *
+     * @param id the id of the deleted ville.
+     */
+    public void remove(Long id) {
+        afterCommit(() -> evict(id));
+    }
+
+    private synchronized void put(VilleSuggestionDTO suggestion) {
+        evict(suggestion.getId());
+        villesById.put(suggestion.getId(), suggestion);
+        keysOf(suggestion).forEach(key -> entries.put(key, suggestion));
+    }
+
+    private synchronized void evict(Long id) {
+        VilleSuggestionDTO previous = villesById.remove(id);
+        if (previous != null) {
+            keysOf(previous).forEach(entries::remove);
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        action.run();
+                    }
+                }
+            );
+        } else {
+            action.run();
+        }
+    }
+
+    private static Set<String> keysOf(VilleSuggestionDTO suggestion) {
+        Set<String> tokens = new LinkedHashSet<>();
+        String nom = fold(suggestion.getNom());
+        if (!nom.isEmpty()) {
+            tokens.add(nom);
+            for (String word : nom.split(" ")) {
+                tokens.add(word);
+            }
+        }
+        String codePostal = fold(suggestion.getCodePostal());
+        if (!codePostal.isEmpty()) {
+            tokens.add(codePostal);
+        }
+        Set<String> keys = new HashSet<>();
+        tokens.forEach(token -> keys.add(token + ID_SEPARATOR + suggestion.getId()));
+        return keys;
+    }
+
+    /**
+     * Fold a text to its index key: no accents, lower case, and words separated by a single space.
+     *
+     * @param text the text to fold.
+     * @return the folded text, empty if there is nothing to index.
+     */
+    static String fold(String text) {
+        if (text == null) {
+            return "";
+        }
+        String ligaturesExpanded = text.replace("œ", "oe").replace("Œ", "OE").replace("æ", "ae").replace("Æ", "AE");
+        String withoutAccents = DIACRITICS.matcher(Normalizer.normalize(ligaturesExpanded, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARATORS.matcher(withoutAccents.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+}
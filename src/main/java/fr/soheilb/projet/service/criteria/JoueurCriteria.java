@@ -0,0 +1,220 @@
+package fr.soheilb.projet.service.criteria;
+
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.Optional;
+import org.springdoc.core.annotations.ParameterObject;
+import tech.jhipster.service.Criteria;
+import tech.jhipster.service.filter.*;
+
+/**
+ * Criteria class for the {@link fr.soheilb.projet.domain.Joueur} entity. This class is used
+ * in {@link fr.soheilb.projet.web.rest.JoueurResource} to receive all the possible filtering options from
+ * the Http GET request parameters.
+ * For example the following could be a valid request:
+ * {@code /joueurs?id.greaterThan=5&attr1.contains=something&attr2.specified=false}
+ * As Spring is unable to properly convert the types, unless specific {@link Filter} class are used, we need to use
+ * fix type specific filters.
+ */
+@ParameterObject
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class JoueurCriteria implements Serializable, Criteria {
+
+    private static final long serialVersionUID = 1L;
+    private LongFilter id;
+    private StringFilter pseudo;
+    private StringFilter motDePasse;
+    private InstantFilter dateInscription;
+    private BooleanFilter estAdministrateur;
+    private LongFilter villeId;
+    private Boolean distinct;
+
+    public JoueurCriteria() {}
+
+    public JoueurCriteria(JoueurCriteria other) {
+        this.id = other.optionalId().map(LongFilter::copy).orElse(null);
+        this.pseudo = other.optionalPseudo().map(StringFilter::copy).orElse(null);
+        this.motDePasse = other.optionalMotDePasse().map(StringFilter::copy).orElse(null);
+        this.dateInscription = other.optionalDateInscription().map(InstantFilter::copy).orElse(null);
+        this.estAdministrateur = other.optionalEstAdministrateur().map(BooleanFilter::copy).orElse(null);
+        this.villeId = other.optionalVilleId().map(LongFilter::copy).orElse(null);
+        this.distinct = other.distinct;
+    }
+
+    @Override
+    public JoueurCriteria copy() {
+        return new JoueurCriteria(this);
+    }
+
+    public LongFilter getId() {
+        return id;
+    }
+
+    public Optional<LongFilter> optionalId() {
+        return Optional.ofNullable(id);
+    }
+
+    public LongFilter id() {
+        if (id == null) {
+            setId(new LongFilter());
+        }
+        return id;
+    }
+
+    public void setId(LongFilter id) {
+        this.id = id;
+    }
+
+    public StringFilter getPseudo() {
+        return pseudo;
+    }
+
+    public Optional<StringFilter> optionalPseudo() {
+        return Optional.ofNullable(pseudo);
+    }
+
+    public StringFilter pseudo() {
+        if (pseudo == null) {
+            setPseudo(new StringFilter());
+        }
+        return pseudo;
+    }
+
+    public void setPseudo(StringFilter pseudo) {
+        this.pseudo = pseudo;
+    }
+
+    public StringFilter getMotDePasse() {
+        return motDePasse;
+    }
+
+    public Optional<StringFilter> optionalMotDePasse() {
+        return Optional.ofNullable(motDePasse);
+    }
+
+    public StringFilter motDePasse() {
+        if (motDePasse == null) {
+            setMotDePasse(new StringFilter());
+        }
+        return motDePasse;
+    }
+
+    public void setMotDePasse(StringFilter motDePasse) {
+        this.motDePasse = motDePasse;
+    }
+
+    public InstantFilter getDateInscription() {
+        return dateInscription;
+    }
+
+    public Optional<InstantFilter> optionalDateInscription() {
+        return Optional.ofNullable(dateInscription);
+    }
+
+    public InstantFilter dateInscription() {
+        if (dateInscription == null) {
+            setDateInscription(new InstantFilter());
+        }
+        return dateInscription;
+    }
+
+    public void setDateInscription(InstantFilter dateInscription) {
+        this.dateInscription = dateInscription;
+    }
+
+    public BooleanFilter getEstAdministrateur() {
+        return estAdministrateur;
+    }
+
+    public Optional<BooleanFilter> optionalEstAdministrateur() {
+        return Optional.ofNullable(estAdministrateur);
+    }
+
+    public BooleanFilter estAdministrateur() {
+        if (estAdministrateur == null) {
+            setEstAdministrateur(new BooleanFilter());
+        }
+        return estAdministrateur;
+    }
+
+    public void setEstAdministrateur(BooleanFilter estAdministrateur) {
+        this.estAdministrateur = estAdministrateur;
+    }
+
+    public LongFilter getVilleId() {
+        return villeId;
+    }
+
+    public Optional<LongFilter> optionalVilleId() {
+        return Optional.ofNullable(villeId);
+    }
+
+    public LongFilter villeId() {
+        if (villeId == null) {
+            setVilleId(new LongFilter());
+        }
+        return villeId;
+    }
+
+    public void setVilleId(LongFilter villeId) {
+        this.villeId = villeId;
+    }
+
+    public Boolean getDistinct() {
+        return distinct;
+    }
+
+    public Optional<Boolean> optionalDistinct() {
+        return Optional.ofNullable(distinct);
+    }
+
+    public Boolean distinct() {
+        if (distinct == null) {
+            setDistinct(true);
+        }
+        return distinct;
+    }
+
+    public void setDistinct(Boolean distinct) {
+        this.distinct = distinct;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final JoueurCriteria that = (JoueurCriteria) o;
+        return (
+            Objects.equals(id, that.id) &&
+            Objects.equals(pseudo, that.pseudo) &&
+            Objects.equals(motDePasse, that.motDePasse) &&
+            Objects.equals(dateInscription, that.dateInscription) &&
+            Objects.equals(estAdministrateur, that.estAdministrateur) &&
+            Objects.equals(villeId, that.villeId) &&
+            Objects.equals(distinct, that.distinct)
+        );
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, pseudo, motDePasse, dateInscription, estAdministrateur, villeId, distinct);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "JoueurCriteria{" +
+            optionalId().map(f -> "id=" + f + ", ").orElse("") +
+            optionalPseudo().map(f -> "pseudo=" + f + ", ").orElse("") +
+            optionalMotDePasse().map(f -> "motDePasse=" + f + ", ").orElse("") +
+            optionalDateInscription().map(f -> "dateInscription=" + f + ", ").orElse("") +
+            optionalEstAdministrateur().map(f -> "estAdministrateur=" + f + ", ").orElse("") +
+            optionalVilleId().map(f -> "villeId=" + f + ", ").orElse("") +
+            optionalDistinct().map(f -> "distinct=" + f + ", ").orElse("") +
+        "}";
+    }
+}
@@ -0,0 +1,151 @@
+package fr.soheilb.projet.service.criteria;
+
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.Optional;
+import org.springdoc.core.annotations.ParameterObject;
+import tech.jhipster.service.Criteria;
+import tech.jhipster.service.filter.*;
+
+/**
+ * Criteria class for the {@link fr.soheilb.projet.domain.Region} entity. This class is used
+ * in {@link fr.soheilb.projet.web.rest.RegionResource} to receive all the possible filtering options from
+ * the Http GET request parameters.
+ * For example the following could be a valid request:
+ * {@code /regions?id.greaterThan=5&attr1.contains=something&attr2.specified=false}
+ * As Spring is unable to properly convert the types, unless specific {@link Filter} class are used, we need to use
+ * fix type specific filters.
+ */
+@ParameterObject
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class RegionCriteria implements Serializable, Criteria {
+
+    private static final long serialVersionUID = 1L;
+    private LongFilter id;
+    private StringFilter nom;
+    private LongFilter villesId;
+    private Boolean distinct;
+
+    public RegionCriteria() {}
+
+    public RegionCriteria(RegionCriteria other) {
+        this.id = other.optionalId().map(LongFilter::copy).orElse(null);
+        this.nom = other.optionalNom().map(StringFilter::copy).orElse(null);
+        this.villesId = other.optionalVillesId().map(LongFilter::copy).orElse(null);
+        this.distinct = other.distinct;
+    }
+
+    @Override
+    public RegionCriteria copy() {
+        return new RegionCriteria(this);
+    }
+
+    public LongFilter getId() {
+        return id;
+    }
+
+    public Optional<LongFilter> optionalId() {
+        return Optional.ofNullable(id);
+    }
+
+    public LongFilter id() {
+        if (id == null) {
+            setId(new LongFilter());
+        }
+        return id;
+    }
+
+    public void setId(LongFilter id) {
+        this.id = id;
+    }
+
+    public StringFilter getNom() {
+        return nom;
+    }
+
+    public Optional<StringFilter> optionalNom() {
+        return Optional.ofNullable(nom);
+    }
+
+    public StringFilter nom() {
+        if (nom == null) {
+            setNom(new StringFilter());
+        }
+        return nom;
+    }
+
+    public void setNom(StringFilter nom) {
+        this.nom = nom;
+    }
+
+    public LongFilter getVillesId() {
+        return villesId;
+    }
+
+    public Optional<LongFilter> optionalVillesId() {
+        return Optional.ofNullable(villesId);
+    }
+
+    public LongFilter villesId() {
+        if (villesId == null) {
+            setVillesId(new LongFilter());
+        }
+        return villesId;
+    }
+
+    public void setVillesId(LongFilter villesId) {
+        this.villesId = villesId;
+    }
+
+    public Boolean getDistinct() {
+        return distinct;
+    }
+
+    public Optional<Boolean> optionalDistinct() {
+        return Optional.ofNullable(distinct);
+    }
+
+    public Boolean distinct() {
+        if (distinct == null) {
+            setDistinct(true);
+        }
+        return distinct;
+    }
+
+    public void setDistinct(Boolean distinct) {
+        this.distinct = distinct;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final RegionCriteria that = (RegionCriteria) o;
+        return (
+            Objects.equals(id, that.id) &&
+            Objects.equals(nom, that.nom) &&
+            Objects.equals(villesId, that.villesId) &&
+            Objects.equals(distinct, that.distinct)
+        );
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, nom, villesId, distinct);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "RegionCriteria{" +
+            optionalId().map(f -> "id=" + f + ", ").orElse("") +
+            optionalNom().map(f -> "nom=" + f + ", ").orElse("") +
+            optionalVillesId().map(f -> "villesId=" + f + ", ").orElse("") +
+            optionalDistinct().map(f -> "distinct=" + f + ", ").orElse("") +
+        "}";
+    }
+}
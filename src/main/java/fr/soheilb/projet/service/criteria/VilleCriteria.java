@@ -0,0 +1,220 @@
+package fr.soheilb.projet.service.criteria;
+
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.Optional;
+import org.springdoc.core.annotations.ParameterObject;
+import tech.jhipster.service.Criteria;
+import tech.jhipster.service.filter.*;
+
+/**
+ * Criteria class for the {@link fr.soheilb.projet.domain.Ville} entity. This class is used
+ * in {@link fr.soheilb.projet.web.rest.VilleResource} to receive all the possible filtering options from
+ * the Http GET request parameters.
+ * For example the following could be a valid request:
+ * {@code /villes?id.greaterThan=5&attr1.contains=something&attr2.specified=false}
+ * As Spring is unable to properly convert the types, unless specific {@link Filter} class are used, we need to use
+ * fix type specific filters.
+ */
+@ParameterObject
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class VilleCriteria implements Serializable, Criteria {
+
+    private static final long serialVersionUID = 1L;
+    private LongFilter id;
+    private StringFilter nom;
+    private StringFilter codePostal;
+    private IntegerFilter nbHabitants;
+    private LongFilter joueursId;
+    private LongFilter regionId;
+    private Boolean distinct;
+
+    public VilleCriteria() {}
+
+    public VilleCriteria(VilleCriteria other) {
+        this.id = other.optionalId().map(LongFilter::copy).orElse(null);
+        this.nom = other.optionalNom().map(StringFilter::copy).orElse(null);
+        this.codePostal = other.optionalCodePostal().map(StringFilter::copy).orElse(null);
+        this.nbHabitants = other.optionalNbHabitants().map(IntegerFilter::copy).orElse(null);
+        this.joueursId = other.optionalJoueursId().map(LongFilter::copy).orElse(null);
+        this.regionId = other.optionalRegionId().map(LongFilter::copy).orElse(null);
+        this.distinct = other.distinct;
+    }
+
+    @Override
+    public VilleCriteria copy() {
+        return new VilleCriteria(this);
+    }
+
+    public LongFilter getId() {
+        return id;
+    }
+
+    public Optional<LongFilter> optionalId() {
+        return Optional.ofNullable(id);
+    }
+
+    public LongFilter id() {
+        if (id == null) {
+            setId(new LongFilter());
+        }
+        return id;
+    }
+
+    public void setId(LongFilter id) {
+        this.id = id;
+    }
+
+    public StringFilter getNom() {
+        return nom;
+    }
+
+    public Optional<StringFilter> optionalNom() {
+        return Optional.ofNullable(nom);
+    }
+
+    public StringFilter nom() {
+        if (nom == null) {
+            setNom(new StringFilter());
+        }
+        return nom;
+    }
+
+    public void setNom(StringFilter nom) {
+        this.nom = nom;
+    }
+
+    public StringFilter getCodePostal() {
+        return codePostal;
+    }
+
+    public Optional<StringFilter> optionalCodePostal() {
+        return Optional.ofNullable(codePostal);
+    }
+
+    public StringFilter codePostal() {
+        if (codePostal == null) {
+            setCodePostal(new StringFilter());
+        }
+        return codePostal;
+    }
+
+    public void setCodePostal(StringFilter codePostal) {
+        this.codePostal = codePostal;
+    }
+
+    public IntegerFilter getNbHabitants() {
+        return nbHabitants;
+    }
+
+    public Optional<IntegerFilter> optionalNbHabitants() {
+        return Optional.ofNullable(nbHabitants);
+    }
+
+    public IntegerFilter nbHabitants() {
+        if (nbHabitants == null) {
+            setNbHabitants(new IntegerFilter());
+        }
+        return nbHabitants;
+    }
+
+    public void setNbHabitants(IntegerFilter nbHabitants) {
+        this.nbHabitants = nbHabitants;
+    }
+
+    public LongFilter getJoueursId() {
+        return joueursId;
+    }
+
+    public Optional<LongFilter> optionalJoueursId() {
+        return Optional.ofNullable(joueursId);
+    }
+
+    public LongFilter joueursId() {
+        if (joueursId == null) {
+            setJoueursId(new LongFilter());
+        }
+        return joueursId;
+    }
+
+    public void setJoueursId(LongFilter joueursId) {
+        this.joueursId = joueursId;
+    }
+
+    public LongFilter getRegionId() {
+        return regionId;
+    }
+
+    public Optional<LongFilter> optionalRegionId() {
+        return Optional.ofNullable(regionId);
+    }
+
+    public LongFilter regionId() {
+        if (regionId == null) {
+            setRegionId(new LongFilter());
+        }
+        return regionId;
+    }
+
+    public void setRegionId(LongFilter regionId) {
+        this.regionId = regionId;
+    }
+
+    public Boolean getDistinct() {
+        return distinct;
+    }
+
+    public Optional<Boolean> optionalDistinct() {
+        return Optional.ofNullable(distinct);
+    }
+
+    public Boolean distinct() {
+        if (distinct == null) {
+            setDistinct(true);
+        }
+        return distinct;
+    }
+
+    public void setDistinct(Boolean distinct) {
+        this.distinct = distinct;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final VilleCriteria that = (VilleCriteria) o;
+        return (
+            Objects.equals(id, that.id) &&
+            Objects.equals(nom, that.nom) &&
+            Objects.equals(codePostal, that.codePostal) &&
+            Objects.equals(nbHabitants, that.nbHabitants) &&
+            Objects.equals(joueursId, that.joueursId) &&
+            Objects.equals(regionId, that.regionId) &&
+            Objects.equals(distinct, that.distinct)
+        );
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, nom, codePostal, nbHabitants, joueursId, regionId, distinct);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "VilleCriteria{" +
+            optionalId().map(f -> "id=" + f + ", ").orElse("") +
+            optionalNom().map(f -> "nom=" + f + ", ").orElse("") +
+            optionalCodePostal().map(f -> "codePostal=" + f + ", ").orElse("") +
+            optionalNbHabitants().map(f -> "nbHabitants=" + f + ", ").orElse("") +
+            optionalJoueursId().map(f -> "joueursId=" + f + ", ").orElse("") +
+            optionalRegionId().map(f -> "regionId=" + f + ", ").orElse("") +
+            optionalDistinct().map(f -> "distinct=" + f + ", ").orElse("") +
+        "}";
+    }
+}
@@ -0,0 +1,63 @@
+package fr.soheilb.projet.service.dto;
+
+import java.io.Serializable;
+import java.time.Duration;
+
+/**
+ * A DTO reporting the outcome of a generation of performance data.
+ */
+public class PerfDataReportDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private long regionsCreated;
+
+    private long villesCreated;
+
+    private long joueursCreated;
+
+    private Duration duration = Duration.ZERO;
+
+    public long getRegionsCreated() {
+        return regionsCreated;
+    }
+
+    public void setRegionsCreated(long regionsCreated) {
+        this.regionsCreated = regionsCreated;
+    }
+
+    public long getVillesCreated() {
+        return villesCreated;
+    }
+
+    public void setVillesCreated(long villesCreated) {
+        this.villesCreated = villesCreated;
+    }
+
+    public long getJoueursCreated() {
+        return joueursCreated;
+    }
+
+    public void setJoueursCreated(long joueursCreated) {
+        this.joueursCreated = joueursCreated;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    public void setDuration(Duration duration) {
+        this.duration = duration;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "PerfDataReportDTO{" +
+            "regionsCreated=" + getRegionsCreated() +
+            ", villesCreated=" + getVillesCreated() +
+            ", joueursCreated=" + getJoueursCreated() +
+            ", duration=" + getDuration() +
+            "}";
+    }
+}
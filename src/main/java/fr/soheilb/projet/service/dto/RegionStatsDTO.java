@@ -0,0 +1,120 @@
+package fr.soheilb.projet.service.dto;
+
+import fr.soheilb.projet.repository.RegionRepository;
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * A DTO representing the aggregate statistics of a region: its villes, their habitants and their joueurs.
+ */
+public class RegionStatsDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long regionId;
+
+    private String regionNom;
+
+    private long villeCount;
+
+    private long totalHabitants;
+
+    private Double averageHabitants;
+
+    private long joueurCount;
+
+    public RegionStatsDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public RegionStatsDTO(RegionRepository.RegionStats stats) {
+        this.regionId = stats.getRegionId();
+        this.regionNom = stats.getRegionNom();
+        this.villeCount = stats.getVilleCount() == null ? 0 : stats.getVilleCount();
+        this.totalHabitants = stats.getTotalHabitants() == null ? 0 : stats.getTotalHabitants();
+        this.averageHabitants = stats.getAverageHabitants();
+        this.joueurCount = stats.getJoueurCount() == null ? 0 : stats.getJoueurCount();
+    }
+
+    public Long getRegionId() {
+        return regionId;
+    }
+
+    public void setRegionId(Long regionId) {
+        this.regionId = regionId;
+    }
+
+    public String getRegionNom() {
+        return regionNom;
+    }
+
+    public void setRegionNom(String regionNom) {
+        this.regionNom = regionNom;
+    }
+
+    public long getVilleCount() {
+        return villeCount;
+    }
+
+    public void setVilleCount(long villeCount) {
+        this.villeCount = villeCount;
+    }
+
+    public long getTotalHabitants() {
+        return totalHabitants;
+    }
+
+    public void setTotalHabitants(long totalHabitants) {
+        this.totalHabitants = totalHabitants;
+    }
+
+    public Double getAverageHabitants() {
+        return averageHabitants;
+    }
+
+    public void setAverageHabitants(Double averageHabitants) {
+        this.averageHabitants = averageHabitants;
+    }
+
+    public long getJoueurCount() {
+        return joueurCount;
+    }
+
+    public void setJoueurCount(long joueurCount) {
+        this.joueurCount = joueurCount;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof RegionStatsDTO)) {
+            return false;
+        }
+
+        RegionStatsDTO regionStatsDTO = (RegionStatsDTO) o;
+        if (this.regionId == null) {
+            return false;
+        }
+        return Objects.equals(this.regionId, regionStatsDTO.regionId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.regionId);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "RegionStatsDTO{" +
+            "regionId=" + getRegionId() +
+            ", regionNom='" + getRegionNom() + "'" +
+            ", villeCount=" + getVilleCount() +
+            ", totalHabitants=" + getTotalHabitants() +
+            ", averageHabitants=" + getAverageHabitants() +
+            ", joueurCount=" + getJoueurCount() +
+            "}";
+    }
+}
@@ -0,0 +1,120 @@
+package fr.soheilb.projet.service.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A DTO reporting the outcome of a bulk import of villes.
+ */
+public class VilleImportReportDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private long linesRead;
+
+    private long imported;
+
+    private long failed;
+
+    private long regionsCreated;
+
+    private List<LineError> errors = new ArrayList<>();
+
+    public long getLinesRead() {
+        return linesRead;
+    }
+
+    public void setLinesRead(long linesRead) {
+        this.linesRead = linesRead;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public void setImported(long imported) {
+        this.imported = imported;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public void setFailed(long failed) {
+        this.failed = failed;
+    }
+
+    public long getRegionsCreated() {
+        return regionsCreated;
+    }
+
+    public void setRegionsCreated(long regionsCreated) {
+        this.regionsCreated = regionsCreated;
+    }
+
+    public List<LineError> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<LineError> errors) {
+        this.errors = errors;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "VilleImportReportDTO{" +
+            "linesRead=" + getLinesRead() +
+            ", imported=" + getImported() +
+            ", failed=" + getFailed() +
+            ", regionsCreated=" + getRegionsCreated() +
+            "}";
+    }
+
+    /**
+     * An input line which could not be imported.
+     */
+    public static class LineError implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private long line;
+
+        private String message;
+
+        public LineError() {
+            // Empty constructor needed for Jackson.
+        }
+
+        public LineError(long line, String message) {
+            this.line = line;
+            this.message = message;
+        }
+
+        public long getLine() {
+            return line;
+        }
+
+        public void setLine(long line) {
+            this.line = line;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public void setMessage(String message) {
+            this.message = message;
+        }
+
+        // prettier-ignore
+        @Override
+        public String toString() {
+            return "LineError{" +
+                "line=" + getLine() +
+                ", message='" + getMessage() + "'" +
+                "}";
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package fr.soheilb.projet.service.dto;
+
+import fr.soheilb.projet.domain.Ville;
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * A DTO representing a ville in autocomplete suggestions, without its relationships.
+ */
+public class VilleSuggestionDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long id;
+
+    private String nom;
+
+    private String codePostal;
+
+    private Integer nbHabitants;
+
+    public VilleSuggestionDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public VilleSuggestionDTO(Ville ville) {
+        this.id = ville.getId();
+        this.nom = ville.getNom();
+        this.codePostal = ville.getCodePostal();
+        this.nbHabitants = ville.getNbHabitants();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getNom() {
+        return nom;
+    }
+
+    public void setNom(String nom) {
+        this.nom = nom;
+    }
+
+    public String getCodePostal() {
+        return codePostal;
+    }
+
+    public void setCodePostal(String codePostal) {
+        this.codePostal = codePostal;
+    }
+
+    public Integer getNbHabitants() {
+        return nbHabitants;
+    }
+
+    public void setNbHabitants(Integer nbHabitants) {
+        this.nbHabitants = nbHabitants;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof VilleSuggestionDTO)) {
+            return false;
+        }
+
+        VilleSuggestionDTO villeSuggestionDTO = (VilleSuggestionDTO) o;
+        if (this.id == null) {
+            return false;
+        }
+        return Objects.equals(this.id, villeSuggestionDTO.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.id);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "VilleSuggestionDTO{" +
+            "id=" + getId() +
+            ", nom='" + getNom() + "'" +
+            ", codePostal='" + getCodePostal() + "'" +
+            ", nbHabitants=" + getNbHabitants() +
+            "}";
+    }
+}
@@ -1,12 +1,26 @@
 package fr.soheilb.projet.service.impl;
 
 import fr.soheilb.projet.domain.Joueur;
+import fr.soheilb.projet.domain.Ville;
 import fr.soheilb.projet.repository.JoueurRepository;
+import fr.soheilb.projet.repository.VilleRepository;
 import fr.soheilb.projet.service.JoueurService;
+import fr.soheilb.projet.service.RegionStatsService;
+import fr.soheilb.projet.service.dto.BulkItemResultDTO;
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,20 +35,54 @@ public class JoueurServiceImpl implements JoueurService {
 
     private final JoueurRepository joueurRepository;
 
-    public JoueurServiceImpl(JoueurRepository joueurRepository) {
+    private final RegionStatsService regionStatsService;
+
+    private final VilleRepository villeRepository;
+
+    private final EntityManager entityManager;
+
+    private final int batchSize;
+
+    public JoueurServiceImpl(
+        JoueurRepository joueurRepository,
+        RegionStatsService regionStatsService,
+        VilleRepository villeRepository,
+        EntityManager entityManager,
+        @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:25}") int batchSize
+    ) {
         this.joueurRepository = joueurRepository;
+        this.regionStatsService = regionStatsService;
+        this.villeRepository = villeRepository;
+        this.entityManager = entityManager;
+        this.batchSize = Math.max(batchSize, 1);
     }
 
     @Override
     public Joueur save(Joueur joueur) {
         LOG.debug("Request to save Joueur : {}", joueur);
-        return joueurRepository.save(joueur);
+        joueur.setVille(villeReference(joueur.getVille()));
+        Joueur result = joueurRepository.save(joueur);
+        regionStatsService.evict();
+        return result;
     }
 
     @Override
-    public Joueur update(Joueur joueur) {
+    public Optional<Joueur> update(Joueur joueur) {
         LOG.debug("Request to update Joueur : {}", joueur);
-        return joueurRepository.save(joueur);
+
+        return joueurRepository
+            .findById(joueur.getId())
+            .map(existingJoueur -> {
+                checkVersion(joueur, existingJoueur);
+                existingJoueur.setPseudo(joueur.getPseudo());
+                existingJoueur.setMotDePasse(joueur.getMotDePasse());
+                existingJoueur.setDateInscription(joueur.getDateInscription());
+                existingJoueur.setEstAdministrateur(joueur.getEstAdministrateur());
+                existingJoueur.setVille(villeReference(joueur.getVille()));
+
+                regionStatsService.evict();
+                return existingJoueur;
+            });
     }
 
     @Override
@@ -44,22 +92,92 @@ public class JoueurServiceImpl implements JoueurService {
         return joueurRepository
             .findById(joueur.getId())
             .map(existingJoueur -> {
-                if (joueur.getPseudo() != null) {
-                    existingJoueur.setPseudo(joueur.getPseudo());
+                checkVersion(joueur, existingJoueur);
+                copyNonNullFields(joueur, existingJoueur);
+
+                return existingJoueur;
+            });
+    }
+
+    @Override
+    public List<BulkItemResultDTO> saveAll(List<Joueur> joueurs) {
+        LOG.debug("Request to save {} Joueurs", joueurs.size());
+        Set<Long> villeIds = joueurs
+            .stream()
+            .map(Joueur::getVille)
+            .filter(Objects::nonNull)
+            .map(Ville::getId)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+        Set<Long> existingVilleIds = villeIds.isEmpty() ? Set.of() : villeRepository.findExistingIds(villeIds);
+
+        List<BulkItemResultDTO> results = new ArrayList<>(joueurs.size());
+        int persisted = 0;
+        for (int i = 0; i < joueurs.size(); i++) {
+            Joueur joueur = joueurs.get(i);
+            if (joueur.getId() != null) {
+                results.add(
+                    new BulkItemResultDTO(i, joueur.getId(), BulkItemResultDTO.Status.INVALID, "A new joueur cannot already have an ID")
+                );
+                continue;
+            }
+            if (joueur.getVille() != null) {
+                Long villeId = joueur.getVille().getId();
+                if (villeId == null || !existingVilleIds.contains(villeId)) {
+                    results.add(new BulkItemResultDTO(i, null, BulkItemResultDTO.Status.INVALID, "Ville not found : " + villeId));
+                    continue;
                 }
-                if (joueur.getMotDePasse() != null) {
-                    existingJoueur.setMotDePasse(joueur.getMotDePasse());
+                joueur.setVille(entityManager.getReference(Ville.class, villeId));
+            }
+            entityManager.persist(joueur);
+            results.add(new BulkItemResultDTO(i, joueur.getId(), BulkItemResultDTO.Status.CREATED, null));
+            if (++persisted % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        if (persisted > 0) {
+            regionStatsService.evict();
+        }
+        return results;
+    }
+
+    @Override
+    public List<BulkItemResultDTO> partialUpdateAll(List<Joueur> joueurs) {
+        LOG.debug("Request to partially update {} Joueurs", joueurs.size());
+        List<BulkItemResultDTO> results = new ArrayList<>(joueurs.size());
+        for (int start = 0; start < joueurs.size(); start += batchSize) {
+            List<Joueur> chunk = joueurs.subList(start, Math.min(start + batchSize, joueurs.size()));
+            // One query loads the joueurs of the chunk, their updates are then flushed as one JDBC batch
+            Map<Long, Joueur> existingJoueurs = joueurRepository
+                .findAllById(chunk.stream().map(Joueur::getId).filter(Objects::nonNull).toList())
+                .stream()
+                .collect(Collectors.toMap(Joueur::getId, Function.identity()));
+            for (int i = 0; i < chunk.size(); i++) {
+                Joueur joueur = chunk.get(i);
+                int index = start + i;
+                if (joueur.getId() == null) {
+                    results.add(new BulkItemResultDTO(index, null, BulkItemResultDTO.Status.INVALID, "Invalid id"));
+                    continue;
                 }
-                if (joueur.getDateInscription() != null) {
-                    existingJoueur.setDateInscription(joueur.getDateInscription());
+                Joueur existingJoueur = existingJoueurs.get(joueur.getId());
+                if (existingJoueur == null) {
+                    results.add(new BulkItemResultDTO(index, joueur.getId(), BulkItemResultDTO.Status.NOT_FOUND, "Entity not found"));
+                    continue;
                 }
-                if (joueur.getEstAdministrateur() != null) {
-                    existingJoueur.setEstAdministrateur(joueur.getEstAdministrateur());
+                if (joueur.getVersion() != null && !joueur.getVersion().equals(existingJoueur.getVersion())) {
+                    results.add(new BulkItemResultDTO(index, joueur.getId(), BulkItemResultDTO.Status.CONFLICT, "Entity was changed"));
+                    continue;
                 }
-
-                return existingJoueur;
-            })
-            .map(joueurRepository::save);
+                copyNonNullFields(joueur, existingJoueur);
+                results.add(new BulkItemResultDTO(index, joueur.getId(), BulkItemResultDTO.Status.UPDATED, null));
+            }
+            entityManager.flush();
+            entityManager.clear();
+        }
+        return results;
     }
 
     @Override
@@ -76,9 +194,62 @@ public class JoueurServiceImpl implements JoueurService {
         return joueurRepository.findById(id);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<Joueur> findAllByIds(Collection<Long> ids) {
+        LOG.debug("Request to get Joueurs : {}", ids);
+        return joueurRepository.findAllByIdInOrder(ids);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Joueur> findOneByPseudo(String pseudo) {
+        LOG.debug("Request to get Joueur by pseudo : {}", pseudo);
+        return joueurRepository.findFirstByPseudoOrderByIdAsc(pseudo);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Joueur> findOneWithEagerRelationships(Long id) {
+        LOG.debug("Request to get Joueur with its ville : {}", id);
+        return joueurRepository.findOneWithEagerRelationships(id);
+    }
+
     @Override
     public void delete(Long id) {
         LOG.debug("Request to delete Joueur : {}", id);
         joueurRepository.deleteById(id);
+        regionStatsService.evict();
+    }
+
+    /**
+     * The ville sent by a client is detached and possibly without its version, so the joueur is given a reference instead.
+     */
+    private Ville villeReference(Ville ville) {
+        return ville == null ? null : entityManager.getReference(Ville.class, ville.getId());
+    }
+
+    /**
+     * The managed joueur is flushed with its own version, so the version given by the client is checked here.
+     */
+    private static void checkVersion(Joueur joueur, Joueur existingJoueur) {
+        if (joueur.getVersion() != null && !joueur.getVersion().equals(existingJoueur.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Joueur.class, joueur.getId());
+        }
+    }
+
+    private static void copyNonNullFields(Joueur source, Joueur target) {
+        if (source.getPseudo() != null) {
+            target.setPseudo(source.getPseudo());
+        }
+        if (source.getMotDePasse() != null) {
+            target.setMotDePasse(source.getMotDePasse());
+        }
+        if (source.getDateInscription() != null) {
+            target.setDateInscription(source.getDateInscription());
+        }
+        if (source.getEstAdministrateur() != null) {
+            target.setEstAdministrateur(source.getEstAdministrateur());
+        }
     }
 }
@@ -2,11 +2,15 @@ package fr.soheilb.projet.service.impl;
 
 import fr.soheilb.projet.domain.Region;
 import fr.soheilb.projet.repository.RegionRepository;
+import fr.soheilb.projet.service.RegionPopulationService;
 import fr.soheilb.projet.service.RegionService;
+import fr.soheilb.projet.service.RegionStatsService;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,20 +25,41 @@ public class RegionServiceImpl implements RegionService {
 
     private final RegionRepository regionRepository;
 
-    public RegionServiceImpl(RegionRepository regionRepository) {
+    private final RegionStatsService regionStatsService;
+
+    private final RegionPopulationService regionPopulationService;
+
+    public RegionServiceImpl(
+        RegionRepository regionRepository,
+        RegionStatsService regionStatsService,
+        RegionPopulationService regionPopulationService
+    ) {
         this.regionRepository = regionRepository;
+        this.regionStatsService = regionStatsService;
+        this.regionPopulationService = regionPopulationService;
     }
 
     @Override
     public Region save(Region region) {
         LOG.debug("Request to save Region : {}", region);
-        return regionRepository.save(region);
+        Region result = regionRepository.save(region);
+        regionStatsService.evict();
+        return result;
     }
 
     @Override
-    public Region update(Region region) {
+    public Optional<Region> update(Region region) {
         LOG.debug("Request to update Region : {}", region);
-        return regionRepository.save(region);
+
+        return regionRepository
+            .findById(region.getId())
+            .map(existingRegion -> {
+                checkVersion(region, existingRegion);
+                existingRegion.setNom(region.getNom());
+
+                regionStatsService.evict();
+                return existingRegion;
+            });
     }
 
     @Override
@@ -44,13 +69,23 @@ public class RegionServiceImpl implements RegionService {
         return regionRepository
             .findById(region.getId())
             .map(existingRegion -> {
+                checkVersion(region, existingRegion);
                 if (region.getNom() != null) {
                     existingRegion.setNom(region.getNom());
                 }
 
+                regionStatsService.evict();
                 return existingRegion;
-            })
-            .map(regionRepository::save);
+            });
+    }
+
+    /**
+     * The managed region is flushed with its own version, so the version given by the client is checked here.
+     */
+    private static void checkVersion(Region region, Region existingRegion) {
+        if (region.getVersion() != null && !region.getVersion().equals(existingRegion.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Region.class, region.getId());
+        }
     }
 
     @Override
@@ -67,9 +102,18 @@ public class RegionServiceImpl implements RegionService {
         return regionRepository.findById(id);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<Region> findAllByIds(Collection<Long> ids) {
+        LOG.debug("Request to get Regions : {}", ids);
+        return regionRepository.findAllByIdInOrder(ids);
+    }
+
     @Override
     public void delete(Long id) {
         LOG.debug("Request to delete Region : {}", id);
+        regionPopulationService.delete(id);
         regionRepository.deleteById(id);
+        regionStatsService.evict();
     }
 }
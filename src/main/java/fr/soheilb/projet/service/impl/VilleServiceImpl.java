@@ -1,12 +1,23 @@
 package fr.soheilb.projet.service.impl;
 
+import fr.soheilb.projet.domain.Region;
 import fr.soheilb.projet.domain.Ville;
 import fr.soheilb.projet.repository.VilleRepository;
+import fr.soheilb.projet.service.RegionPopulationService;
+import fr.soheilb.projet.service.RegionStatsService;
 import fr.soheilb.projet.service.VilleService;
+import fr.soheilb.projet.service.VilleSuggestService;
+import jakarta.persistence.EntityManager;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,20 +32,64 @@ public class VilleServiceImpl implements VilleService {
 
     private final VilleRepository villeRepository;
 
-    public VilleServiceImpl(VilleRepository villeRepository) {
+    private final VilleSuggestService villeSuggestService;
+
+    private final RegionStatsService regionStatsService;
+
+    private final RegionPopulationService regionPopulationService;
+
+    private final EntityManager entityManager;
+
+    public VilleServiceImpl(
+        VilleRepository villeRepository,
+        VilleSuggestService villeSuggestService,
+        RegionStatsService regionStatsService,
+        RegionPopulationService regionPopulationService,
+        EntityManager entityManager
+    ) {
         this.villeRepository = villeRepository;
+        this.villeSuggestService = villeSuggestService;
+        this.regionStatsService = regionStatsService;
+        this.regionPopulationService = regionPopulationService;
+        this.entityManager = entityManager;
     }
 
     @Override
     public Ville save(Ville ville) {
         LOG.debug("Request to save Ville : {}", ville);
-        return villeRepository.save(ville);
+        ville.setRegion(regionReference(ville.getRegion()));
+        Ville result = villeRepository.save(ville);
+        regionPopulationService.villeAdded(regionIdOf(result), result.getNbHabitants());
+        villeSuggestService.index(result);
+        regionStatsService.evict();
+        return result;
     }
 
     @Override
-    public Ville update(Ville ville) {
+    public Optional<Ville> update(Ville ville) {
         LOG.debug("Request to update Ville : {}", ville);
-        return villeRepository.save(ville);
+
+        return villeRepository
+            .findById(ville.getId())
+            .map(existingVille -> {
+                checkVersion(ville, existingVille);
+                Long previousRegionId = regionIdOf(existingVille);
+                Integer previousNbHabitants = existingVille.getNbHabitants();
+                existingVille.setNom(ville.getNom());
+                existingVille.setCodePostal(ville.getCodePostal());
+                existingVille.setNbHabitants(ville.getNbHabitants());
+                existingVille.setRegion(regionReference(ville.getRegion()));
+                regionPopulationService.villeUpdated(
+                    previousRegionId,
+                    previousNbHabitants,
+                    regionIdOf(existingVille),
+                    existingVille.getNbHabitants()
+                );
+
+                villeSuggestService.index(existingVille);
+                regionStatsService.evict();
+                return existingVille;
+            });
     }
 
     @Override
@@ -44,6 +99,8 @@ public class VilleServiceImpl implements VilleService {
         return villeRepository
             .findById(ville.getId())
             .map(existingVille -> {
+                checkVersion(ville, existingVille);
+                Integer previousNbHabitants = existingVille.getNbHabitants();
                 if (ville.getNom() != null) {
                     existingVille.setNom(ville.getNom());
                 }
@@ -53,17 +110,42 @@ public class VilleServiceImpl implements VilleService {
                 if (ville.getNbHabitants() != null) {
                     existingVille.setNbHabitants(ville.getNbHabitants());
                 }
+                Long regionId = regionIdOf(existingVille);
+                regionPopulationService.villeUpdated(regionId, previousNbHabitants, regionId, existingVille.getNbHabitants());
 
+                villeSuggestService.index(existingVille);
+                regionStatsService.evict();
                 return existingVille;
-            })
-            .map(villeRepository::save);
+            });
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<Ville> findAll() {
+    public Page<Ville> findAll(Pageable pageable) {
         LOG.debug("Request to get all Villes");
-        return villeRepository.findAll();
+        return villeRepository.findAll(pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Ville> findAllAfterId(Long lastId, int size) {
+        LOG.debug("Request to get Villes after id : {}", lastId);
+        Pageable firstRows = PageRequest.of(0, size, Sort.by("id"));
+        if (lastId == null) {
+            return villeRepository.findAllBy(firstRows);
+        }
+        return villeRepository.findAllByIdGreaterThan(lastId, firstRows);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Ville> findAllAfterNom(String lastNom, Long lastId, int size) {
+        LOG.debug("Request to get Villes after nom : {}, id : {}", lastNom, lastId);
+        Pageable firstRows = PageRequest.of(0, size, Sort.by("nom", "id"));
+        if (lastNom == null || lastId == null) {
+            return villeRepository.findAllByNomNotNull(firstRows);
+        }
+        return villeRepository.findAllAfterNomAndId(lastNom, lastId, firstRows);
     }
 
     @Override
@@ -73,9 +155,57 @@ public class VilleServiceImpl implements VilleService {
         return villeRepository.findById(id);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<Ville> findAllByIds(Collection<Long> ids) {
+        LOG.debug("Request to get Villes : {}", ids);
+        return villeRepository.findAllByIdInOrder(ids);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Ville> findAllByRegion(Long regionId) {
+        LOG.debug("Request to get the Villes of Region : {}", regionId);
+        return villeRepository.findAllByRegionIdOrderByNomAscIdAsc(regionId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Ville> findOneWithEagerRelationships(Long id) {
+        LOG.debug("Request to get Ville with its region : {}", id);
+        return villeRepository.findOneWithEagerRelationships(id);
+    }
+
     @Override
     public void delete(Long id) {
         LOG.debug("Request to delete Ville : {}", id);
-        villeRepository.deleteById(id);
+        villeRepository
+            .findById(id)
+            .ifPresent(ville -> {
+                regionPopulationService.villeRemoved(regionIdOf(ville), ville.getNbHabitants());
+                villeRepository.delete(ville);
+            });
+        villeSuggestService.remove(id);
+        regionStatsService.evict();
+    }
+
+    /**
+     * The managed ville is flushed with its own version, so the version given by the client is checked here.
+     */
+    private static void checkVersion(Ville ville, Ville existingVille) {
+        if (ville.getVersion() != null && !ville.getVersion().equals(existingVille.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Ville.class, ville.getId());
+        }
+    }
+
+    /**
+     * The region sent by a client is detached and possibly without its version, so the ville is given a reference instead.
+     */
+    private Region regionReference(Region region) {
+        return region == null ? null : entityManager.getReference(Region.class, region.getId());
+    }
+
+    private static Long regionIdOf(Ville ville) {
+        return ville.getRegion() == null ? null : ville.getRegion().getId();
     }
 }
@@ -2,18 +2,24 @@ package fr.soheilb.projet.web.rest;
 
 import fr.soheilb.projet.domain.Joueur;
 import fr.soheilb.projet.repository.JoueurRepository;
+import fr.soheilb.projet.service.JoueurQueryService;
 import fr.soheilb.projet.service.JoueurService;
+import fr.soheilb.projet.service.criteria.JoueurCriteria;
+import fr.soheilb.projet.service.dto.BulkItemResultDTO;
 import fr.soheilb.projet.web.rest.errors.BadRequestAlertException;
+import fr.soheilb.projet.web.rest.util.ETagUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.ResponseUtil;
 
@@ -28,6 +34,10 @@ public class JoueurResource {
 
     private static final String ENTITY_NAME = "joueur";
 
+    private static final int MAX_BATCH_SIZE = 1000;
+
+    private static final int MAX_BULK_SIZE = 1000;
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
@@ -35,9 +45,12 @@ public class JoueurResource {
 
     private final JoueurRepository joueurRepository;
 
-    public JoueurResource(JoueurService joueurService, JoueurRepository joueurRepository) {
+    private final JoueurQueryService joueurQueryService;
+
+    public JoueurResource(JoueurService joueurService, JoueurRepository joueurRepository, JoueurQueryService joueurQueryService) {
         this.joueurService = joueurService;
         this.joueurRepository = joueurRepository;
+        this.joueurQueryService = joueurQueryService;
     }
 
     /**
@@ -59,13 +72,51 @@ public class JoueurResource {
             .body(joueur);
     }
 
+    /**
+     * {@code POST  /joueurs/_bulk} : Create new joueurs in one transaction.
+     *
+     * @param joueurs the joueurs to create, at most {@value #MAX_BULK_SIZE}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each joueur, in the order of the joueurs,
+     * or with status {@code 400 (Bad Request)} if there are too many joueurs.
+     */
+    @PostMapping("/_bulk")
+    public ResponseEntity<List<BulkItemResultDTO>> createJoueurs(@RequestBody List<Joueur> joueurs) {
+        LOG.debug("REST request to save {} Joueurs", joueurs.size());
+        validateBulk(joueurs);
+        return ResponseEntity.ok().body(joueurService.saveAll(joueurs));
+    }
+
+    /**
+     * {@code PATCH  /joueurs/_bulk} : Partial updates given fields of existing joueurs in one transaction, field will ignore if it is null.
+     *
+     * @param joueurs the joueurs to update, with their id, at most {@value #MAX_BULK_SIZE}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each joueur, in the order of the joueurs,
+     * or with status {@code 400 (Bad Request)} if there are too many joueurs.
+     */
+    @PatchMapping(value = "/_bulk", consumes = { "application/json", "application/merge-patch+json" })
+    public ResponseEntity<List<BulkItemResultDTO>> partialUpdateJoueurs(@RequestBody List<Joueur> joueurs) {
+        LOG.debug("REST request to partial update {} Joueurs", joueurs.size());
+        validateBulk(joueurs);
+        return ResponseEntity.ok().body(joueurService.partialUpdateAll(joueurs));
+    }
+
+    private static void validateBulk(List<Joueur> joueurs) {
+        if (joueurs.contains(null)) {
+            throw new BadRequestAlertException("Invalid joueur", ENTITY_NAME, "bulkinvalid");
+        }
+        if (joueurs.size() > MAX_BULK_SIZE) {
+            throw new BadRequestAlertException("Too many joueurs", ENTITY_NAME, "bulktoolarge");
+        }
+    }
+
     /**
      * {@code PUT  /joueurs/:id} : Updates an existing joueur.
      *
      * @param id the id of the joueur to save.
      * @param joueur the joueur to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated joueur,
-     * or with status {@code 400 (Bad Request)} if the joueur is not valid,
+     * or with status {@code 400 (Bad Request)} if the joueur is not valid or not found,
+     * or with status {@code 409 (Conflict)} if the joueur was changed since its given version,
      * or with status {@code 500 (Internal Server Error)} if the joueur couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
@@ -80,11 +131,9 @@ public class JoueurResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!joueurRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
-
-        joueur = joueurService.update(joueur);
+        joueur = joueurService
+            .update(joueur)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, joueur.getId().toString()))
             .body(joueur);
@@ -96,8 +145,8 @@ public class JoueurResource {
      * @param id the id of the joueur to save.
      * @param joueur the joueur to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated joueur,
-     * or with status {@code 400 (Bad Request)} if the joueur is not valid,
-     * or with status {@code 404 (Not Found)} if the joueur is not found,
+     * or with status {@code 400 (Bad Request)} if the joueur is not valid or not found,
+     * or with status {@code 409 (Conflict)} if the joueur was changed since its given version,
      * or with status {@code 500 (Internal Server Error)} if the joueur couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
@@ -114,40 +163,108 @@ public class JoueurResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!joueurRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
-
-        Optional<Joueur> result = joueurService.partialUpdate(joueur);
-
-        return ResponseUtil.wrapOrNotFound(
-            result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, joueur.getId().toString())
-        );
+        Joueur result = joueurService
+            .partialUpdate(joueur)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+        return ResponseEntity.ok()
+            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
+            .body(result);
     }
 
     /**
      * {@code GET  /joueurs} : get all the joueurs.
      *
+     * @param criteria the criteria which the requested entities should match.
+     * @param expand the relationships to return in full instead of by id: {@code ville}.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of joueurs in body.
      */
     @GetMapping("")
-    public List<Joueur> getAllJoueurs() {
-        LOG.debug("REST request to get all Joueurs");
-        return joueurService.findAll();
+    public ResponseEntity<List<Joueur>> getAllJoueurs(
+        JoueurCriteria criteria,
+        @RequestParam(name = "expand", required = false) Set<String> expand
+    ) {
+        LOG.debug("REST request to get Joueurs by criteria: {}", criteria);
+
+        List<Joueur> entityList = joueurQueryService.findByCriteria(criteria, expandsVille(expand));
+        return ResponseEntity.ok().body(entityList);
+    }
+
+    /**
+     * {@code GET  /joueurs/count} : count all the joueurs.
+     *
+     * @param criteria the criteria which the requested entities should match.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the count in body.
+     */
+    @GetMapping("/count")
+    public ResponseEntity<Long> countJoueurs(JoueurCriteria criteria) {
+        LOG.debug("REST request to count Joueurs by criteria: {}", criteria);
+        return ResponseEntity.ok().body(joueurQueryService.countByCriteria(criteria));
+    }
+
+    /**
+     * {@code POST  /joueurs/_batch} : get the joueurs with the given ids.
+     *
+     * @param ids the ids of the joueurs to retrieve, at most {@value #MAX_BATCH_SIZE}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the existing joueurs in body, in the order of the ids,
+     * or with status {@code 400 (Bad Request)} if the ids are not valid.
+     */
+    @PostMapping("/_batch")
+    public ResponseEntity<List<Joueur>> getJoueursByIds(@RequestBody List<Long> ids) {
+        LOG.debug("REST request to get a batch of Joueurs : {}", ids);
+        if (ids.contains(null)) {
+            throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
+        }
+        if (ids.size() > MAX_BATCH_SIZE) {
+            throw new BadRequestAlertException("Too many ids", ENTITY_NAME, "batchtoolarge");
+        }
+        return ResponseEntity.ok().body(joueurService.findAllByIds(ids));
     }
 
     /**
      * {@code GET  /joueurs/:id} : get the "id" joueur.
      *
      * @param id the id of the joueur to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the joueur, or with status {@code 404 (Not Found)}.
+     * @param expand the relationships to return in full instead of by id: {@code ville}.
+     * @param webRequest the request, with its {@code If-None-Match} header.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the joueur,
+     * or with status {@code 304 (Not Modified)} if the joueur is not expanded and did not change since its {@code ETag},
+     * or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Joueur> getJoueur(@PathVariable("id") Long id) {
+    public ResponseEntity<Joueur> getJoueur(
+        @PathVariable("id") Long id,
+        @RequestParam(name = "expand", required = false) Set<String> expand,
+        WebRequest webRequest
+    ) {
         LOG.debug("REST request to get Joueur : {}", id);
-        Optional<Joueur> joueur = joueurService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(joueur);
+        if (expandsVille(expand)) {
+            return ResponseUtil.wrapOrNotFound(joueurService.findOneWithEagerRelationships(id));
+        }
+        Optional<Integer> version = joueurRepository.findVersionById(id);
+        if (version.isEmpty()) {
+            return ResponseUtil.wrapOrNotFound(Optional.empty());
+        }
+        String eTag = ETagUtil.eTag(version.orElseThrow());
+        if (ETagUtil.isNotModified(webRequest, eTag)) {
+            return ETagUtil.notModified(eTag);
+        }
+        return ETagUtil.wrapOrNotFound(joueurService.findOne(id), Joueur::getVersion);
+    }
+
+    /**
+     * {@code GET  /joueurs/by-pseudo/:pseudo} : get the first joueur with the given pseudo.
+     *
+     * @param pseudo the pseudo of the joueur to retrieve.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the joueur, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/by-pseudo/{pseudo}")
+    public ResponseEntity<Joueur> getJoueurByPseudo(@PathVariable("pseudo") String pseudo) {
+        LOG.debug("REST request to get Joueur by pseudo : {}", pseudo);
+        return ResponseUtil.wrapOrNotFound(joueurService.findOneByPseudo(pseudo));
+    }
+
+    private static boolean expandsVille(Set<String> expand) {
+        return expand != null && expand.contains("ville");
     }
 
     /**
@@ -1,9 +1,18 @@
 package fr.soheilb.projet.web.rest;
 
 import fr.soheilb.projet.domain.Region;
+import fr.soheilb.projet.domain.RegionPopulation;
+import fr.soheilb.projet.domain.Ville;
 import fr.soheilb.projet.repository.RegionRepository;
+import fr.soheilb.projet.service.RegionPopulationService;
+import fr.soheilb.projet.service.RegionQueryService;
 import fr.soheilb.projet.service.RegionService;
+import fr.soheilb.projet.service.RegionStatsService;
+import fr.soheilb.projet.service.VilleService;
+import fr.soheilb.projet.service.criteria.RegionCriteria;
+import fr.soheilb.projet.service.dto.RegionStatsDTO;
 import fr.soheilb.projet.web.rest.errors.BadRequestAlertException;
+import fr.soheilb.projet.web.rest.util.ETagUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
@@ -14,6 +23,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.ResponseUtil;
 
@@ -28,6 +38,8 @@ public class RegionResource {
 
     private static final String ENTITY_NAME = "region";
 
+    private static final int MAX_BATCH_SIZE = 1000;
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
@@ -35,9 +47,28 @@ public class RegionResource {
 
     private final RegionRepository regionRepository;
 
-    public RegionResource(RegionService regionService, RegionRepository regionRepository) {
+    private final RegionQueryService regionQueryService;
+
+    private final RegionStatsService regionStatsService;
+
+    private final RegionPopulationService regionPopulationService;
+
+    private final VilleService villeService;
+
+    public RegionResource(
+        RegionService regionService,
+        RegionRepository regionRepository,
+        RegionQueryService regionQueryService,
+        RegionStatsService regionStatsService,
+        RegionPopulationService regionPopulationService,
+        VilleService villeService
+    ) {
         this.regionService = regionService;
         this.regionRepository = regionRepository;
+        this.regionQueryService = regionQueryService;
+        this.regionStatsService = regionStatsService;
+        this.regionPopulationService = regionPopulationService;
+        this.villeService = villeService;
     }
 
     /**
@@ -65,7 +96,8 @@ public class RegionResource {
      * @param id the id of the region to save.
      * @param region the region to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated region,
-     * or with status {@code 400 (Bad Request)} if the region is not valid,
+     * or with status {@code 400 (Bad Request)} if the region is not valid or not found,
+     * or with status {@code 409 (Conflict)} if the region was changed since its given version,
      * or with status {@code 500 (Internal Server Error)} if the region couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
@@ -80,11 +112,9 @@ public class RegionResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!regionRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
-
-        region = regionService.update(region);
+        region = regionService
+            .update(region)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, region.getId().toString()))
             .body(region);
@@ -96,8 +126,8 @@ public class RegionResource {
      * @param id the id of the region to save.
      * @param region the region to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated region,
-     * or with status {@code 400 (Bad Request)} if the region is not valid,
-     * or with status {@code 404 (Not Found)} if the region is not found,
+     * or with status {@code 400 (Bad Request)} if the region is not valid or not found,
+     * or with status {@code 409 (Conflict)} if the region was changed since its given version,
      * or with status {@code 500 (Internal Server Error)} if the region couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
@@ -114,40 +144,136 @@ public class RegionResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!regionRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
+        Region result = regionService
+            .partialUpdate(region)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+        return ResponseEntity.ok()
+            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
+            .body(result);
+    }
+
+    /**
+     * {@code GET  /regions} : get all the regions.
+     *
+     * @param criteria the criteria which the requested entities should match.
+     * @param webRequest the request, with its {@code If-None-Match} header.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of regions in body,
+     * or with status {@code 304 (Not Modified)} if no region changed since its {@code ETag}.
+     */
+    @GetMapping("")
+    public ResponseEntity<List<Region>> getAllRegions(RegionCriteria criteria, WebRequest webRequest) {
+        LOG.debug("REST request to get Regions by criteria: {}", criteria);
+        if (criteria.getVillesId() != null) {
+            // The regions matching the villes depend on the villes, not only on the regions
+            return ResponseEntity.ok().body(regionQueryService.findByCriteria(criteria));
+        }
+        String eTag = ETagUtil.eTag(regionRepository.findCollectionVersion().fingerprint());
+        if (ETagUtil.isNotModified(webRequest, eTag)) {
+            return ETagUtil.notModified(eTag);
+        }
+        List<Region> entityList = regionQueryService.findByCriteria(criteria);
+        return ResponseEntity.ok().headers(ETagUtil.eTagHeaders(eTag)).body(entityList);
+    }
+
+    /**
+     * {@code GET  /regions/count} : count all the regions.
+     *
+     * @param criteria the criteria which the requested entities should match.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the count in body.
+     */
+    @GetMapping("/count")
+    public ResponseEntity<Long> countRegions(RegionCriteria criteria) {
+        LOG.debug("REST request to count Regions by criteria: {}", criteria);
+        return ResponseEntity.ok().body(regionQueryService.countByCriteria(criteria));
+    }
+
+    /**
+     * {@code POST  /regions/_batch} : get the regions with the given ids.
+     *
+     * @param ids the ids of the regions to retrieve, at most {@value #MAX_BATCH_SIZE}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the existing regions in body, in the order of the ids,
+     * or with status {@code 400 (Bad Request)} if the ids are not valid.
+     */
+    @PostMapping("/_batch")
+    public ResponseEntity<List<Region>> getRegionsByIds(@RequestBody List<Long> ids) {
+        LOG.debug("REST request to get a batch of Regions : {}", ids);
+        if (ids.contains(null)) {
+            throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
+        }
+        if (ids.size() > MAX_BATCH_SIZE) {
+            throw new BadRequestAlertException("Too many ids", ENTITY_NAME, "batchtoolarge");
         }
+        return ResponseEntity.ok().body(regionService.findAllByIds(ids));
+    }
 
-        Optional<Region> result = regionService.partialUpdate(region);
+    /**
+     * {@code GET  /regions/stats} : get the statistics of all the regions.
+     *
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the statistics of each region in body.
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<List<RegionStatsDTO>> getAllRegionStats() {
+        LOG.debug("REST request to get the statistics of all Regions");
+        return ResponseEntity.ok().body(regionStatsService.findAll());
+    }
 
-        return ResponseUtil.wrapOrNotFound(
-            result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, region.getId().toString())
-        );
+    /**
+     * {@code GET  /regions/:id/stats} : get the statistics of the "id" region.
+     *
+     * @param id the id of the region.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the statistics of the region, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/{id}/stats")
+    public ResponseEntity<RegionStatsDTO> getRegionStats(@PathVariable("id") Long id) {
+        LOG.debug("REST request to get the statistics of Region : {}", id);
+        return ResponseUtil.wrapOrNotFound(regionStatsService.findOne(id));
     }
 
     /**
-     * {@code GET  /regions} : get all the regions.
+     * {@code GET  /regions/:id/population} : get the population rollup of the "id" region.
      *
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of regions in body.
+     * @param id the id of the region.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the population rollup of the region, or with status {@code 404 (Not Found)}.
      */
-    @GetMapping("")
-    public List<Region> getAllRegions() {
-        LOG.debug("REST request to get all Regions");
-        return regionService.findAll();
+    @GetMapping("/{id}/population")
+    public ResponseEntity<RegionPopulation> getRegionPopulation(@PathVariable("id") Long id) {
+        LOG.debug("REST request to get the population of Region : {}", id);
+        return ResponseUtil.wrapOrNotFound(regionPopulationService.findOne(id));
+    }
+
+    /**
+     * {@code GET  /regions/:id/villes} : get the villes of the "id" region, ordered by nom.
+     *
+     * @param id the id of the region.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of villes in body.
+     */
+    @GetMapping("/{id}/villes")
+    public ResponseEntity<List<Ville>> getRegionVilles(@PathVariable("id") Long id) {
+        LOG.debug("REST request to get the Villes of Region : {}", id);
+        return ResponseEntity.ok().body(villeService.findAllByRegion(id));
     }
 
     /**
      * {@code GET  /regions/:id} : get the "id" region.
      *
      * @param id the id of the region to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the region, or with status {@code 404 (Not Found)}.
+     * @param webRequest the request, with its {@code If-None-Match} header.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the region,
+     * or with status {@code 304 (Not Modified)} if the region did not change since its {@code ETag},
+     * or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Region> getRegion(@PathVariable("id") Long id) {
+    public ResponseEntity<Region> getRegion(@PathVariable("id") Long id, WebRequest webRequest) {
         LOG.debug("REST request to get Region : {}", id);
-        Optional<Region> region = regionService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(region);
+        Optional<Integer> version = regionRepository.findVersionById(id);
+        if (version.isEmpty()) {
+            return ResponseUtil.wrapOrNotFound(Optional.empty());
+        }
+        String eTag = ETagUtil.eTag(version.orElseThrow());
+        if (ETagUtil.isNotModified(webRequest, eTag)) {
+            return ETagUtil.notModified(eTag);
+        }
+        return ETagUtil.wrapOrNotFound(regionService.findOne(id), Region::getVersion);
     }
 
     /**
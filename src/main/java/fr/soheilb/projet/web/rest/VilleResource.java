@@ -2,19 +2,44 @@ package fr.soheilb.projet.web.rest;
 
 import fr.soheilb.projet.domain.Ville;
 import fr.soheilb.projet.repository.VilleRepository;
+import fr.soheilb.projet.security.AuthoritiesConstants;
+import fr.soheilb.projet.service.VilleExportService;
+import fr.soheilb.projet.service.VilleFileFormat;
+import fr.soheilb.projet.service.VilleImportService;
+import fr.soheilb.projet.service.VilleQueryService;
 import fr.soheilb.projet.service.VilleService;
+import fr.soheilb.projet.service.VilleSuggestService;
+import fr.soheilb.projet.service.criteria.VilleCriteria;
+import fr.soheilb.projet.service.dto.VilleImportReportDTO;
+import fr.soheilb.projet.service.dto.VilleSuggestionDTO;
 import fr.soheilb.projet.web.rest.errors.BadRequestAlertException;
+import fr.soheilb.projet.web.rest.util.ETagUtil;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
+import java.util.Locale;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
+import tech.jhipster.web.util.PaginationUtil;
 import tech.jhipster.web.util.ResponseUtil;
 
 /**
@@ -28,6 +53,12 @@ public class VilleResource {
 
     private static final String ENTITY_NAME = "ville";
 
+    private static final int MAX_BATCH_SIZE = 1000;
+
+    private static final int MAX_KEYSET_SIZE = 1000;
+
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
@@ -35,9 +66,28 @@ public class VilleResource {
 
     private final VilleRepository villeRepository;
 
-    public VilleResource(VilleService villeService, VilleRepository villeRepository) {
+    private final VilleQueryService villeQueryService;
+
+    private final VilleSuggestService villeSuggestService;
+
+    private final VilleImportService villeImportService;
+
+    private final VilleExportService villeExportService;
+
+    public VilleResource(
+        VilleService villeService,
+        VilleRepository villeRepository,
+        VilleQueryService villeQueryService,
+        VilleSuggestService villeSuggestService,
+        VilleImportService villeImportService,
+        VilleExportService villeExportService
+    ) {
         this.villeService = villeService;
         this.villeRepository = villeRepository;
+        this.villeQueryService = villeQueryService;
+        this.villeSuggestService = villeSuggestService;
+        this.villeImportService = villeImportService;
+        this.villeExportService = villeExportService;
     }
 
     /**
@@ -59,13 +109,73 @@ public class VilleResource {
             .body(ville);
     }
 
+    /**
+     * {@code POST  /villes/_import} : Import villes in bulk.
+     * <p>
+     * The body is streamed, either as CSV ({@code text/csv}, with a header line) or as NDJSON
+     * ({@code application/x-ndjson}), see {@link VilleImportService}. Invalid lines are skipped and reported.
+     *
+     * @param contentType the content type of the body, which selects the format.
+     * @param body the villes to import.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the import report,
+     * or with status {@code 400 (Bad Request)} if the CSV header is not valid.
+     * @throws IOException if the body cannot be read.
+     */
+    @PostMapping(value = "/_import", consumes = { "text/csv", "application/x-ndjson" })
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public ResponseEntity<VilleImportReportDTO> importVilles(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType, InputStream body)
+        throws IOException {
+        LOG.debug("REST request to import Villes : {}", contentType);
+        VilleFileFormat format = MediaType.parseMediaType(contentType).isCompatibleWith(TEXT_CSV)
+            ? VilleFileFormat.CSV
+            : VilleFileFormat.NDJSON;
+        try {
+            return ResponseEntity.ok(villeImportService.importVilles(body, format));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "importinvalid");
+        }
+    }
+
+    /**
+     * {@code GET  /villes/_export} : Export all the villes.
+     * <p>
+     * The villes are written to the response while they are read from the database, ordered by id, either as
+     * NDJSON ({@code application/x-ndjson}) or as CSV ({@code text/csv}, with a header line), see
+     * {@link VilleExportService}.
+     *
+     * @param format the format of the export, {@code ndjson} or {@code csv}.
+     * @param response the response to write the villes to.
+     * @throws IOException if the response cannot be written.
+     */
+    @GetMapping("/_export")
+    public void exportVilles(@RequestParam(name = "format", defaultValue = "ndjson") String format, HttpServletResponse response)
+        throws IOException {
+        LOG.debug("REST request to export Villes : {}", format);
+        VilleFileFormat fileFormat;
+        if ("csv".equalsIgnoreCase(format)) {
+            fileFormat = VilleFileFormat.CSV;
+            response.setContentType("text/csv;charset=UTF-8");
+        } else if ("ndjson".equalsIgnoreCase(format)) {
+            fileFormat = VilleFileFormat.NDJSON;
+            response.setContentType(MediaType.APPLICATION_NDJSON_VALUE + ";charset=UTF-8");
+        } else {
+            throw new BadRequestAlertException("Invalid export format", ENTITY_NAME, "formatinvalid");
+        }
+        response.setHeader(
+            HttpHeaders.CONTENT_DISPOSITION,
+            "attachment; filename=\"villes." + fileFormat.name().toLowerCase(Locale.ROOT) + "\""
+        );
+        villeExportService.exportVilles(response.getOutputStream(), fileFormat);
+    }
+
     /**
      * {@code PUT  /villes/:id} : Updates an existing ville.
      *
      * @param id the id of the ville to save.
      * @param ville the ville to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated ville,
-     * or with status {@code 400 (Bad Request)} if the ville is not valid,
+     * or with status {@code 400 (Bad Request)} if the ville is not valid or not found,
+     * or with status {@code 409 (Conflict)} if the ville was changed since its given version,
      * or with status {@code 500 (Internal Server Error)} if the ville couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
@@ -80,11 +190,9 @@ public class VilleResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!villeRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
-
-        ville = villeService.update(ville);
+        ville = villeService
+            .update(ville)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, ville.getId().toString()))
             .body(ville);
@@ -96,8 +204,8 @@ public class VilleResource {
      * @param id the id of the ville to save.
      * @param ville the ville to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated ville,
-     * or with status {@code 400 (Bad Request)} if the ville is not valid,
-     * or with status {@code 404 (Not Found)} if the ville is not found,
+     * or with status {@code 400 (Bad Request)} if the ville is not valid or not found,
+     * or with status {@code 409 (Conflict)} if the ville was changed since its given version,
      * or with status {@code 500 (Internal Server Error)} if the ville couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
@@ -112,40 +220,165 @@ public class VilleResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!villeRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
-
-        Optional<Ville> result = villeService.partialUpdate(ville);
-
-        return ResponseUtil.wrapOrNotFound(
-            result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, ville.getId().toString())
-        );
+        Ville result = villeService
+            .partialUpdate(ville)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+        return ResponseEntity.ok()
+            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
+            .body(result);
     }
 
     /**
      * {@code GET  /villes} : get all the villes.
      *
+     * @param pageable the pagination information.
+     * @param criteria the criteria which the requested entities should match.
+     * @param expand the relationships to return in full instead of by id: {@code region}.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of villes in body.
      */
     @GetMapping("")
-    public List<Ville> getAllVilles() {
-        LOG.debug("REST request to get all Villes");
-        return villeService.findAll();
+    public ResponseEntity<List<Ville>> getAllVilles(
+        VilleCriteria criteria,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(name = "expand", required = false) Set<String> expand
+    ) {
+        LOG.debug("REST request to get Villes by criteria: {}", criteria);
+
+        Page<Ville> page = villeQueryService.findByCriteria(criteria, pageable, expandsRegion(expand));
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+
+    /**
+     * {@code GET  /villes/count} : count all the villes.
+     *
+     * @param criteria the criteria which the requested entities should match.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the count in body.
+     */
+    @GetMapping("/count")
+    public ResponseEntity<Long> countVilles(VilleCriteria criteria) {
+        LOG.debug("REST request to count Villes by criteria: {}", criteria);
+        return ResponseEntity.ok().body(villeQueryService.countByCriteria(criteria));
+    }
+
+    /**
+     * {@code POST  /villes/_batch} : get the villes with the given ids.
+     *
+     * @param ids the ids of the villes to retrieve, at most {@value #MAX_BATCH_SIZE}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the existing villes in body, in the order of the ids,
+     * or with status {@code 400 (Bad Request)} if the ids are not valid.
+     */
+    @PostMapping("/_batch")
+    public ResponseEntity<List<Ville>> getVillesByIds(@RequestBody List<Long> ids) {
+        LOG.debug("REST request to get a batch of Villes : {}", ids);
+        if (ids.contains(null)) {
+            throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
+        }
+        if (ids.size() > MAX_BATCH_SIZE) {
+            throw new BadRequestAlertException("Too many ids", ENTITY_NAME, "batchtoolarge");
+        }
+        return ResponseEntity.ok().body(villeService.findAllByIds(ids));
+    }
+
+    /**
+     * {@code GET  /villes/_keyset} : get a slice of villes following a keyset cursor.
+     * <p>
+     * Unlike {@code GET /villes}, deep slices cost the same as the first one because the database seeks
+     * directly to the cursor instead of skipping rows with an {@code OFFSET}. When the slice is full, a
+     * {@code Link} header with {@code rel="next"} gives the cursor of the following slice.
+     *
+     * @param orderBy the keyset ordering, either {@code id} or {@code nom} (villes without a nom are skipped).
+     * @param lastId the id of the last ville of the previous slice, absent for the first slice.
+     * @param lastNom the nom of the last ville of the previous slice, only used when ordering by {@code nom}.
+     * @param size the maximum number of villes to return.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of villes in body,
+     * or with status {@code 400 (Bad Request)} if the ordering, the cursor or the size is not valid.
+     */
+    @GetMapping("/_keyset")
+    public ResponseEntity<List<Ville>> getVillesByKeyset(
+        @RequestParam(value = "orderBy", defaultValue = "id") String orderBy,
+        @RequestParam(value = "lastId", required = false) Long lastId,
+        @RequestParam(value = "lastNom", required = false) String lastNom,
+        @RequestParam(value = "size", defaultValue = "20") int size
+    ) {
+        LOG.debug("REST request to get a keyset slice of Villes : {}, {}, {}", orderBy, lastId, lastNom);
+        if (size < 1 || size > MAX_KEYSET_SIZE) {
+            throw new BadRequestAlertException("Invalid size", ENTITY_NAME, "sizeinvalid");
+        }
+        List<Ville> villes;
+        if ("id".equals(orderBy)) {
+            villes = villeService.findAllAfterId(lastId, size);
+        } else if ("nom".equals(orderBy)) {
+            if ((lastNom == null) != (lastId == null)) {
+                throw new BadRequestAlertException("Invalid keyset cursor", ENTITY_NAME, "cursorinvalid");
+            }
+            villes = villeService.findAllAfterNom(lastNom, lastId, size);
+        } else {
+            throw new BadRequestAlertException("Invalid keyset ordering", ENTITY_NAME, "orderbyinvalid");
+        }
+        HttpHeaders headers = new HttpHeaders();
+        if (villes.size() == size) {
+            Ville last = villes.get(villes.size() - 1);
+            UriComponentsBuilder next = ServletUriComponentsBuilder.fromCurrentRequest().replaceQueryParam("lastId", last.getId());
+            if ("nom".equals(orderBy)) {
+                next.replaceQueryParam("lastNom", last.getNom());
+            }
+            headers.add(HttpHeaders.LINK, "<" + next.toUriString() + ">; rel=\"next\"");
+        }
+        return new ResponseEntity<>(villes, headers, HttpStatus.OK);
+    }
+
+    /**
+     * {@code GET  /villes/_suggest?q=} : autocomplete villes by nom or codePostal.
+     * <p>
+     * Served from an in-memory index, see {@link VilleSuggestService}.
+     *
+     * @param query the beginning of the nom, of one of its words, or of the codePostal; accents and case are ignored.
+     * @param size the maximum number of suggestions.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the most populated matching villes in body.
+     */
+    @GetMapping("/_suggest")
+    public List<VilleSuggestionDTO> suggestVilles(
+        @RequestParam(value = "q", defaultValue = "") String query,
+        @RequestParam(value = "size", defaultValue = "10") int size
+    ) {
+        LOG.debug("REST request to suggest Villes : {}", query);
+        return villeSuggestService.suggest(query, size);
     }
 
     /**
      * {@code GET  /villes/:id} : get the "id" ville.
      *
      * @param id the id of the ville to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the ville, or with status {@code 404 (Not Found)}.
+     * @param expand the relationships to return in full instead of by id: {@code region}.
+     * @param webRequest the request, with its {@code If-None-Match} header.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the ville,
+     * or with status {@code 304 (Not Modified)} if the ville is not expanded and did not change since its {@code ETag},
+     * or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Ville> getVille(@PathVariable("id") Long id) {
+    public ResponseEntity<Ville> getVille(
+        @PathVariable("id") Long id,
+        @RequestParam(name = "expand", required = false) Set<String> expand,
+        WebRequest webRequest
+    ) {
         LOG.debug("REST request to get Ville : {}", id);
-        Optional<Ville> ville = villeService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(ville);
+        if (expandsRegion(expand)) {
+            return ResponseUtil.wrapOrNotFound(villeService.findOneWithEagerRelationships(id));
+        }
+        Optional<Integer> version = villeRepository.findVersionById(id);
+        if (version.isEmpty()) {
+            return ResponseUtil.wrapOrNotFound(Optional.empty());
+        }
+        String eTag = ETagUtil.eTag(version.orElseThrow());
+        if (ETagUtil.isNotModified(webRequest, eTag)) {
+            return ETagUtil.notModified(eTag);
+        }
+        return ETagUtil.wrapOrNotFound(villeService.findOne(id), Ville::getVersion);
+    }
+
+    private static boolean expandsRegion(Set<String> expand) {
+        return expand != null && expand.contains("region");
     }
 
     /**
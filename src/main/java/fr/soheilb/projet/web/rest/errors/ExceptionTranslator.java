@@ -2,6 +2,8 @@ package fr.soheilb.projet.web.rest.errors;
 
 import static org.springframework.core.annotation.AnnotatedElementUtils.findMergedAnnotation;
 
+import fr.soheilb.projet.security.PasswordHashingUnavailableException;
+import jakarta.persistence.OptimisticLockException;
 import jakarta.servlet.http.HttpServletRequest;
 import java.net.URI;
 import java.util.Arrays;
@@ -10,6 +12,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import org.apache.commons.lang3.StringUtils;
+import org.hibernate.StaleStateException;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.env.Environment;
 import org.springframework.dao.ConcurrencyFailureException;
@@ -47,6 +50,7 @@ public class ExceptionTranslator extends ResponseEntityExceptionHandler {
     private static final String MESSAGE_KEY = "message";
     private static final String PATH_KEY = "path";
     private static final boolean CASUAL_CHAIN_ENABLED = false;
+    private static final String PASSWORD_HASHING_RETRY_AFTER_SECONDS = "1";
 
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
@@ -186,7 +190,7 @@ public class ExceptionTranslator extends ResponseEntityExceptionHandler {
     private String getMappedMessageKey(Throwable err) {
         if (err instanceof MethodArgumentNotValidException) {
             return ErrorConstants.ERR_VALIDATION;
-        } else if (err instanceof ConcurrencyFailureException || err.getCause() instanceof ConcurrencyFailureException) {
+        } else if (isConcurrencyFailure(err) || isConcurrencyFailure(err.getCause())) {
             return ErrorConstants.ERR_CONCURRENCY_FAILURE;
         }
         return null;
@@ -210,17 +214,38 @@ public class ExceptionTranslator extends ResponseEntityExceptionHandler {
     private HttpStatus getMappedStatus(Throwable err) {
         // Where we disagree with Spring defaults
         if (err instanceof AccessDeniedException) return HttpStatus.FORBIDDEN;
-        if (err instanceof ConcurrencyFailureException) return HttpStatus.CONFLICT;
+        if (isConcurrencyFailure(err)) return HttpStatus.CONFLICT;
         if (err instanceof BadCredentialsException) return HttpStatus.UNAUTHORIZED;
+        if (isPasswordHashingUnavailable(err)) return HttpStatus.SERVICE_UNAVAILABLE;
         return null;
     }
 
+    /**
+     * Spring Security wraps the exceptions of the password encoder raised while looking up the user.
+     */
+    private boolean isPasswordHashingUnavailable(Throwable err) {
+        return err instanceof PasswordHashingUnavailableException || err.getCause() instanceof PasswordHashingUnavailableException;
+    }
+
+    /**
+     * Version conflicts are usually translated by Spring to a {@link ConcurrencyFailureException}, but not when they are
+     * raised by an explicit flush of the {@link jakarta.persistence.EntityManager}.
+     */
+    private boolean isConcurrencyFailure(Throwable err) {
+        return err instanceof ConcurrencyFailureException || err instanceof OptimisticLockException || err instanceof StaleStateException;
+    }
+
     private URI getPathValue(NativeWebRequest request) {
         if (request == null) return URI.create("about:blank");
         return URI.create(extractURI(request));
     }
 
     private HttpHeaders buildHeaders(Throwable err) {
+        if (isPasswordHashingUnavailable(err)) {
+            HttpHeaders headers = new HttpHeaders();
+            headers.set(HttpHeaders.RETRY_AFTER, PASSWORD_HASHING_RETRY_AFTER_SECONDS);
+            return headers;
+        }
         return err instanceof BadRequestAlertException badRequestAlertException
             ? HeaderUtil.createFailureAlert(
                 applicationName,
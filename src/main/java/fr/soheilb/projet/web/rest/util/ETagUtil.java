@@ -0,0 +1,95 @@
+package fr.soheilb.projet.web.rest.util;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+import tech.jhipster.web.util.ResponseUtil;
+
+/**
+ * Utility class for the conditional GETs, answered with {@code 304 (Not Modified)} when the {@code If-None-Match}
+ * header of the request holds the current ETag of the resource.
+ * <p>
+ * The ETags are built from the versions of the entities, read before the entities themselves, so that an unchanged
+ * resource is neither loaded nor serialized. A changed resource is sent with the ETag of the entity actually loaded,
+ * as the entity may have changed since its version was read, or come from a second level cache not yet invalidated.
+ */
+public final class ETagUtil {
+
+    private ETagUtil() {}
+
+    /**
+     * Build a strong ETag.
+     *
+     * @param parts the values identifying the state of the resource, e.g. the version of an entity.
+     * @return the quoted ETag.
+     */
+    public static String eTag(Object... parts) {
+        return Arrays.stream(parts).map(String::valueOf).collect(Collectors.joining("-", "\"", "\""));
+    }
+
+    /**
+     * Build the headers of a response carrying an ETag, which clients may store but must revalidate.
+     *
+     * @param eTag the ETag of the resource.
+     * @return the headers.
+     */
+    public static HttpHeaders eTagHeaders(String eTag) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(eTag);
+        headers.setCacheControl(CacheControl.noCache());
+        return headers;
+    }
+
+    /**
+     * Check whether the {@code If-None-Match} header of a request holds an ETag, by the weak comparison of RFC 9110.
+     * <p>
+     * Unlike {@link WebRequest#checkNotModified(String)}, nothing is written to the response, which thus gets a single
+     * ETag, the one of the entity sent.
+     *
+     * @param request the request.
+     * @param eTag the current ETag of the resource.
+     * @return {@code true} if the client already holds the resource, which need not be sent again.
+     */
+    public static boolean isNotModified(WebRequest request, String eTag) {
+        String[] ifNoneMatch = request.getHeaderValues(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        return Arrays.stream(ifNoneMatch)
+            .flatMap(header -> Arrays.stream(header.split(",")))
+            .map(String::trim)
+            .map(tag -> tag.startsWith("W/") ? tag.substring(2) : tag)
+            .anyMatch(tag -> "*".equals(tag) || tag.equals(eTag));
+    }
+
+    /**
+     * Build a {@code 304 (Not Modified)} response.
+     *
+     * @param <X> the type of the resource.
+     * @param eTag the ETag of the resource.
+     * @return the response, without body.
+     */
+    public static <X> ResponseEntity<X> notModified(String eTag) {
+        return new ResponseEntity<>(eTagHeaders(eTag), HttpStatus.NOT_MODIFIED);
+    }
+
+    /**
+     * Wrap an entity in a {@code 200 (OK)} response with the ETag of its version, or a {@code 404 (Not Found)}.
+     *
+     * @param <X> the type of the entity.
+     * @param maybeEntity the entity to return when present.
+     * @param version the version of the entity.
+     * @return the response with the entity and its ETag.
+     */
+    public static <X> ResponseEntity<X> wrapOrNotFound(Optional<X> maybeEntity, Function<X, ?> version) {
+        return maybeEntity
+            .map(entity -> ResponseEntity.ok().headers(eTagHeaders(eTag(version.apply(entity)))).body(entity))
+            .orElseGet(() -> ResponseUtil.wrapOrNotFound(Optional.empty()));
+    }
+}
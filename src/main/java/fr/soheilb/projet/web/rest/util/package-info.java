@@ -0,0 +1,4 @@
+/**
+ * Utilities of the REST layer.
+ */
+package fr.soheilb.projet.web.rest.util;
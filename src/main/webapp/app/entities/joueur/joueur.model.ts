@@ -8,6 +8,7 @@ export interface IJoueur {
   dateInscription?: dayjs.Dayjs | null;
   estAdministrateur?: boolean | null;
   ville?: IVille | null;
+  version?: number | null;
 }
 
 export type NewJoueur = Omit<IJoueur, 'id'> & { id: null };
@@ -84,6 +84,7 @@ describe('Joueur Management Component', () => {
 
     // THEN
     expect(service.query).toHaveBeenCalled();
+    expect(service.query).toHaveBeenCalledWith(expect.objectContaining({ expand: 'ville' }));
     expect(comp.joueurs?.[0]).toEqual(expect.objectContaining({ id: 123 }));
   });
 
@@ -102,6 +102,7 @@ export class JoueurComponent implements OnInit {
     this.isLoading = true;
     const queryObject: any = {
       sort: this.sortService.buildSortParam(this.sortState()),
+      expand: 'ville',
     };
     return this.joueurService.query(queryObject).pipe(tap(() => (this.isLoading = false)));
   }
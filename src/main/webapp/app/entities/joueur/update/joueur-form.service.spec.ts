@@ -25,6 +25,7 @@ describe('Joueur Form Service', () => {
             dateInscription: expect.any(Object),
             estAdministrateur: expect.any(Object),
             ville: expect.any(Object),
+            version: expect.any(Object),
           }),
         );
       });
@@ -40,6 +41,7 @@ describe('Joueur Form Service', () => {
             dateInscription: expect.any(Object),
             estAdministrateur: expect.any(Object),
             ville: expect.any(Object),
+            version: expect.any(Object),
           }),
         );
       });
@@ -36,6 +36,7 @@ type JoueurFormGroupContent = {
   dateInscription: FormControl<JoueurFormRawValue['dateInscription']>;
   estAdministrateur: FormControl<JoueurFormRawValue['estAdministrateur']>;
   ville: FormControl<JoueurFormRawValue['ville']>;
+  version: FormControl<JoueurFormRawValue['version']>;
 };
 
 export type JoueurFormGroup = FormGroup<JoueurFormGroupContent>;
@@ -60,6 +61,7 @@ export class JoueurFormService {
       dateInscription: new FormControl(joueurRawValue.dateInscription),
       estAdministrateur: new FormControl(joueurRawValue.estAdministrateur),
       ville: new FormControl(joueurRawValue.ville),
+      version: new FormControl(joueurRawValue.version),
     });
   }
 
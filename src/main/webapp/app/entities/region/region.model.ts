@@ -1,6 +1,7 @@
 export interface IRegion {
   id: number;
   nom?: string | null;
+  version?: number | null;
 }
 
 export type NewRegion = Omit<IRegion, 'id'> & { id: null };
@@ -19,6 +19,7 @@ type RegionFormDefaults = Pick<NewRegion, 'id'>;
 type RegionFormGroupContent = {
   id: FormControl<IRegion['id'] | NewRegion['id']>;
   nom: FormControl<IRegion['nom']>;
+  version: FormControl<IRegion['version']>;
 };
 
 export type RegionFormGroup = FormGroup<RegionFormGroupContent>;
@@ -39,6 +40,7 @@ export class RegionFormService {
         },
       ),
       nom: new FormControl(regionRawValue.nom),
+      version: new FormControl(regionRawValue.version),
     });
   }
 
@@ -84,6 +84,7 @@ describe('Ville Management Component', () => {
 
     // THEN
     expect(service.query).toHaveBeenCalled();
+    expect(service.query).toHaveBeenCalledWith(expect.objectContaining({ expand: 'region' }));
     expect(comp.villes?.[0]).toEqual(expect.objectContaining({ id: 123 }));
   });
 
@@ -112,6 +113,14 @@ describe('Ville Management Component', () => {
     );
   });
 
+  it('should load a page', () => {
+    // WHEN
+    comp.navigateToPage(1);
+
+    // THEN
+    expect(routerNavigateSpy).toHaveBeenCalled();
+  });
+
   it('should calculate the sort attribute for an id', () => {
     // WHEN
     comp.ngOnInit();
@@ -24,6 +24,7 @@ describe('Ville Form Service', () => {
             codePostal: expect.any(Object),
             nbHabitants: expect.any(Object),
             region: expect.any(Object),
+            version: expect.any(Object),
           }),
         );
       });
@@ -38,6 +39,7 @@ describe('Ville Form Service', () => {
             codePostal: expect.any(Object),
             nbHabitants: expect.any(Object),
             region: expect.any(Object),
+            version: expect.any(Object),
           }),
         );
       });
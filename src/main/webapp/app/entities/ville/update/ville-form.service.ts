@@ -22,6 +22,7 @@ type VilleFormGroupContent = {
   codePostal: FormControl<IVille['codePostal']>;
   nbHabitants: FormControl<IVille['nbHabitants']>;
   region: FormControl<IVille['region']>;
+  version: FormControl<IVille['version']>;
 };
 
 export type VilleFormGroup = FormGroup<VilleFormGroupContent>;
@@ -45,6 +46,7 @@ export class VilleFormService {
       codePostal: new FormControl(villeRawValue.codePostal),
       nbHabitants: new FormControl(villeRawValue.nbHabitants),
       region: new FormControl(villeRawValue.region),
+      version: new FormControl(villeRawValue.version),
     });
   }
 
@@ -6,6 +6,7 @@ export interface IVille {
   codePostal?: string | null;
   nbHabitants?: number | null;
   region?: IRegion | null;
+  version?: number | null;
 }
 
 export type NewVille = Omit<IVille, 'id'> & { id: null };
@@ -3,6 +3,7 @@ package fr.soheilb.projet;
 import fr.soheilb.projet.config.AsyncSyncConfiguration;
 import fr.soheilb.projet.config.EmbeddedSQL;
 import fr.soheilb.projet.config.JacksonConfiguration;
+import fr.soheilb.projet.config.QueryBudgetConfiguration;
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
@@ -14,7 +15,9 @@ import org.springframework.boot.test.context.SpringBootTest;
  */
 @Target(ElementType.TYPE)
 @Retention(RetentionPolicy.RUNTIME)
-@SpringBootTest(classes = { JhipsterVillesApplicationApp.class, JacksonConfiguration.class, AsyncSyncConfiguration.class })
+@SpringBootTest(
+    classes = { JhipsterVillesApplicationApp.class, JacksonConfiguration.class, AsyncSyncConfiguration.class, QueryBudgetConfiguration.class }
+)
 @EmbeddedSQL
 public @interface IntegrationTest {
 }
@@ -0,0 +1,67 @@
+package fr.soheilb.projet.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.context.properties.bind.BindHandler;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.bind.PropertySourcesPlaceholdersResolver;
+import org.springframework.boot.context.properties.bind.handler.NoUnboundElementsBindHandler;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.env.MutablePropertySources;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.FileSystemResource;
+
+/**
+ * Binds the main configuration files into {@link ApplicationProperties}, which the test configuration files hide from
+ * the integration tests. Like at startup, a key under {@code application} without a matching field fails the binding.
+ */
+class ApplicationPropertiesTest {
+
+    private static final String MAIN_CONFIG = "src/main/resources/config/";
+
+    @ParameterizedTest
+    @ValueSource(strings = { "application.yml", "application-dev.yml", "application-prod.yml", "application-perfdata.yml" })
+    void mainConfigurationBindsWithoutUnknownKeys(String file) throws IOException {
+        bind(file);
+    }
+
+    @Test
+    void mainConfigurationSetsTheDefaults() throws IOException {
+        ApplicationProperties applicationProperties = bind("application.yml");
+
+        assertThat(applicationProperties.getCacheWarmUp().isEnabled()).isTrue();
+        assertThat(applicationProperties.getCacheWarmUp().getTimeout()).isEqualTo(Duration.ofMinutes(2));
+        assertThat(applicationProperties.getCacheWarmUp().getPageSize()).isEqualTo(500);
+        assertThat(applicationProperties.getPasswordHashing().getAlgorithm()).isEqualTo(
+            ApplicationProperties.PasswordHashing.Algorithm.BCRYPT
+        );
+        assertThat(applicationProperties.getPasswordHashing().getBcrypt().getStrength()).isEqualTo(10);
+        assertThat(applicationProperties.getPasswordHashing().getThreads()).isZero();
+        assertThat(applicationProperties.getPasswordHashing().getQueueCapacity()).isEqualTo(16);
+        assertThat(applicationProperties.getPasswordHashing().getMaxWait()).isEqualTo(Duration.ofSeconds(2));
+    }
+
+    /**
+     * Bind every document of the file, whatever its profile.
+     */
+    private static ApplicationProperties bind(String file) throws IOException {
+        List<PropertySource<?>> documents = new YamlPropertySourceLoader().load(file, new FileSystemResource(MAIN_CONFIG + file));
+        MutablePropertySources propertySources = new MutablePropertySources();
+        documents.forEach(propertySources::addLast);
+        Binder binder = new Binder(
+            ConfigurationPropertySources.from(propertySources),
+            new PropertySourcesPlaceholdersResolver(propertySources)
+        );
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        binder.bind("application", Bindable.ofInstance(applicationProperties), new NoUnboundElementsBindHandler(BindHandler.DEFAULT));
+        return applicationProperties;
+    }
+}
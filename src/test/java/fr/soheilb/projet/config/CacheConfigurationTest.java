@@ -0,0 +1,111 @@
+package fr.soheilb.projet.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import fr.soheilb.projet.domain.Ville;
+import java.net.URI;
+import java.time.Duration;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import org.ehcache.config.CacheConfiguration;
+import org.ehcache.config.CacheRuntimeConfiguration;
+import org.ehcache.config.ResourcePools;
+import org.ehcache.config.ResourceType;
+import org.ehcache.config.SizedResourcePool;
+import org.ehcache.config.units.EntryUnit;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.core.config.DefaultConfiguration;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tech.jhipster.config.JHipsterProperties;
+
+class CacheConfigurationTest {
+
+    private static final String VILLE_CACHE = Ville.class.getName();
+
+    private ApplicationProperties applicationProperties;
+
+    private fr.soheilb.projet.config.CacheConfiguration cacheConfiguration;
+
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        JHipsterProperties jHipsterProperties = new JHipsterProperties();
+        jHipsterProperties.getCache().getEhcache().setMaxEntries(100);
+        jHipsterProperties.getCache().getEhcache().setTimeToLiveSeconds(3600);
+        applicationProperties = new ApplicationProperties();
+        cacheConfiguration = new fr.soheilb.projet.config.CacheConfiguration(jHipsterProperties, applicationProperties);
+        EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        cacheManager = provider.getCacheManager(
+            URI.create("urn:cache-configuration-test"),
+            new DefaultConfiguration(getClass().getClassLoader())
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        cacheManager.close();
+    }
+
+    @Test
+    void cachesWithoutSettingsUseTheJHipsterDefaults() {
+        ResourcePools resourcePools = ehcacheConfiguration(VILLE_CACHE).getResourcePools();
+
+        assertThat(resourcePools.getResourceTypeSet()).containsExactly(ResourceType.Core.HEAP);
+        SizedResourcePool heap = resourcePools.getPoolForResource(ResourceType.Core.HEAP);
+        assertThat(heap.getSize()).isEqualTo(100);
+        assertThat(heap.getUnit()).isEqualTo(EntryUnit.ENTRIES);
+        assertThat(ehcacheConfiguration(VILLE_CACHE + ".other").getExpiryPolicy().getExpiryForCreation(1L, "value")).isEqualTo(
+            Duration.ofHours(1)
+        );
+    }
+
+    @Test
+    void cachesWithSettingsUseTheirOwnTiersAndExpiry() {
+        ApplicationProperties.Cache.CacheSettings settings = new ApplicationProperties.Cache.CacheSettings();
+        settings.setHeapEntries(5000L);
+        settings.setOffHeapMb(16);
+        settings.setTimeToIdle(Duration.ofMinutes(10));
+        applicationProperties.getCache().getCaches().put(VILLE_CACHE, settings);
+
+        CacheConfiguration<Object, Object> configuration = ehcacheConfiguration(VILLE_CACHE);
+
+        ResourcePools resourcePools = configuration.getResourcePools();
+        assertThat(resourcePools.getResourceTypeSet()).containsExactlyInAnyOrder(ResourceType.Core.HEAP, ResourceType.Core.OFFHEAP);
+        assertThat(resourcePools.getPoolForResource(ResourceType.Core.HEAP).getSize()).isEqualTo(5000);
+        SizedResourcePool offHeap = resourcePools.getPoolForResource(ResourceType.Core.OFFHEAP);
+        assertThat(offHeap.getSize()).isEqualTo(16);
+        assertThat(offHeap.getUnit()).isEqualTo(MemoryUnit.MB);
+        assertThat(configuration.getExpiryPolicy().getExpiryForAccess(1L, () -> "value")).isEqualTo(Duration.ofMinutes(10));
+    }
+
+    @Test
+    void offHeapTierStoresSerializableEntries() {
+        ApplicationProperties.Cache.CacheSettings settings = new ApplicationProperties.Cache.CacheSettings();
+        settings.setHeapEntries(1L);
+        settings.setOffHeapMb(1);
+        applicationProperties.getCache().getCaches().put(VILLE_CACHE, settings);
+
+        javax.cache.Cache<Object, Object> cache = createCache(VILLE_CACHE);
+        cache.put(1L, new Ville().id(1L).nom("Lyon"));
+        // Pushes the first entry out of the heap tier
+        cache.put(2L, new Ville().id(2L).nom("Paris"));
+
+        assertThat(cache.get(1L)).isInstanceOfSatisfying(Ville.class, ville -> assertThat(ville.getNom()).isEqualTo("Lyon"));
+        assertThat(cache.get(2L)).isInstanceOfSatisfying(Ville.class, ville -> assertThat(ville.getNom()).isEqualTo("Paris"));
+    }
+
+    private javax.cache.Cache<Object, Object> createCache(String cacheName) {
+        return cacheManager.createCache(cacheName, cacheConfiguration.jcacheConfiguration(cacheName));
+    }
+
+    @SuppressWarnings("unchecked")
+    private CacheConfiguration<Object, Object> ehcacheConfiguration(String cacheName) {
+        Eh107Configuration<Object, Object> configuration = createCache(cacheName).getConfiguration(Eh107Configuration.class);
+        return configuration.unwrap(CacheRuntimeConfiguration.class);
+    }
+}
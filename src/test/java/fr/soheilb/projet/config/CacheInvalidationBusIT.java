@@ -0,0 +1,170 @@
+package fr.soheilb.projet.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import fr.soheilb.projet.IntegrationTest;
+import fr.soheilb.projet.JhipsterVillesApplicationApp;
+import fr.soheilb.projet.domain.Region;
+import fr.soheilb.projet.domain.Ville;
+import fr.soheilb.projet.repository.RegionRepository;
+import fr.soheilb.projet.repository.UserRepository;
+import fr.soheilb.projet.repository.VilleRepository;
+import fr.soheilb.projet.service.RegionStatsService;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.Objects;
+import java.util.Optional;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for {@link CacheInvalidationBus}, between the node of the test context and a second node started in
+ * the same JVM on the same database, with the {@code in-memory} cluster mode.
+ */
+@IntegrationTest
+@TestPropertySource(
+    properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=true",
+        "application.cache.cluster.mode=in-memory",
+        "application.cache.cluster.channel=cache_invalidation_it",
+    }
+)
+class CacheInvalidationBusIT {
+
+    private static ConfigurableApplicationContext otherNode;
+
+    @Autowired
+    private RegionRepository regionRepository;
+
+    @Autowired
+    private VilleRepository villeRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private javax.cache.CacheManager jCacheCacheManager;
+
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    private Region region;
+
+    private Ville ville;
+
+    @BeforeAll
+    static void startOtherNode() {
+        otherNode = new SpringApplicationBuilder(
+            JhipsterVillesApplicationApp.class,
+            JacksonConfiguration.class,
+            AsyncSyncConfiguration.class
+        )
+            .run(
+                "--server.port=0",
+                "--spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+                "--spring.jpa.properties.hibernate.cache.use_query_cache=true",
+                "--application.cache.cluster.mode=in-memory",
+                "--application.cache.cluster.channel=cache_invalidation_it"
+            );
+    }
+
+    @AfterAll
+    static void stopOtherNode() {
+        otherNode.close();
+    }
+
+    @BeforeEach
+    void insertEntities() {
+        region = regionRepository.saveAndFlush(new Region().nom("Normandie"));
+        ville = villeRepository.saveAndFlush(new Ville().nom("Rouen").region(region));
+    }
+
+    @AfterEach
+    void cleanup() {
+        villeRepository.deleteById(ville.getId());
+        regionRepository.deleteById(region.getId());
+    }
+
+    @Test
+    void nodesHaveTheirOwnCaches() {
+        assertThat(otherNode.getBean(CacheInvalidationBus.class).getNodeId()).isNotEqualTo(cacheInvalidationBus.getNodeId());
+        assertThat(otherNode.getBean(javax.cache.CacheManager.class).getURI()).isNotEqualTo(jCacheCacheManager.getURI());
+    }
+
+    @Test
+    void aVilleWrittenOnANodeIsEvictedFromTheOtherNode() {
+        VilleRepository otherVilleRepository = otherNode.getBean(VilleRepository.class);
+        otherNodeTransaction().executeWithoutResult(transaction -> otherVilleRepository.findById(ville.getId()));
+        assertThat(otherNodeCache().containsEntity(Ville.class, ville.getId())).isTrue();
+        otherNodeTransaction().executeWithoutResult(transaction -> otherNode.getBean(RegionRepository.class).findOneWithVilles(region.getId()));
+        assertThat(otherNodeCache().containsCollection(Region.class.getName() + ".villes", region.getId())).isTrue();
+
+        villeRepository.saveAndFlush(ville.nom("Le Havre"));
+
+        assertThat(otherNodeCache().containsEntity(Ville.class, ville.getId())).isFalse();
+        assertThat(otherNodeCache().containsCollection(Region.class.getName() + ".villes", region.getId())).isFalse();
+        String nom = otherNodeTransaction().execute(transaction -> otherVilleRepository.findById(ville.getId()).orElseThrow().getNom());
+        assertThat(nom).isEqualTo("Le Havre");
+    }
+
+    @Test
+    void aVilleDeletedOnANodeIsEvictedFromTheOtherNode() {
+        Ville deleted = villeRepository.saveAndFlush(new Ville().nom("Caen").region(region));
+        VilleRepository otherVilleRepository = otherNode.getBean(VilleRepository.class);
+        otherNodeTransaction().executeWithoutResult(transaction -> otherVilleRepository.findById(deleted.getId()));
+        assertThat(otherNodeCache().containsEntity(Ville.class, deleted.getId())).isTrue();
+
+        villeRepository.deleteById(deleted.getId());
+
+        assertThat(otherNodeCache().containsEntity(Ville.class, deleted.getId())).isFalse();
+        Optional<Ville> reloaded = otherNodeTransaction().execute(transaction -> otherVilleRepository.findById(deleted.getId()));
+        assertThat(reloaded).isEmpty();
+    }
+
+    @Test
+    void aSpringCacheKeyEvictedOnANodeIsEvictedFromTheOtherNode() {
+        org.springframework.cache.Cache otherUsersByLogin = otherNodeSpringCache(UserRepository.USERS_BY_LOGIN_CACHE);
+        otherUsersByLogin.put("cluster-user", "cached");
+        otherUsersByLogin.put("other-user", "cached");
+
+        Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE)).evict("cluster-user");
+
+        assertThat(otherUsersByLogin.get("cluster-user")).isNull();
+        assertThat(otherUsersByLogin.get("other-user")).isNotNull();
+        otherUsersByLogin.clear();
+    }
+
+    @Test
+    void aSpringCacheClearedOnANodeIsClearedOnTheOtherNode() {
+        org.springframework.cache.Cache otherRegionStats = otherNodeSpringCache(RegionStatsService.REGION_STATS_CACHE);
+        otherRegionStats.put(region.getId(), "cached");
+
+        Objects.requireNonNull(cacheManager.getCache(RegionStatsService.REGION_STATS_CACHE)).clear();
+
+        assertThat(otherRegionStats.get(region.getId())).isNull();
+    }
+
+    private TransactionTemplate otherNodeTransaction() {
+        return new TransactionTemplate(otherNode.getBean(PlatformTransactionManager.class));
+    }
+
+    private Cache otherNodeCache() {
+        return otherNode.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getCache();
+    }
+
+    private org.springframework.cache.Cache otherNodeSpringCache(String cacheName) {
+        return Objects.requireNonNull(otherNode.getBean(CacheManager.class).getCache(cacheName));
+    }
+}
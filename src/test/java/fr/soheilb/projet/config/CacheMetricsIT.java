@@ -0,0 +1,83 @@
+package fr.soheilb.projet.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import fr.soheilb.projet.IntegrationTest;
+import fr.soheilb.projet.domain.Region;
+import fr.soheilb.projet.domain.User;
+import fr.soheilb.projet.domain.Ville;
+import fr.soheilb.projet.repository.RegionRepository;
+import fr.soheilb.projet.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Integration tests for the cache and Hibernate metrics, with the second level and query caches and the Hibernate
+ * statistics enabled.
+ */
+@IntegrationTest
+@TestPropertySource(
+    properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=true",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "application.cache-warm-up.page-size=2",
+    }
+)
+class CacheMetricsIT {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private javax.cache.CacheManager cacheManager;
+
+    @Autowired
+    private RegionRepository regionRepository;
+
+    private Region region;
+
+    @AfterEach
+    void cleanup() {
+        if (region != null) {
+            regionRepository.delete(region);
+        }
+    }
+
+    @Test
+    void everyCacheHasMetrics() {
+        assertThat(cacheManager.getCacheNames()).contains(
+            UserRepository.USERS_BY_LOGIN_CACHE,
+            UserRepository.USERS_BY_EMAIL_CACHE,
+            Ville.class.getName(),
+            Ville.class.getName() + ".joueurs",
+            Region.class.getName() + ".villes"
+        );
+        for (String cacheName : cacheManager.getCacheNames()) {
+            for (String meter : new String[] { "cache.gets", "cache.puts", "cache.evictions", "cache.removals" }) {
+                assertThat(meterRegistry.find(meter).tag("cache", cacheName).meters()).as("%s of %s", meter, cacheName).isNotEmpty();
+            }
+        }
+    }
+
+    @Test
+    void secondLevelCacheUsageIsCounted() {
+        region = regionRepository.saveAndFlush(new Region().nom("Normandie"));
+        String regionCache = Region.class.getName();
+        double cacheHits = count("cache.gets", "cache", regionCache);
+        double hibernateHits = count("hibernate.second.level.cache.requests", "region", regionCache);
+
+        assertThat(regionRepository.findById(region.getId())).isPresent();
+
+        assertThat(count("cache.gets", "cache", regionCache)).isGreaterThan(cacheHits);
+        assertThat(count("hibernate.second.level.cache.requests", "region", regionCache)).isGreaterThan(hibernateHits);
+        assertThat(meterRegistry.find("hibernate.query.executions").meters()).isNotEmpty();
+    }
+
+    private double count(String meter, String cacheTag, String cacheName) {
+        return meterRegistry.find(meter).tags(cacheTag, cacheName, "result", "hit").functionCounter().count();
+    }
+}
@@ -0,0 +1,77 @@
+package fr.soheilb.projet.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate {@link StatementInspector} recording the SQL statements prepared by the current thread, so that a test can
+ * give a budget of statements to a call, typically a REST call through {@code MockMvc}:
+ *
+ * <pre>
+ * queryBudget.assertAtMost(2, () -&gt; restVilleMockMvc.perform(get("/api/villes")).andExpect(status().isOk()));
+ * </pre>
+ *
+ * A statement is counted each time Hibernate prepares its SQL, not each time it is executed: the rows written by a JDBC
+ * batch count as one statement. The statements run by the other threads are not counted, nor is the SQL that does not
+ * go through Hibernate. The second level cache is disabled by the test configuration, so the budgets are
+ * those of a cold cache.
+ */
+public class QueryBudget implements StatementInspector {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient ThreadLocal<List<String>> recording = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        List<String> statements = recording.get();
+        if (statements != null) {
+            statements.add(sql);
+        }
+        return sql;
+    }
+
+    /**
+     * Run a call and return the SQL statements it prepared.
+     *
+     * @param call the call to run.
+     * @return the SQL statements, in their order.
+     * @throws Exception if the call fails.
+     */
+    public List<String> record(Callable<?> call) throws Exception {
+        List<String> statements = new ArrayList<>();
+        run(call, statements);
+        return statements;
+    }
+
+    /**
+     * Run a call and fail if it prepared more SQL statements than its budget.
+     *
+     * @param budget the maximum number of SQL statements.
+     * @param call the call to run.
+     * @param <T> the type of the result of the call.
+     * @return the result of the call.
+     * @throws Exception if the call fails.
+     */
+    public <T> T assertAtMost(int budget, Callable<T> call) throws Exception {
+        List<String> statements = new ArrayList<>();
+        T result = run(call, statements);
+        if (statements.size() > budget) {
+            throw new AssertionError(
+                "Expected at most " + budget + " SQL statements but " + statements.size() + " were run:\n" + String.join("\n", statements)
+            );
+        }
+        return result;
+    }
+
+    private <T> T run(Callable<T> call, List<String> statements) throws Exception {
+        recording.set(statements);
+        try {
+            return call.call();
+        } finally {
+            recording.remove();
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package fr.soheilb.projet.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Register the {@link QueryBudget} of the integration tests as the Hibernate statement inspector.
+ */
+@Configuration
+public class QueryBudgetConfiguration {
+
+    @Bean
+    public QueryBudget queryBudget() {
+        return new QueryBudget();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer queryBudgetCustomizer(QueryBudget queryBudget) {
+        return hibernateProperties -> hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, queryBudget);
+    }
+}
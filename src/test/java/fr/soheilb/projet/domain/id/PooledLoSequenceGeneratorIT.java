@@ -0,0 +1,79 @@
+package fr.soheilb.projet.domain.id;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import fr.soheilb.projet.IntegrationTest;
+import fr.soheilb.projet.domain.Joueur;
+import fr.soheilb.projet.domain.Region;
+import fr.soheilb.projet.domain.Ville;
+import fr.soheilb.projet.repository.RegionRepository;
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.enhanced.PooledLoOptimizer;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for {@link PooledLoSequenceGenerator}.
+ */
+@IntegrationTest
+@Transactional
+class PooledLoSequenceGeneratorIT {
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private RegionRepository regionRepository;
+
+    @Test
+    void entitiesUseTheirOwnPooledLoSequence() {
+        assertPooledLoSequence(Ville.class, "ville_sequence");
+        assertPooledLoSequence(Region.class, "region_sequence");
+        assertPooledLoSequence(Joueur.class, "joueur_sequence");
+    }
+
+    @Test
+    void identifiersAreReservedByBlocks() {
+        long sequenceBefore = nextSequenceValue();
+
+        List<Region> regions = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            regions.add(new Region().nom("Region " + i));
+        }
+        regionRepository.saveAllAndFlush(regions);
+
+        Set<Long> ids = new HashSet<>();
+        regions.forEach(region -> ids.add(region.getId()));
+        assertThat(ids).hasSize(60).allMatch(id -> id < nextSequenceValue());
+        // 60 identifiers need at most 2 blocks, and another one if the current block was nearly used up
+        assertThat((nextSequenceValue() - sequenceBefore) / PooledLoSequenceGenerator.DEFAULT_ALLOCATION_SIZE).isLessThanOrEqualTo(3);
+    }
+
+    private void assertPooledLoSequence(Class<?> entityClass, String sequenceName) {
+        var generator = em
+            .getEntityManagerFactory()
+            .unwrap(SessionFactoryImplementor.class)
+            .getMappingMetamodel()
+            .getEntityDescriptor(entityClass)
+            .getGenerator();
+        assertThat(generator).isInstanceOf(PooledLoSequenceGenerator.class);
+        SequenceStyleGenerator sequenceGenerator = (SequenceStyleGenerator) generator;
+        assertThat(sequenceGenerator.getDatabaseStructure().getPhysicalName().getObjectName().getText()).isEqualTo(sequenceName);
+        assertThat(sequenceGenerator.getOptimizer()).isInstanceOf(PooledLoOptimizer.class);
+        assertThat(sequenceGenerator.getOptimizer().getIncrementSize()).isEqualTo(PooledLoSequenceGenerator.DEFAULT_ALLOCATION_SIZE);
+    }
+
+    private long nextSequenceValue() {
+        Object value = em
+            .createNativeQuery("select base_value from information_schema.sequences where sequence_name = 'REGION_SEQUENCE'")
+            .getSingleResult();
+        return ((Number) value).longValue();
+    }
+}
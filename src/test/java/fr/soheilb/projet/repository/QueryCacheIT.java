@@ -0,0 +1,103 @@
+package fr.soheilb.projet.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import fr.soheilb.projet.IntegrationTest;
+import fr.soheilb.projet.domain.Joueur;
+import fr.soheilb.projet.domain.Region;
+import fr.soheilb.projet.domain.Ville;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Integration tests for the cached finders of {@link VilleRepository} and {@link JoueurRepository}, with the second
+ * level and query caches enabled.
+ */
+@IntegrationTest
+@TestPropertySource(
+    properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=true",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "application.cache-warm-up.page-size=2",
+    }
+)
+class QueryCacheIT {
+
+    @Autowired
+    private RegionRepository regionRepository;
+
+    @Autowired
+    private VilleRepository villeRepository;
+
+    @Autowired
+    private JoueurRepository joueurRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Region region;
+
+    private final List<Ville> villes = new ArrayList<>();
+
+    private Joueur joueur;
+
+    @BeforeEach
+    void insertEntities() {
+        region = regionRepository.saveAndFlush(new Region().nom("Occitanie"));
+        villes.add(villeRepository.saveAndFlush(new Ville().nom("Toulouse").region(region)));
+        villes.add(villeRepository.saveAndFlush(new Ville().nom("Montpellier").region(region)));
+        joueur = joueurRepository.saveAndFlush(new Joueur().pseudo("query-cache").ville(villes.get(0)));
+    }
+
+    @AfterEach
+    void cleanup() {
+        joueurRepository.delete(joueur);
+        villeRepository.deleteAll(villes);
+        regionRepository.delete(region);
+    }
+
+    @Test
+    void villesByRegionAreServedFromTheQueryCacheUntilAVilleIsWritten() {
+        assertThat(villeRepository.findAllByRegionIdOrderByNomAscIdAsc(region.getId()))
+            .extracting(Ville::getNom)
+            .containsExactly("Montpellier", "Toulouse");
+        double hits = cacheGets(VilleRepository.VILLES_BY_REGION_CACHE, "hit");
+
+        assertThat(villeRepository.findAllByRegionIdOrderByNomAscIdAsc(region.getId())).hasSize(2);
+        assertThat(cacheGets(VilleRepository.VILLES_BY_REGION_CACHE, "hit")).isGreaterThan(hits);
+
+        villes.add(villeRepository.saveAndFlush(new Ville().nom("Nîmes").region(region)));
+
+        assertThat(villeRepository.findAllByRegionIdOrderByNomAscIdAsc(region.getId()))
+            .extracting(Ville::getNom)
+            .containsExactly("Montpellier", "Nîmes", "Toulouse");
+    }
+
+    @Test
+    void joueurByPseudoIsServedFromTheQueryCacheUntilAJoueurIsWritten() {
+        assertThat(joueurRepository.findFirstByPseudoOrderByIdAsc("query-cache")).map(Joueur::getId).contains(joueur.getId());
+        double hits = cacheGets(JoueurRepository.JOUEUR_BY_PSEUDO_CACHE, "hit");
+
+        assertThat(joueurRepository.findFirstByPseudoOrderByIdAsc("query-cache")).isPresent();
+        assertThat(cacheGets(JoueurRepository.JOUEUR_BY_PSEUDO_CACHE, "hit")).isGreaterThan(hits);
+
+        joueur = joueurRepository.saveAndFlush(joueur.pseudo("query-cache-renamed"));
+
+        assertThat(joueurRepository.findFirstByPseudoOrderByIdAsc("query-cache")).isEmpty();
+        assertThat(joueurRepository.findFirstByPseudoOrderByIdAsc("query-cache-renamed")).isPresent();
+    }
+
+    private double cacheGets(String cacheName, String result) {
+        FunctionCounter counter = meterRegistry.find("cache.gets").tags("cache", cacheName, "result", result).functionCounter();
+        assertThat(counter).as("cache.gets metric of %s", cacheName).isNotNull();
+        return counter.count();
+    }
+}
@@ -0,0 +1,82 @@
+package fr.soheilb.projet.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import fr.soheilb.projet.config.ApplicationProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Test class for {@link PasswordEncoders}, with low costs.
+ */
+class PasswordEncodersTest {
+
+    @Test
+    void encodesWithTheConfiguredAlgorithm() {
+        for (ApplicationProperties.PasswordHashing.Algorithm algorithm : ApplicationProperties.PasswordHashing.Algorithm.values()) {
+            PasswordEncoder encoder = PasswordEncoders.delegating(settings(algorithm));
+
+            String hash = encoder.encode("secret");
+
+            assertThat(hash).startsWith("{" + algorithm.name().toLowerCase() + "}").hasSizeBetween(60, 255);
+            assertThat(encoder.matches("secret", hash)).isTrue();
+            assertThat(encoder.matches("wrong", hash)).isFalse();
+            assertThat(encoder.upgradeEncoding(hash)).isFalse();
+        }
+    }
+
+    @Test
+    void matchesAndUpgradesBcryptHashesWithoutId() {
+        PasswordEncoder encoder = PasswordEncoders.delegating(settings(ApplicationProperties.PasswordHashing.Algorithm.BCRYPT));
+        String hash = PasswordEncoders.bcrypt(4).encode("secret");
+
+        assertThat(encoder.matches("secret", hash)).isTrue();
+        assertThat(encoder.upgradeEncoding(hash)).isTrue();
+    }
+
+    @Test
+    void matchesAndUpgradesHashesOfAnotherAlgorithm() {
+        String hash = PasswordEncoders.delegating(settings(ApplicationProperties.PasswordHashing.Algorithm.BCRYPT)).encode("secret");
+        PasswordEncoder encoder = PasswordEncoders.delegating(settings(ApplicationProperties.PasswordHashing.Algorithm.ARGON2));
+
+        assertThat(encoder.matches("secret", hash)).isTrue();
+        assertThat(encoder.upgradeEncoding(hash)).isTrue();
+    }
+
+    @Test
+    void upgradesHashesOfLowerCost() {
+        ApplicationProperties.PasswordHashing settings = settings(ApplicationProperties.PasswordHashing.Algorithm.ARGON2);
+        String hash = PasswordEncoders.delegating(settings).encode("secret");
+        settings.getArgon2().setMemory(2048);
+
+        PasswordEncoder encoder = PasswordEncoders.delegating(settings);
+
+        assertThat(encoder.matches("secret", hash)).isTrue();
+        assertThat(encoder.upgradeEncoding(hash)).isTrue();
+    }
+
+    @Test
+    void matchesAndUpgradesPbkdf2HashesOfAnotherIterationCount() {
+        ApplicationProperties.PasswordHashing settings = settings(ApplicationProperties.PasswordHashing.Algorithm.PBKDF2);
+        String hash = PasswordEncoders.delegating(settings).encode("secret");
+        settings.getPbkdf2().setIterations(2000);
+
+        PasswordEncoder encoder = PasswordEncoders.delegating(settings);
+
+        assertThat(hash).startsWith("{pbkdf2}1000$");
+        assertThat(encoder.matches("secret", hash)).isTrue();
+        assertThat(encoder.matches("wrong", hash)).isFalse();
+        assertThat(encoder.upgradeEncoding(hash)).isTrue();
+        assertThat(encoder.upgradeEncoding(encoder.encode("secret"))).isFalse();
+    }
+
+    private static ApplicationProperties.PasswordHashing settings(ApplicationProperties.PasswordHashing.Algorithm algorithm) {
+        ApplicationProperties.PasswordHashing settings = new ApplicationProperties().getPasswordHashing();
+        settings.setAlgorithm(algorithm);
+        settings.getBcrypt().setStrength(4);
+        settings.getPbkdf2().setIterations(1000);
+        settings.getArgon2().setMemory(1024);
+        settings.getArgon2().setIterations(1);
+        return settings;
+    }
+}
@@ -1,5 +1,6 @@
 package fr.soheilb.projet.security.jwt;
 
+import fr.soheilb.projet.config.ApplicationProperties;
 import fr.soheilb.projet.config.SecurityConfiguration;
 import fr.soheilb.projet.config.SecurityJwtConfiguration;
 import fr.soheilb.projet.config.WebConfigurer;
@@ -21,6 +22,7 @@ import tech.jhipster.config.JHipsterProperties;
     },
     classes = {
         JHipsterProperties.class,
+        ApplicationProperties.class,
         WebConfigurer.class,
         SecurityConfiguration.class,
         SecurityJwtConfiguration.class,
@@ -0,0 +1,118 @@
+package fr.soheilb.projet.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import fr.soheilb.projet.IntegrationTest;
+import fr.soheilb.projet.config.ApplicationProperties;
+import fr.soheilb.projet.config.CacheWarmUpHealthIndicator;
+import fr.soheilb.projet.domain.Joueur;
+import fr.soheilb.projet.domain.Region;
+import fr.soheilb.projet.domain.Ville;
+import fr.soheilb.projet.repository.JoueurRepository;
+import fr.soheilb.projet.repository.RegionRepository;
+import fr.soheilb.projet.repository.VilleRepository;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Integration tests for {@link CacheWarmUpService}, with the second level cache enabled.
+ */
+@IntegrationTest
+@TestPropertySource(
+    properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=true",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "application.cache-warm-up.page-size=2",
+    }
+)
+class CacheWarmUpServiceIT {
+
+    @Autowired
+    private CacheWarmUpService cacheWarmUpService;
+
+    @Autowired
+    private CacheWarmUpHealthIndicator cacheWarmUpHealthIndicator;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @Autowired
+    private RegionRepository regionRepository;
+
+    @Autowired
+    private VilleRepository villeRepository;
+
+    @Autowired
+    private JoueurRepository joueurRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Region region;
+
+    private final List<Ville> villes = new ArrayList<>();
+
+    private Joueur joueur;
+
+    @BeforeEach
+    void insertReferential() {
+        region = regionRepository.saveAndFlush(new Region().nom("Bretagne"));
+        for (String nom : List.of("Rennes", "Brest", "Quimper")) {
+            villes.add(villeRepository.saveAndFlush(new Ville().nom(nom).region(region)));
+        }
+        joueur = joueurRepository.saveAndFlush(new Joueur().pseudo("warmup").ville(villes.get(0)));
+        secondLevelCache().evictAll();
+    }
+
+    @AfterEach
+    void cleanup() {
+        joueurRepository.delete(joueur);
+        villeRepository.deleteAll(villes);
+        regionRepository.delete(region);
+        secondLevelCache().evictAll();
+        applicationProperties.getCacheWarmUp().setTimeout(Duration.ofMinutes(2));
+    }
+
+    @Test
+    void warmUpLoadsTheReferentialInTheSecondLevelCache() {
+        cacheWarmUpService.warmUp();
+
+        assertThat(cacheWarmUpService.getStatus()).isEqualTo(CacheWarmUpService.Status.COMPLETED);
+        assertThat(cacheWarmUpService.getVilleCount()).isGreaterThanOrEqualTo(villes.size());
+        Cache cache = secondLevelCache();
+        assertThat(cache.containsEntity(Region.class, region.getId())).isTrue();
+        assertThat(cache.containsCollection(Region.class.getName() + ".villes", region.getId())).isTrue();
+        for (Ville ville : villes) {
+            assertThat(cache.containsEntity(Ville.class, ville.getId())).isTrue();
+            assertThat(cache.containsCollection(Ville.class.getName() + ".joueurs", ville.getId())).isTrue();
+        }
+        assertThat(cacheWarmUpHealthIndicator.health().getStatus()).isEqualTo(Status.UP);
+    }
+
+    @Test
+    void warmUpStopsAtTheTimeout() {
+        applicationProperties.getCacheWarmUp().setTimeout(Duration.ZERO);
+
+        cacheWarmUpService.warmUp();
+
+        assertThat(cacheWarmUpService.getStatus()).isEqualTo(CacheWarmUpService.Status.TIMED_OUT);
+        assertThat(secondLevelCache().containsEntity(Region.class, region.getId())).isFalse();
+        // The application is ready anyway, with cold caches
+        assertThat(cacheWarmUpHealthIndicator.health().getStatus()).isEqualTo(Status.UP);
+    }
+
+    private Cache secondLevelCache() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getCache();
+    }
+}
@@ -0,0 +1,132 @@
+package fr.soheilb.projet.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import fr.soheilb.projet.IntegrationTest;
+import fr.soheilb.projet.service.dto.PerfDataReportDTO;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for {@link PerfDataService}, with chunks smaller than the generated data.
+ */
+@IntegrationTest
+@TestPropertySource(properties = "application.perf-data.chunk-size=70")
+class PerfDataServiceIT {
+
+    private static final int VILLES = 200;
+
+    private static final int JOUEURS = 500;
+
+    @Autowired
+    private PerfDataService perfDataService;
+
+    @Autowired
+    private VilleSuggestService villeSuggestService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private long lastVilleId;
+
+    private long lastJoueurId;
+
+    @BeforeEach
+    void rememberLastIds() {
+        lastVilleId = maxId("ville");
+        lastJoueurId = maxId("joueur");
+    }
+
+    @AfterEach
+    void cleanup() {
+        // The connections of the pool do not auto-commit
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            jdbcTemplate.update("delete from joueur where id > ?", lastJoueurId);
+            jdbcTemplate.update("delete from ville where id > ?", lastVilleId);
+            for (PerfDataReferential.RegionData region : PerfDataReferential.REGIONS) {
+                jdbcTemplate.update("delete from region_population where region_id in (select id from region where nom = ?)", region.nom());
+                jdbcTemplate.update("delete from region where nom = ?", region.nom());
+            }
+        });
+        villeSuggestService.rebuild();
+    }
+
+    @Test
+    void generateWritesTheRequestedRows() {
+        PerfDataReportDTO report = perfDataService.generate(VILLES, JOUEURS, 42);
+
+        assertThat(report.getRegionsCreated()).isEqualTo(PerfDataReferential.REGIONS.size());
+        assertThat(report.getVillesCreated()).isEqualTo(VILLES);
+        assertThat(report.getJoueursCreated()).isEqualTo(JOUEURS);
+        assertThat(countAbove("ville", lastVilleId)).isEqualTo(VILLES);
+        assertThat(countAbove("joueur", lastJoueurId)).isEqualTo(JOUEURS);
+        assertThat(
+            jdbcTemplate.queryForObject(
+                "select count(distinct pseudo) from joueur where id > ? and ville_id > ?",
+                Long.class,
+                lastJoueurId,
+                lastVilleId
+            )
+        ).isEqualTo(JOUEURS);
+        // The population rollup of each region matches its villes
+        List<Map<String, Object>> mismatches = jdbcTemplate.queryForList(
+            "select r.id from region r join region_population p on p.region_id = r.id " +
+            "where r.nom in (" +
+            String.join(", ", PerfDataReferential.REGIONS.stream().map(region -> "'" + region.nom().replace("'", "''") + "'").toList()) +
+            ") and (p.population <> (select coalesce(sum(v.nb_habitants), 0) from ville v where v.region_id = r.id) " +
+            "or p.ville_count <> (select count(*) from ville v where v.region_id = r.id))"
+        );
+        assertThat(mismatches).isEmpty();
+    }
+
+    @Test
+    void generateIsDeterministic() {
+        perfDataService.generate(VILLES, JOUEURS, 7);
+        List<Map<String, Object>> firstVilles = villesAbove(lastVilleId);
+        List<Map<String, Object>> firstJoueurs = joueursAbove(lastJoueurId);
+        long secondVilleId = maxId("ville");
+        long secondJoueurId = maxId("joueur");
+
+        PerfDataReportDTO report = perfDataService.generate(VILLES, JOUEURS, 7);
+
+        // The regions of the first generation are reused
+        assertThat(report.getRegionsCreated()).isZero();
+        assertThat(villesAbove(secondVilleId)).isEqualTo(firstVilles);
+        assertThat(joueursAbove(secondJoueurId)).isEqualTo(firstJoueurs);
+    }
+
+    private List<Map<String, Object>> villesAbove(long id) {
+        return jdbcTemplate.queryForList(
+            "select v.nom, v.code_postal, v.nb_habitants, r.nom as region from ville v join region r on r.id = v.region_id " +
+            "where v.id > ? order by v.id",
+            id
+        );
+    }
+
+    private List<Map<String, Object>> joueursAbove(long id) {
+        return jdbcTemplate.queryForList(
+            "select j.pseudo, j.date_inscription, j.est_administrateur, v.nom, v.code_postal, v.nb_habitants " +
+            "from joueur j join ville v on v.id = j.ville_id where j.id > ? order by j.id",
+            id
+        );
+    }
+
+    private long countAbove(String table, long id) {
+        return jdbcTemplate.queryForObject("select count(*) from " + table + " where id > ?", Long.class, id);
+    }
+
+    private long maxId(String table) {
+        return jdbcTemplate.queryForObject("select coalesce(max(id), 0) from " + table, Long.class);
+    }
+}
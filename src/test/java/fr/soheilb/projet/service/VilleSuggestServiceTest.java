@@ -0,0 +1,102 @@
+package fr.soheilb.projet.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import fr.soheilb.projet.config.ApplicationProperties;
+import fr.soheilb.projet.domain.Ville;
+import fr.soheilb.projet.repository.VilleRepository;
+import fr.soheilb.projet.service.dto.VilleSuggestionDTO;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link VilleSuggestService}.
+ */
+class VilleSuggestServiceTest {
+
+    private VilleRepository villeRepository;
+
+    private ApplicationProperties applicationProperties;
+
+    private VilleSuggestService villeSuggestService;
+
+    @BeforeEach
+    public void init() {
+        villeRepository = mock(VilleRepository.class);
+        applicationProperties = new ApplicationProperties();
+        when(villeRepository.findAll()).thenReturn(
+            List.of(
+                new Ville().id(1L).nom("Saint-Étienne").codePostal("42000").nbHabitants(172565),
+                new Ville().id(2L).nom("Saint-Denis").codePostal("93200").nbHabitants(113942),
+                new Ville().id(3L).nom("Saintes").codePostal("17100").nbHabitants(25470),
+                new Ville().id(4L).nom("Paris").codePostal("75001").nbHabitants(2133111),
+                new Ville().id(5L).nom("L'Haÿ-les-Roses").codePostal("94240").nbHabitants(31498)
+            )
+        );
+        villeSuggestService = new VilleSuggestService(villeRepository, applicationProperties);
+        villeSuggestService.rebuild();
+    }
+
+    @Test
+    void testFold() {
+        assertThat(VilleSuggestService.fold("  Saint-Étienne ")).isEqualTo("saint etienne");
+        assertThat(VilleSuggestService.fold("L'Haÿ-les-Roses")).isEqualTo("l hay les roses");
+        assertThat(VilleSuggestService.fold("Œuilly")).isEqualTo("oeuilly");
+        assertThat(VilleSuggestService.fold(null)).isEmpty();
+    }
+
+    @Test
+    void testSuggestByPrefixIsMostPopulatedFirst() {
+        assertThat(ids(villeSuggestService.suggest("sain", 10))).containsExactly(1L, 2L, 3L);
+        assertThat(ids(villeSuggestService.suggest("sain", 2))).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void testSuggestIgnoresAccentsCaseAndSeparators() {
+        assertThat(ids(villeSuggestService.suggest("SAINT ÉTI", 10))).containsExactly(1L);
+        assertThat(ids(villeSuggestService.suggest("saint-etienne", 10))).containsExactly(1L);
+    }
+
+    @Test
+    void testSuggestByWordOfNom() {
+        assertThat(ids(villeSuggestService.suggest("etien", 10))).containsExactly(1L);
+        assertThat(ids(villeSuggestService.suggest("roses", 10))).containsExactly(5L);
+    }
+
+    @Test
+    void testSuggestByCodePostal() {
+        assertThat(ids(villeSuggestService.suggest("75", 10))).containsExactly(4L);
+        assertThat(ids(villeSuggestService.suggest("9", 10))).containsExactly(2L, 5L);
+    }
+
+    @Test
+    void testSuggestIsCappedByMaxResults() {
+        applicationProperties.getVilleSuggest().setMaxResults(1);
+        assertThat(ids(villeSuggestService.suggest("sain", 10))).containsExactly(1L);
+    }
+
+    @Test
+    void testSuggestWithBlankQuery() {
+        assertThat(villeSuggestService.suggest(" - ", 10)).isEmpty();
+        assertThat(villeSuggestService.suggest(null, 10)).isEmpty();
+    }
+
+    @Test
+    void testIndexAndRemoveAreIncremental() {
+        villeSuggestService.index(new Ville().id(3L).nom("Lyon").codePostal("69001").nbHabitants(522250));
+
+        assertThat(ids(villeSuggestService.suggest("saintes", 10))).isEmpty();
+        assertThat(ids(villeSuggestService.suggest("lyo", 10))).containsExactly(3L);
+
+        villeSuggestService.remove(3L);
+
+        assertThat(ids(villeSuggestService.suggest("lyo", 10))).isEmpty();
+    }
+
+    private static List<Long> ids(List<VilleSuggestionDTO> suggestions) {
+        return suggestions.stream().map(VilleSuggestionDTO::getId).toList();
+    }
+}
@@ -1,5 +1,6 @@
 package fr.soheilb.projet.web.rest;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.emptyString;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
@@ -13,12 +14,16 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import fr.soheilb.projet.IntegrationTest;
 import fr.soheilb.projet.domain.User;
 import fr.soheilb.projet.repository.UserRepository;
+import fr.soheilb.projet.security.PasswordEncoders;
 import fr.soheilb.projet.web.rest.vm.LoginVM;
+import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -88,6 +93,78 @@ class AuthenticateControllerIT {
             .andExpect(header().string("Authorization", not(is(emptyString()))));
     }
 
+    @Test
+    @Transactional
+    void testAuthorizeRehashesOutdatedPassword() throws Exception {
+        User user = new User();
+        user.setLogin("user-jwt-controller-rehash");
+        user.setEmail("user-jwt-controller-rehash@example.com");
+        user.setActivated(true);
+        // A hash of a lower cost, without the id of its algorithm
+        user.setPassword(new BCryptPasswordEncoder(4).encode("test"));
+
+        userRepository.saveAndFlush(user);
+
+        LoginVM login = new LoginVM();
+        login.setUsername("user-jwt-controller-rehash");
+        login.setPassword("test");
+        mockMvc
+            .perform(post("/api/authenticate").contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(login)))
+            .andExpect(status().isOk());
+
+        String password = userRepository.findOneByLogin("user-jwt-controller-rehash").orElseThrow().getPassword();
+        assertThat(password).startsWith("{bcrypt}$2a$10$");
+        assertThat(passwordEncoder.matches("test", password)).isTrue();
+        assertThat(passwordEncoder.upgradeEncoding(password)).isFalse();
+    }
+
+    /**
+     * The application restarted with another PBKDF2 iteration count than the one of the existing hashes.
+     */
+    @Nested
+    @TestPropertySource(
+        properties = { "application.password-hashing.algorithm=pbkdf2", "application.password-hashing.pbkdf2.iterations=2000" }
+    )
+    class WithAnotherPbkdf2IterationCount {
+
+        @Autowired
+        private ObjectMapper om;
+
+        @Autowired
+        private UserRepository userRepository;
+
+        @Autowired
+        private PasswordEncoder passwordEncoder;
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Test
+        @Transactional
+        void testAuthorizeRehashesPasswordOfAnotherIterationCount() throws Exception {
+            User user = new User();
+            user.setLogin("user-jwt-controller-pbkdf2");
+            user.setEmail("user-jwt-controller-pbkdf2@example.com");
+            user.setActivated(true);
+            user.setPassword("{pbkdf2}" + PasswordEncoders.pbkdf2(1000).encode("test"));
+
+            userRepository.saveAndFlush(user);
+
+            LoginVM login = new LoginVM();
+            login.setUsername("user-jwt-controller-pbkdf2");
+            login.setPassword("test");
+            mockMvc
+                .perform(post("/api/authenticate").contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(login)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id_token").isString());
+
+            String password = userRepository.findOneByLogin("user-jwt-controller-pbkdf2").orElseThrow().getPassword();
+            assertThat(password).startsWith("{pbkdf2}2000$");
+            assertThat(passwordEncoder.matches("test", password)).isTrue();
+            assertThat(passwordEncoder.upgradeEncoding(password)).isFalse();
+        }
+    }
+
     @Test
     void testAuthorizeFails() throws Exception {
         LoginVM login = new LoginVM();
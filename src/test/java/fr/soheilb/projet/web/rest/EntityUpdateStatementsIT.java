@@ -0,0 +1,151 @@
+package fr.soheilb.projet.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fr.soheilb.projet.IntegrationTest;
+import fr.soheilb.projet.domain.Joueur;
+import fr.soheilb.projet.domain.Region;
+import fr.soheilb.projet.domain.Ville;
+import fr.soheilb.projet.repository.JoueurRepository;
+import fr.soheilb.projet.repository.RegionRepository;
+import fr.soheilb.projet.repository.VilleRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+/**
+ * Integration tests counting the SQL statements of the updates of {@link VilleResource}, {@link RegionResource} and
+ * {@link JoueurResource}: an update loads the entity once and flushes one versioned {@code UPDATE}.
+ * <p>
+ * The requests are not run in a test transaction, so that their own transaction is committed and flushed.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class EntityUpdateStatementsIT {
+
+    @Autowired
+    private ObjectMapper om;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private RegionRepository regionRepository;
+
+    @Autowired
+    private VilleRepository villeRepository;
+
+    @Autowired
+    private JoueurRepository joueurRepository;
+
+    private Region region;
+
+    private Ville ville;
+
+    private Joueur joueur;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void insertEntities() {
+        region = regionRepository.saveAndFlush(new Region().nom("Bretagne"));
+        ville = villeRepository.saveAndFlush(new Ville().nom("Rennes").codePostal("35000").nbHabitants(220000).region(region));
+        joueur = joueurRepository.saveAndFlush(new Joueur().pseudo("update-statements").ville(ville));
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void cleanup() {
+        joueurRepository.deleteById(joueur.getId());
+        villeRepository.deleteById(ville.getId());
+        regionRepository.deleteById(region.getId());
+    }
+
+    @Test
+    void putVilleIsOneLoadAndOneUpdate() throws Exception {
+        Ville updated = new Ville()
+            .id(ville.getId())
+            .nom("Saint-Malo")
+            .codePostal("35400")
+            .nbHabitants(ville.getNbHabitants())
+            .region(new Region().id(region.getId()))
+            .version(ville.getVersion());
+
+        perform(put("/api/villes/{id}", ville.getId()), updated);
+
+        assertOneLoadAndOneUpdate();
+        assertThat(villeRepository.findById(ville.getId()).orElseThrow().getVersion()).isEqualTo(ville.getVersion() + 1);
+    }
+
+    @Test
+    void patchVilleIsOneLoadAndOneUpdate() throws Exception {
+        perform(patch("/api/villes/{id}", ville.getId()), new Ville().id(ville.getId()).nom("Saint-Malo").version(ville.getVersion()));
+
+        assertOneLoadAndOneUpdate();
+    }
+
+    @Test
+    void putRegionIsOneLoadAndOneUpdate() throws Exception {
+        perform(put("/api/regions/{id}", region.getId()), new Region().id(region.getId()).nom("Armorique").version(region.getVersion()));
+
+        assertOneLoadAndOneUpdate();
+    }
+
+    @Test
+    void patchRegionIsOneLoadAndOneUpdate() throws Exception {
+        perform(patch("/api/regions/{id}", region.getId()), new Region().id(region.getId()).nom("Armorique"));
+
+        assertOneLoadAndOneUpdate();
+    }
+
+    @Test
+    void putJoueurIsOneLoadAndOneUpdate() throws Exception {
+        Joueur updated = new Joueur()
+            .id(joueur.getId())
+            .pseudo("update-statements-put")
+            .ville(new Ville().id(ville.getId()))
+            .version(joueur.getVersion());
+
+        perform(put("/api/joueurs/{id}", joueur.getId()), updated);
+
+        assertOneLoadAndOneUpdate();
+    }
+
+    @Test
+    void patchJoueurIsOneLoadAndOneUpdate() throws Exception {
+        perform(patch("/api/joueurs/{id}", joueur.getId()), new Joueur().id(joueur.getId()).pseudo("update-statements-patch"));
+
+        assertOneLoadAndOneUpdate();
+    }
+
+    private void perform(MockHttpServletRequestBuilder request, Object body) throws Exception {
+        mockMvc.perform(request.contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(body))).andExpect(status().isOk());
+    }
+
+    private void assertOneLoadAndOneUpdate() {
+        assertThat(statistics.getQueryExecutionCount()).as("queries").isZero();
+        assertThat(statistics.getEntityLoadCount()).as("entity loads").isEqualTo(1);
+        assertThat(statistics.getEntityUpdateCount()).as("entity updates").isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).as("statements").isEqualTo(2);
+    }
+}
@@ -3,6 +3,7 @@ package fr.soheilb.projet.web.rest;
 import static fr.soheilb.projet.domain.JoueurAsserts.*;
 import static fr.soheilb.projet.web.rest.TestUtil.createUpdateProxyForBean;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.hasItem;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -10,10 +11,13 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import com.fasterxml.jackson.databind.ObjectMapper;
 import fr.soheilb.projet.IntegrationTest;
 import fr.soheilb.projet.domain.Joueur;
+import fr.soheilb.projet.domain.Ville;
 import fr.soheilb.projet.repository.JoueurRepository;
+import fr.soheilb.projet.web.rest.errors.ErrorConstants;
 import jakarta.persistence.EntityManager;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.List;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
 import org.junit.jupiter.api.AfterEach;
@@ -21,9 +25,11 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -104,7 +110,8 @@ class JoueurResourceIT {
     @AfterEach
     public void cleanup() {
         if (insertedJoueur != null) {
-            joueurRepository.delete(insertedJoueur);
+            // By id, as the updates through the REST API leave insertedJoueur with a former version
+            joueurRepository.deleteById(insertedJoueur.getId());
             insertedJoueur = null;
         }
     }
@@ -131,6 +138,85 @@ class JoueurResourceIT {
         insertedJoueur = returnedJoueur;
     }
 
+    @Test
+    @Transactional
+    void createJoueurWithVilleGivenById() throws Exception {
+        Ville ville = VilleResourceIT.createEntity();
+        em.persist(ville);
+        em.flush();
+        em.clear();
+        // The ville of the request only has its id, not its version
+        Ville villeReference = new Ville();
+        villeReference.setId(ville.getId());
+        joueur.setVille(villeReference);
+
+        var returnedJoueur = om.readValue(
+            restJoueurMockMvc
+                .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(joueur)))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(),
+            Joueur.class
+        );
+        insertedJoueur = returnedJoueur;
+
+        em.flush();
+        em.clear();
+        assertThat(joueurRepository.findById(returnedJoueur.getId()).orElseThrow().getVille().getId()).isEqualTo(ville.getId());
+    }
+
+    @Test
+    @Transactional
+    void createJoueursInBulk() throws Exception {
+        long databaseSizeBeforeCreate = getRepositoryCount();
+        Ville ville = VilleResourceIT.createEntity();
+        em.persist(ville);
+        em.flush();
+        List<Joueur> joueurs = List.of(
+            createEntity(),
+            createEntity().id(1L),
+            createEntity().ville(new Ville().id(Long.MAX_VALUE)),
+            createEntity().ville(ville)
+        );
+
+        restJoueurMockMvc
+            .perform(post(ENTITY_API_URL + "/_bulk").contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(joueurs)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].index").value(contains(0, 1, 2, 3)))
+            .andExpect(jsonPath("$.[*].status").value(contains("CREATED", "INVALID", "INVALID", "CREATED")))
+            .andExpect(jsonPath("$.[0].id").isNumber())
+            .andExpect(jsonPath("$.[3].id").isNumber());
+
+        assertThat(getRepositoryCount()).isEqualTo(databaseSizeBeforeCreate + 2);
+        assertThat(joueurRepository.findAll()).filteredOn(created -> ville.equals(created.getVille())).hasSize(1);
+    }
+
+    @Test
+    @Transactional
+    void partialUpdateJoueursInBulk() throws Exception {
+        // Initialize the database
+        insertedJoueur = joueurRepository.saveAndFlush(joueur);
+        List<Joueur> joueurs = List.of(
+            new Joueur().id(joueur.getId()).pseudo(UPDATED_PSEUDO),
+            new Joueur().id(Long.MAX_VALUE).pseudo(UPDATED_PSEUDO),
+            new Joueur().pseudo(UPDATED_PSEUDO),
+            new Joueur().id(joueur.getId()).pseudo(DEFAULT_PSEUDO).version(1)
+        );
+
+        restJoueurMockMvc
+            .perform(
+                patch(ENTITY_API_URL + "/_bulk").contentType("application/merge-patch+json").content(om.writeValueAsBytes(joueurs))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].status").value(contains("UPDATED", "NOT_FOUND", "INVALID", "CONFLICT")))
+            .andExpect(jsonPath("$.[0].id").value(joueur.getId().intValue()));
+
+        Joueur updatedJoueur = getPersistedJoueur(joueur);
+        assertThat(updatedJoueur.getPseudo()).isEqualTo(UPDATED_PSEUDO);
+        assertThat(updatedJoueur.getMotDePasse()).isEqualTo(DEFAULT_MOT_DE_PASSE);
+    }
+
     @Test
     @Transactional
     void createJoueurWithExistingId() throws Exception {
@@ -184,6 +270,252 @@ class JoueurResourceIT {
             .andExpect(jsonPath("$.estAdministrateur").value(DEFAULT_EST_ADMINISTRATEUR.booleanValue()));
     }
 
+    @Test
+    @Transactional
+    void getJoueurByPseudo() throws Exception {
+        // Initialize the database
+        insertedJoueur = joueurRepository.saveAndFlush(joueur);
+
+        restJoueurMockMvc
+            .perform(get(ENTITY_API_URL + "/by-pseudo/{pseudo}", DEFAULT_PSEUDO))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.pseudo").value(DEFAULT_PSEUDO));
+
+        restJoueurMockMvc.perform(get(ENTITY_API_URL + "/by-pseudo/{pseudo}", UPDATED_PSEUDO)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    @Transactional
+    void getJoueurWithVilleExpanded() throws Exception {
+        // Initialize the database
+        Ville ville = VilleResourceIT.createEntity();
+        em.persist(ville);
+        insertedJoueur = joueurRepository.saveAndFlush(joueur.ville(ville));
+        em.clear();
+
+        restJoueurMockMvc
+            .perform(get(ENTITY_API_URL_ID, joueur.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.ville.id").value(ville.getId().intValue()))
+            .andExpect(jsonPath("$.ville.nom").doesNotExist());
+
+        restJoueurMockMvc
+            .perform(get(ENTITY_API_URL_ID + "?expand=ville", joueur.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.ville.nom").value(ville.getNom()));
+    }
+
+    @Test
+    @Transactional
+    void getAllJoueursWithVilleExpanded() throws Exception {
+        // Initialize the database
+        Ville ville = VilleResourceIT.createEntity();
+        em.persist(ville);
+        insertedJoueur = joueurRepository.saveAndFlush(joueur.ville(ville));
+        em.clear();
+
+        restJoueurMockMvc
+            .perform(get(ENTITY_API_URL + "?id.equals=" + joueur.getId() + "&expand=ville"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].ville.id").value(ville.getId().intValue()))
+            .andExpect(jsonPath("$.[0].ville.nom").value(ville.getNom()));
+    }
+
+    @Test
+    @Transactional
+    void getJoueursByIds() throws Exception {
+        // Initialize the database
+        insertedJoueur = joueurRepository.saveAndFlush(joueur);
+        Joueur otherJoueur = joueurRepository.saveAndFlush(createEntity());
+
+        restJoueurMockMvc
+            .perform(
+                post(ENTITY_API_URL + "/_batch")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(new Long[] { otherJoueur.getId(), Long.MAX_VALUE, joueur.getId(), otherJoueur.getId() }))
+            )
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.[*].id").value(contains(otherJoueur.getId().intValue(), joueur.getId().intValue())));
+    }
+
+    @Test
+    @Transactional
+    void getJoueursByIdFiltering() throws Exception {
+        // Initialize the database
+        insertedJoueur = joueurRepository.saveAndFlush(joueur);
+
+        Long id = joueur.getId();
+
+        defaultJoueurFiltering("id.equals=" + id, "id.notEquals=" + id);
+
+        defaultJoueurFiltering("id.greaterThanOrEqual=" + id, "id.greaterThan=" + id);
+
+        defaultJoueurFiltering("id.lessThanOrEqual=" + id, "id.lessThan=" + id);
+    }
+
+    @Test
+    @Transactional
+    void getAllJoueursByPseudoIsEqualToSomething() throws Exception {
+        // Initialize the database
+        insertedJoueur = joueurRepository.saveAndFlush(joueur);
+
+        // Get all the joueurList where pseudo equals to
+        defaultJoueurFiltering("pseudo.equals=" + DEFAULT_PSEUDO, "pseudo.equals=" + UPDATED_PSEUDO);
+    }
+
+    @Test
+    @Transactional
+    void getAllJoueursByPseudoIsInShouldWork() throws Exception {
+        // Initialize the database
+        insertedJoueur = joueurRepository.saveAndFlush(joueur);
+
+        // Get all the joueurList where pseudo in
+        defaultJoueurFiltering("pseudo.in=" + DEFAULT_PSEUDO + "," + UPDATED_PSEUDO, "pseudo.in=" + UPDATED_PSEUDO);
+    }
+
+    @Test
+    @Transactional
+    void getAllJoueursByPseudoIsNullOrNotNull() throws Exception {
+        // Initialize the database
+        insertedJoueur = joueurRepository.saveAndFlush(joueur);
+
+        // Get all the joueurList where pseudo is not null
+        defaultJoueurFiltering("pseudo.specified=true", "pseudo.specified=false");
+    }
+
+    @Test
+    @Transactional
+    void getAllJoueursByPseudoContainsSomething() throws Exception {
+        // Initialize the database
+        insertedJoueur = joueurRepository.saveAndFlush(joueur);
+
+        // Get all the joueurList where pseudo contains
+        defaultJoueurFiltering("pseudo.contains=" + DEFAULT_PSEUDO, "pseudo.contains=" + UPDATED_PSEUDO);
+    }
+
+    @Test
+    @Transactional
+    void getAllJoueursByPseudoNotContainsSomething() throws Exception {
+        // Initialize the database
+        insertedJoueur = joueurRepository.saveAndFlush(joueur);
+
+        // Get all the joueurList where pseudo does not contain
+        defaultJoueurFiltering("pseudo.doesNotContain=" + UPDATED_PSEUDO, "pseudo.doesNotContain=" + DEFAULT_PSEUDO);
+    }
+
+    @Test
+    @Transactional
+    void getAllJoueursByDateInscriptionIsEqualToSomething() throws Exception {
+        // Initialize the database
+        insertedJoueur = joueurRepository.saveAndFlush(joueur);
+
+        // Get all the joueurList where dateInscription equals to
+        defaultJoueurFiltering("dateInscription.equals=" + DEFAULT_DATE_INSCRIPTION, "dateInscription.equals=" + UPDATED_DATE_INSCRIPTION);
+    }
+
+    @Test
+    @Transactional
+    void getAllJoueursByEstAdministrateurIsEqualToSomething() throws Exception {
+        // Initialize the database
+        insertedJoueur = joueurRepository.saveAndFlush(joueur);
+
+        // Get all the joueurList where estAdministrateur equals to
+        defaultJoueurFiltering("estAdministrateur.equals=" + DEFAULT_EST_ADMINISTRATEUR, "estAdministrateur.equals=" + UPDATED_EST_ADMINISTRATEUR);
+    }
+
+    @Test
+    @Transactional
+    void getAllJoueursByVilleIsEqualToSomething() throws Exception {
+        Ville ville = VilleResourceIT.createEntity();
+        em.persist(ville);
+        em.flush();
+        joueur.setVille(ville);
+        insertedJoueur = joueurRepository.saveAndFlush(joueur);
+        Long villeId = ville.getId();
+
+        // Get all the joueurList where ville equals to villeId
+        defaultJoueurShouldBeFound("villeId.equals=" + villeId);
+
+        // Get all the joueurList where ville equals to (villeId + 1)
+        defaultJoueurShouldNotBeFound("villeId.equals=" + (villeId + 1));
+    }
+
+    private void defaultJoueurFiltering(String shouldBeFound, String shouldNotBeFound) throws Exception {
+        defaultJoueurShouldBeFound(shouldBeFound);
+        defaultJoueurShouldNotBeFound(shouldNotBeFound);
+    }
+
+    /**
+     * Executes the search, and checks that the default entity is returned.
+     */
+    private void defaultJoueurShouldBeFound(String filter) throws Exception {
+        restJoueurMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(joueur.getId().intValue())))
+            .andExpect(jsonPath("$.[*].pseudo").value(hasItem(DEFAULT_PSEUDO)))
+            .andExpect(jsonPath("$.[*].motDePasse").value(hasItem(DEFAULT_MOT_DE_PASSE)))
+            .andExpect(jsonPath("$.[*].dateInscription").value(hasItem(DEFAULT_DATE_INSCRIPTION.toString())))
+            .andExpect(jsonPath("$.[*].estAdministrateur").value(hasItem(DEFAULT_EST_ADMINISTRATEUR.booleanValue())));
+
+        // Check, that the count call also returns 1
+        restJoueurMockMvc
+            .perform(get(ENTITY_API_URL + "/count?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(content().string("1"));
+    }
+
+    /**
+     * Executes the search, and checks that the default entity is not returned.
+     */
+    private void defaultJoueurShouldNotBeFound(String filter) throws Exception {
+        restJoueurMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$").isArray())
+            .andExpect(jsonPath("$").isEmpty());
+
+        // Check, that the count call also returns 0
+        restJoueurMockMvc
+            .perform(get(ENTITY_API_URL + "/count?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(content().string("0"));
+    }
+
+    @Test
+    @Transactional
+    void getJoueurIsNotModifiedUntilItChanges() throws Exception {
+        // Initialize the database
+        insertedJoueur = joueurRepository.saveAndFlush(joueur);
+
+        // Get the joueur, then again with its ETag
+        String eTag = restJoueurMockMvc
+            .perform(get(ENTITY_API_URL_ID, joueur.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+        restJoueurMockMvc
+            .perform(get(ENTITY_API_URL_ID, joueur.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, eTag))
+            .andExpect(content().string(""));
+
+        // Update the joueur, the ETag no longer matches
+        joueurRepository.saveAndFlush(insertedJoueur.pseudo(UPDATED_PSEUDO));
+        restJoueurMockMvc
+            .perform(get(ENTITY_API_URL_ID, joueur.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+            .andExpect(jsonPath("$.pseudo").value(UPDATED_PSEUDO));
+    }
+
     @Test
     @Transactional
     void getNonExistingJoueur() throws Exception {
@@ -237,6 +569,47 @@ class JoueurResourceIT {
         assertSameRepositoryCount(databaseSizeBeforeUpdate);
     }
 
+    @Test
+    @Transactional
+    void putJoueurWithStaleVersion() throws Exception {
+        // Initialize the database
+        insertJoueurWithStaleVersion();
+
+        Joueur staleJoueur = new Joueur().id(joueur.getId()).pseudo(DEFAULT_PSEUDO).version(0);
+
+        assertConflict(put(ENTITY_API_URL_ID, staleJoueur.getId()), staleJoueur);
+
+        // The update of the other client is kept
+        assertThat(joueurRepository.findById(joueur.getId()).orElseThrow().getPseudo()).isEqualTo(UPDATED_PSEUDO);
+    }
+
+    @Test
+    @Transactional
+    void patchJoueurWithStaleVersion() throws Exception {
+        // Initialize the database
+        insertJoueurWithStaleVersion();
+
+        Joueur staleJoueur = new Joueur().id(joueur.getId()).pseudo(DEFAULT_PSEUDO).version(0);
+
+        assertConflict(patch(ENTITY_API_URL_ID, staleJoueur.getId()), staleJoueur);
+
+        // The update of the other client is kept
+        assertThat(joueurRepository.findById(joueur.getId()).orElseThrow().getPseudo()).isEqualTo(UPDATED_PSEUDO);
+    }
+
+    private void insertJoueurWithStaleVersion() {
+        insertedJoueur = joueurRepository.saveAndFlush(joueur);
+        // Another client updates the joueur meanwhile, from version 0 to 1
+        joueurRepository.saveAndFlush(insertedJoueur.pseudo(UPDATED_PSEUDO));
+    }
+
+    private void assertConflict(MockHttpServletRequestBuilder request, Joueur staleJoueur) throws Exception {
+        restJoueurMockMvc
+            .perform(request.contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(staleJoueur)))
+            .andExpect(status().isConflict())
+            .andExpect(jsonPath("$.message").value(ErrorConstants.ERR_CONCURRENCY_FAILURE));
+    }
+
     @Test
     @Transactional
     void putWithIdMismatchJoueur() throws Exception {
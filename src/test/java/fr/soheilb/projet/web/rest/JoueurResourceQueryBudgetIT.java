@@ -0,0 +1,241 @@
+package fr.soheilb.projet.web.rest;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fr.soheilb.projet.IntegrationTest;
+import fr.soheilb.projet.config.QueryBudget;
+import fr.soheilb.projet.domain.Joueur;
+import fr.soheilb.projet.domain.Region;
+import fr.soheilb.projet.domain.Ville;
+import fr.soheilb.projet.repository.JoueurRepository;
+import fr.soheilb.projet.service.JoueurService;
+import fr.soheilb.projet.service.RegionService;
+import fr.soheilb.projet.service.VilleService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Query budgets of the {@link JoueurResource} REST controller.
+ * <p>
+ * Each joueur has its own ville, so that loading them joueur by joueur would exceed the budgets. The calls are not run in
+ * a test transaction, so that their writes are flushed.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+class JoueurResourceQueryBudgetIT {
+
+    private static final String ENTITY_API_URL = "/api/joueurs";
+    private static final String ENTITY_API_URL_ID = ENTITY_API_URL + "/{id}";
+
+    private static final String PSEUDO_PREFIX = "budget-joueur-";
+
+    private static final int JOUEUR_COUNT = 3;
+
+    @Autowired
+    private ObjectMapper om;
+
+    @Autowired
+    private QueryBudget queryBudget;
+
+    @Autowired
+    private RegionService regionService;
+
+    @Autowired
+    private VilleService villeService;
+
+    @Autowired
+    private JoueurService joueurService;
+
+    @Autowired
+    private JoueurRepository joueurRepository;
+
+    @Autowired
+    private MockMvc restJoueurMockMvc;
+
+    private Region region;
+
+    private final List<Ville> villes = new ArrayList<>();
+
+    private final List<Joueur> joueurs = new ArrayList<>();
+
+    @BeforeEach
+    void insertEntities() {
+        region = regionService.save(new Region().nom("Budget Region"));
+        for (int i = 0; i < JOUEUR_COUNT; i++) {
+            Ville ville = villeService.save(new Ville().nom("Budget Ville " + i).nbHabitants(100).region(region));
+            villes.add(ville);
+            joueurs.add(joueurService.save(new Joueur().pseudo(PSEUDO_PREFIX + i).ville(ville)));
+        }
+    }
+
+    @AfterEach
+    void cleanup() {
+        joueurRepository
+            .findAll()
+            .stream()
+            .filter(joueur -> joueur.getPseudo() != null && joueur.getPseudo().startsWith(PSEUDO_PREFIX))
+            .forEach(joueur -> joueurService.delete(joueur.getId()));
+        villes.forEach(ville -> villeService.delete(ville.getId()));
+        regionService.delete(region.getId());
+    }
+
+    @Test
+    void createJoueur() throws Exception {
+        Joueur joueur = new Joueur().pseudo(PSEUDO_PREFIX + "created").ville(new Ville().id(villes.get(0).getId()));
+
+        queryBudget.assertAtMost(1, () ->
+            restJoueurMockMvc
+                .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(joueur)))
+                .andExpect(status().isCreated())
+        );
+    }
+
+    @Test
+    void createJoueursInBulk() throws Exception {
+        List<Joueur> created = villes
+            .stream()
+            .map(ville -> new Joueur().pseudo(PSEUDO_PREFIX + "bulk-" + ville.getId()).ville(new Ville().id(ville.getId())))
+            .toList();
+
+        // One query checks all the villes, then each joueur is an insert of the same JDBC batch
+        queryBudget.assertAtMost(1 + created.size(), () ->
+            restJoueurMockMvc
+                .perform(post(ENTITY_API_URL + "/_bulk").contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(created)))
+                .andExpect(status().isOk())
+        );
+    }
+
+    @Test
+    void partialUpdateJoueursInBulk() throws Exception {
+        List<Joueur> patches = joueurs
+            .stream()
+            .map(joueur -> new Joueur().id(joueur.getId()).pseudo(joueur.getPseudo() + "-bulk"))
+            .toList();
+
+        // One query loads all the joueurs, then each joueur is an update of the same JDBC batch
+        queryBudget.assertAtMost(1 + patches.size(), () ->
+            restJoueurMockMvc
+                .perform(
+                    patch(ENTITY_API_URL + "/_bulk").contentType("application/merge-patch+json").content(om.writeValueAsBytes(patches))
+                )
+                .andExpect(status().isOk())
+        );
+    }
+
+    @Test
+    void updateJoueur() throws Exception {
+        Joueur joueur = joueurs.get(0);
+        Joueur updated = new Joueur().id(joueur.getId()).pseudo(PSEUDO_PREFIX + "updated").ville(new Ville().id(villes.get(1).getId()));
+
+        queryBudget.assertAtMost(2, () ->
+            restJoueurMockMvc
+                .perform(
+                    put(ENTITY_API_URL_ID, joueur.getId()).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(updated))
+                )
+                .andExpect(status().isOk())
+        );
+    }
+
+    @Test
+    void partialUpdateJoueur() throws Exception {
+        Joueur joueur = joueurs.get(0);
+        Joueur patch = new Joueur().id(joueur.getId()).pseudo(PSEUDO_PREFIX + "patched");
+
+        queryBudget.assertAtMost(2, () ->
+            restJoueurMockMvc
+                .perform(
+                    patch(ENTITY_API_URL_ID, joueur.getId())
+                        .contentType("application/merge-patch+json")
+                        .content(om.writeValueAsBytes(patch))
+                )
+                .andExpect(status().isOk())
+        );
+    }
+
+    @Test
+    void getAllJoueurs() throws Exception {
+        queryBudget.assertAtMost(1, () ->
+            restJoueurMockMvc.perform(get(ENTITY_API_URL + "?villeId.in=" + villeIds())).andExpect(status().isOk())
+        );
+    }
+
+    @Test
+    void getAllJoueursExpandingVille() throws Exception {
+        queryBudget.assertAtMost(1, () ->
+            restJoueurMockMvc.perform(get(ENTITY_API_URL + "?expand=ville&villeId.in=" + villeIds())).andExpect(status().isOk())
+        );
+    }
+
+    @Test
+    void countJoueurs() throws Exception {
+        queryBudget.assertAtMost(1, () ->
+            restJoueurMockMvc.perform(get(ENTITY_API_URL + "/count?villeId.in=" + villeIds())).andExpect(status().isOk())
+        );
+    }
+
+    @Test
+    void getJoueursByIds() throws Exception {
+        List<Long> ids = joueurs.stream().map(Joueur::getId).toList();
+
+        queryBudget.assertAtMost(1, () ->
+            restJoueurMockMvc
+                .perform(post(ENTITY_API_URL + "/_batch").contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(ids)))
+                .andExpect(status().isOk())
+        );
+    }
+
+    @Test
+    void getJoueur() throws Exception {
+        Long id = joueurs.get(0).getId();
+
+        queryBudget.assertAtMost(2, () -> restJoueurMockMvc.perform(get(ENTITY_API_URL_ID, id)).andExpect(status().isOk()));
+        queryBudget.assertAtMost(1, () ->
+            restJoueurMockMvc.perform(get(ENTITY_API_URL_ID + "?expand=ville", id)).andExpect(status().isOk())
+        );
+    }
+
+    @Test
+    void getNotModifiedJoueur() throws Exception {
+        Long id = joueurs.get(0).getId();
+        String eTag = restJoueurMockMvc.perform(get(ENTITY_API_URL_ID, id)).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        queryBudget.assertAtMost(1, () ->
+            restJoueurMockMvc
+                .perform(get(ENTITY_API_URL_ID, id).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+        );
+    }
+
+    @Test
+    void getJoueurByPseudo() throws Exception {
+        queryBudget.assertAtMost(1, () ->
+            restJoueurMockMvc.perform(get(ENTITY_API_URL + "/by-pseudo/{pseudo}", PSEUDO_PREFIX + 0)).andExpect(status().isOk())
+        );
+    }
+
+    @Test
+    void deleteJoueur() throws Exception {
+        Joueur joueur = joueurService.save(new Joueur().pseudo(PSEUDO_PREFIX + "deleted"));
+
+        queryBudget.assertAtMost(2, () ->
+            restJoueurMockMvc.perform(delete(ENTITY_API_URL_ID, joueur.getId())).andExpect(status().isNoContent())
+        );
+    }
+
+    private String villeIds() {
+        return villes.stream().map(ville -> ville.getId().toString()).collect(Collectors.joining(","));
+    }
+}
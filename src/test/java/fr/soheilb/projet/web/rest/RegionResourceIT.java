@@ -3,6 +3,7 @@ package fr.soheilb.projet.web.rest;
 import static fr.soheilb.projet.domain.RegionAsserts.*;
 import static fr.soheilb.projet.web.rest.TestUtil.createUpdateProxyForBean;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.hasItem;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -10,7 +11,11 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import com.fasterxml.jackson.databind.ObjectMapper;
 import fr.soheilb.projet.IntegrationTest;
 import fr.soheilb.projet.domain.Region;
+import fr.soheilb.projet.domain.Ville;
+import fr.soheilb.projet.domain.Joueur;
 import fr.soheilb.projet.repository.RegionRepository;
+import fr.soheilb.projet.service.RegionStatsService;
+import fr.soheilb.projet.web.rest.errors.ErrorConstants;
 import jakarta.persistence.EntityManager;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
@@ -19,9 +24,12 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -50,6 +58,9 @@ class RegionResourceIT {
     @Autowired
     private EntityManager em;
 
+    @Autowired
+    private CacheManager cacheManager;
+
     @Autowired
     private MockMvc restRegionMockMvc;
 
@@ -80,12 +91,14 @@ class RegionResourceIT {
     @BeforeEach
     public void initTest() {
         region = createEntity();
+        cacheManager.getCache(RegionStatsService.REGION_STATS_CACHE).clear();
     }
 
     @AfterEach
     public void cleanup() {
         if (insertedRegion != null) {
-            regionRepository.delete(insertedRegion);
+            // By id, as the updates through the REST API leave insertedRegion with a former version
+            regionRepository.deleteById(insertedRegion.getId());
             insertedRegion = null;
         }
     }
@@ -159,6 +172,383 @@ class RegionResourceIT {
             .andExpect(jsonPath("$.nom").value(DEFAULT_NOM));
     }
 
+    @Test
+    @Transactional
+    void getRegionStats() throws Exception {
+        // Initialize the database
+        insertedRegion = regionRepository.saveAndFlush(region);
+        Ville small = VilleResourceIT.createEntity().nbHabitants(10).region(region);
+        Ville big = VilleResourceIT.createEntity().nbHabitants(30).region(region);
+        em.persist(small);
+        em.persist(big);
+        em.persist(JoueurResourceIT.createEntity().ville(big));
+        em.persist(JoueurResourceIT.createEntity().ville(big));
+        em.flush();
+
+        restRegionMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/stats", region.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.regionId").value(region.getId().intValue()))
+            .andExpect(jsonPath("$.regionNom").value(DEFAULT_NOM))
+            .andExpect(jsonPath("$.villeCount").value(2))
+            .andExpect(jsonPath("$.totalHabitants").value(40))
+            .andExpect(jsonPath("$.averageHabitants").value(20.0))
+            .andExpect(jsonPath("$.joueurCount").value(2));
+
+        restRegionMockMvc
+            .perform(get(ENTITY_API_URL + "/stats"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[?(@.regionId == " + region.getId() + ")].villeCount").value(hasItem(2)))
+            .andExpect(jsonPath("$.[?(@.regionId == " + region.getId() + ")].joueurCount").value(hasItem(2)));
+    }
+
+    @Test
+    @Transactional
+    void getStatsOfRegionWithoutVille() throws Exception {
+        // Initialize the database
+        insertedRegion = regionRepository.saveAndFlush(region);
+
+        restRegionMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/stats", region.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.villeCount").value(0))
+            .andExpect(jsonPath("$.totalHabitants").value(0))
+            .andExpect(jsonPath("$.averageHabitants").doesNotExist())
+            .andExpect(jsonPath("$.joueurCount").value(0));
+    }
+
+    @Test
+    @Transactional
+    void getRegionVilles() throws Exception {
+        // Initialize the database
+        insertedRegion = regionRepository.saveAndFlush(region);
+        em.persist(VilleResourceIT.createEntity().nom("Bbb").region(region));
+        em.persist(VilleResourceIT.createEntity().nom("Aaa").region(region));
+        em.persist(VilleResourceIT.createEntity().nom("Ccc"));
+        em.flush();
+
+        restRegionMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/villes", region.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.[*].nom").value(contains("Aaa", "Bbb")));
+    }
+
+    @Test
+    @Transactional
+    void getRegionStatsIsEvictedOnVilleWrite() throws Exception {
+        // Initialize the database
+        insertedRegion = regionRepository.saveAndFlush(region);
+
+        restRegionMockMvc.perform(get(ENTITY_API_URL_ID + "/stats", region.getId())).andExpect(jsonPath("$.villeCount").value(0));
+
+        Ville ville = VilleResourceIT.createEntity().nbHabitants(5).region(region);
+        restRegionMockMvc
+            .perform(post("/api/villes").contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(ville)))
+            .andExpect(status().isCreated());
+
+        restRegionMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/stats", region.getId()))
+            .andExpect(jsonPath("$.villeCount").value(1))
+            .andExpect(jsonPath("$.totalHabitants").value(5));
+    }
+
+    @Test
+    @Transactional
+    void getRegionPopulationIsMaintainedByVilleWrites() throws Exception {
+        // Initialize the database
+        insertedRegion = regionRepository.saveAndFlush(region);
+        Region otherRegion = regionRepository.saveAndFlush(createEntity());
+
+        restRegionMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/population", region.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.regionId").value(region.getId().intValue()))
+            .andExpect(jsonPath("$.population").value(0))
+            .andExpect(jsonPath("$.villeCount").value(0));
+
+        Ville ville = om.readValue(
+            restRegionMockMvc
+                .perform(
+                    post("/api/villes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsBytes(VilleResourceIT.createEntity().nbHabitants(100).region(region)))
+                )
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(),
+            Ville.class
+        );
+        restRegionMockMvc
+            .perform(
+                post("/api/villes")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(VilleResourceIT.createEntity().nbHabitants(20).region(region)))
+            )
+            .andExpect(status().isCreated());
+        assertPopulation(region, 120, 2);
+
+        restRegionMockMvc
+            .perform(
+                patch("/api/villes/{id}", ville.getId())
+                    .contentType("application/merge-patch+json")
+                    .content(om.writeValueAsBytes(new Ville().id(ville.getId()).nbHabitants(150)))
+            )
+            .andExpect(status().isOk());
+        assertPopulation(region, 170, 2);
+
+        // The PUT below replaces the patched version of the ville
+        ville = om.readValue(
+            restRegionMockMvc.perform(get("/api/villes/{id}", ville.getId())).andReturn().getResponse().getContentAsString(),
+            Ville.class
+        );
+
+        restRegionMockMvc
+            .perform(
+                put("/api/villes/{id}", ville.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(ville.nbHabitants(200).region(otherRegion)))
+            )
+            .andExpect(status().isOk());
+        assertPopulation(region, 20, 1);
+        assertPopulation(otherRegion, 200, 1);
+
+        restRegionMockMvc.perform(delete("/api/villes/{id}", ville.getId())).andExpect(status().isNoContent());
+        assertPopulation(otherRegion, 0, 0);
+    }
+
+    private void assertPopulation(Region region, long population, long villeCount) throws Exception {
+        restRegionMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/population", region.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.population").value(population))
+            .andExpect(jsonPath("$.villeCount").value(villeCount));
+    }
+
+    @Test
+    @Transactional
+    void getNonExistingRegionPopulation() throws Exception {
+        restRegionMockMvc.perform(get(ENTITY_API_URL_ID + "/population", Long.MAX_VALUE)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    @Transactional
+    void getNonExistingRegionStats() throws Exception {
+        restRegionMockMvc.perform(get(ENTITY_API_URL_ID + "/stats", Long.MAX_VALUE)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    @Transactional
+    void getRegionsByIds() throws Exception {
+        // Initialize the database
+        insertedRegion = regionRepository.saveAndFlush(region);
+        Region otherRegion = regionRepository.saveAndFlush(createEntity());
+
+        restRegionMockMvc
+            .perform(
+                post(ENTITY_API_URL + "/_batch")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(new Long[] { otherRegion.getId(), Long.MAX_VALUE, region.getId(), otherRegion.getId() }))
+            )
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.[*].id").value(contains(otherRegion.getId().intValue(), region.getId().intValue())));
+    }
+
+    @Test
+    @Transactional
+    void getRegionsByIdFiltering() throws Exception {
+        // Initialize the database
+        insertedRegion = regionRepository.saveAndFlush(region);
+
+        Long id = region.getId();
+
+        defaultRegionFiltering("id.equals=" + id, "id.notEquals=" + id);
+
+        defaultRegionFiltering("id.greaterThanOrEqual=" + id, "id.greaterThan=" + id);
+
+        defaultRegionFiltering("id.lessThanOrEqual=" + id, "id.lessThan=" + id);
+    }
+
+    @Test
+    @Transactional
+    void getAllRegionsByNomIsEqualToSomething() throws Exception {
+        // Initialize the database
+        insertedRegion = regionRepository.saveAndFlush(region);
+
+        // Get all the regionList where nom equals to
+        defaultRegionFiltering("nom.equals=" + DEFAULT_NOM, "nom.equals=" + UPDATED_NOM);
+    }
+
+    @Test
+    @Transactional
+    void getAllRegionsByNomIsInShouldWork() throws Exception {
+        // Initialize the database
+        insertedRegion = regionRepository.saveAndFlush(region);
+
+        // Get all the regionList where nom in
+        defaultRegionFiltering("nom.in=" + DEFAULT_NOM + "," + UPDATED_NOM, "nom.in=" + UPDATED_NOM);
+    }
+
+    @Test
+    @Transactional
+    void getAllRegionsByNomIsNullOrNotNull() throws Exception {
+        // Initialize the database
+        insertedRegion = regionRepository.saveAndFlush(region);
+
+        // Get all the regionList where nom is not null
+        defaultRegionFiltering("nom.specified=true", "nom.specified=false");
+    }
+
+    @Test
+    @Transactional
+    void getAllRegionsByNomContainsSomething() throws Exception {
+        // Initialize the database
+        insertedRegion = regionRepository.saveAndFlush(region);
+
+        // Get all the regionList where nom contains
+        defaultRegionFiltering("nom.contains=" + DEFAULT_NOM, "nom.contains=" + UPDATED_NOM);
+    }
+
+    @Test
+    @Transactional
+    void getAllRegionsByNomNotContainsSomething() throws Exception {
+        // Initialize the database
+        insertedRegion = regionRepository.saveAndFlush(region);
+
+        // Get all the regionList where nom does not contain
+        defaultRegionFiltering("nom.doesNotContain=" + UPDATED_NOM, "nom.doesNotContain=" + DEFAULT_NOM);
+    }
+
+    @Test
+    @Transactional
+    void getAllRegionsByVillesIsEqualToSomething() throws Exception {
+        insertedRegion = regionRepository.saveAndFlush(region);
+        Ville villes = VilleResourceIT.createEntity();
+        villes.setRegion(region);
+        em.persist(villes);
+        em.flush();
+        Long villesId = villes.getId();
+
+        // Get all the regionList where villes equals to villesId
+        defaultRegionShouldBeFound("villesId.equals=" + villesId);
+
+        // Get all the regionList where villes equals to (villesId + 1)
+        defaultRegionShouldNotBeFound("villesId.equals=" + (villesId + 1));
+    }
+
+    private void defaultRegionFiltering(String shouldBeFound, String shouldNotBeFound) throws Exception {
+        defaultRegionShouldBeFound(shouldBeFound);
+        defaultRegionShouldNotBeFound(shouldNotBeFound);
+    }
+
+    /**
+     * Executes the search, and checks that the default entity is returned.
+     */
+    private void defaultRegionShouldBeFound(String filter) throws Exception {
+        restRegionMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(region.getId().intValue())))
+            .andExpect(jsonPath("$.[*].nom").value(hasItem(DEFAULT_NOM)));
+
+        // Check, that the count call also returns 1
+        restRegionMockMvc
+            .perform(get(ENTITY_API_URL + "/count?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(content().string("1"));
+    }
+
+    /**
+     * Executes the search, and checks that the default entity is not returned.
+     */
+    private void defaultRegionShouldNotBeFound(String filter) throws Exception {
+        restRegionMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$").isArray())
+            .andExpect(jsonPath("$").isEmpty());
+
+        // Check, that the count call also returns 0
+        restRegionMockMvc
+            .perform(get(ENTITY_API_URL + "/count?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(content().string("0"));
+    }
+
+    @Test
+    @Transactional
+    void getRegionIsNotModifiedUntilItChanges() throws Exception {
+        // Initialize the database
+        insertedRegion = regionRepository.saveAndFlush(region);
+
+        // Get the region, then again with its ETag
+        String eTag = restRegionMockMvc
+            .perform(get(ENTITY_API_URL_ID, region.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+        restRegionMockMvc
+            .perform(get(ENTITY_API_URL_ID, region.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, eTag))
+            .andExpect(content().string(""));
+
+        // Update the region, the ETag no longer matches
+        regionRepository.saveAndFlush(insertedRegion.nom(UPDATED_NOM));
+        restRegionMockMvc
+            .perform(get(ENTITY_API_URL_ID, region.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+            .andExpect(jsonPath("$.nom").value(UPDATED_NOM));
+    }
+
+    @Test
+    @Transactional
+    void getAllRegionsIsNotModifiedUntilARegionChanges() throws Exception {
+        // Initialize the database
+        insertedRegion = regionRepository.saveAndFlush(region);
+
+        // Get all the regions, then again with their ETag
+        String eTag = restRegionMockMvc
+            .perform(get(ENTITY_API_URL))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.ETAG))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+        restRegionMockMvc
+            .perform(get(ENTITY_API_URL).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+
+        // Update a region, the ETag no longer matches
+        regionRepository.saveAndFlush(insertedRegion.nom(UPDATED_NOM));
+        restRegionMockMvc
+            .perform(get(ENTITY_API_URL).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].nom").value(hasItem(UPDATED_NOM)));
+
+        // Delete it, the ETag changes again
+        String updatedETag = restRegionMockMvc
+            .perform(get(ENTITY_API_URL))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+        regionRepository.delete(insertedRegion);
+        regionRepository.flush();
+        insertedRegion = null;
+        restRegionMockMvc.perform(get(ENTITY_API_URL).header(HttpHeaders.IF_NONE_MATCH, updatedETag)).andExpect(status().isOk());
+    }
+
     @Test
     @Transactional
     void getNonExistingRegion() throws Exception {
@@ -208,6 +598,47 @@ class RegionResourceIT {
         assertSameRepositoryCount(databaseSizeBeforeUpdate);
     }
 
+    @Test
+    @Transactional
+    void putRegionWithStaleVersion() throws Exception {
+        // Initialize the database
+        insertRegionWithStaleVersion();
+
+        Region staleRegion = new Region().id(region.getId()).nom(DEFAULT_NOM).version(0);
+
+        assertConflict(put(ENTITY_API_URL_ID, staleRegion.getId()), staleRegion);
+
+        // The update of the other client is kept
+        assertThat(regionRepository.findById(region.getId()).orElseThrow().getNom()).isEqualTo(UPDATED_NOM);
+    }
+
+    @Test
+    @Transactional
+    void patchRegionWithStaleVersion() throws Exception {
+        // Initialize the database
+        insertRegionWithStaleVersion();
+
+        Region staleRegion = new Region().id(region.getId()).nom(DEFAULT_NOM).version(0);
+
+        assertConflict(patch(ENTITY_API_URL_ID, staleRegion.getId()), staleRegion);
+
+        // The update of the other client is kept
+        assertThat(regionRepository.findById(region.getId()).orElseThrow().getNom()).isEqualTo(UPDATED_NOM);
+    }
+
+    private void insertRegionWithStaleVersion() {
+        insertedRegion = regionRepository.saveAndFlush(region);
+        // Another client updates the region meanwhile, from version 0 to 1
+        regionRepository.saveAndFlush(insertedRegion.nom(UPDATED_NOM));
+    }
+
+    private void assertConflict(MockHttpServletRequestBuilder request, Region staleRegion) throws Exception {
+        restRegionMockMvc
+            .perform(request.contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(staleRegion)))
+            .andExpect(status().isConflict())
+            .andExpect(jsonPath("$.message").value(ErrorConstants.ERR_CONCURRENCY_FAILURE));
+    }
+
     @Test
     @Transactional
     void putWithIdMismatchRegion() throws Exception {
@@ -0,0 +1,226 @@
+package fr.soheilb.projet.web.rest;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fr.soheilb.projet.IntegrationTest;
+import fr.soheilb.projet.config.QueryBudget;
+import fr.soheilb.projet.domain.Region;
+import fr.soheilb.projet.domain.Ville;
+import fr.soheilb.projet.service.RegionService;
+import fr.soheilb.projet.service.RegionStatsService;
+import fr.soheilb.projet.service.VilleService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Query budgets of the {@link RegionResource} REST controller.
+ * <p>
+ * Each region has villes, so that loading them region by region would exceed the budgets. The calls are not run in a
+ * test transaction, so that their writes are flushed.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+class RegionResourceQueryBudgetIT {
+
+    private static final String ENTITY_API_URL = "/api/regions";
+    private static final String ENTITY_API_URL_ID = ENTITY_API_URL + "/{id}";
+
+    private static final int REGION_COUNT = 3;
+
+    private static final int VILLE_COUNT = 2;
+
+    @Autowired
+    private ObjectMapper om;
+
+    @Autowired
+    private QueryBudget queryBudget;
+
+    @Autowired
+    private RegionService regionService;
+
+    @Autowired
+    private VilleService villeService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MockMvc restRegionMockMvc;
+
+    private final List<Region> regions = new ArrayList<>();
+
+    private final List<Ville> villes = new ArrayList<>();
+
+    @BeforeEach
+    void insertEntities() {
+        for (int i = 0; i < REGION_COUNT; i++) {
+            Region region = regionService.save(new Region().nom("Budget Region " + i));
+            regions.add(region);
+            for (int j = 0; j < VILLE_COUNT; j++) {
+                villes.add(villeService.save(new Ville().nom("Budget Ville " + i + "-" + j).nbHabitants(100).region(region)));
+            }
+        }
+        Objects.requireNonNull(cacheManager.getCache(RegionStatsService.REGION_STATS_CACHE)).clear();
+    }
+
+    @AfterEach
+    void cleanup() {
+        villes.forEach(ville -> villeService.delete(ville.getId()));
+        regions.forEach(region -> regionService.delete(region.getId()));
+    }
+
+    @Test
+    void createRegion() throws Exception {
+        Region region = new Region().nom("Budget Region");
+
+        String location = queryBudget
+            .assertAtMost(2, () ->
+                restRegionMockMvc
+                    .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(region)))
+                    .andExpect(status().isCreated())
+            )
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.LOCATION);
+        regions.add(new Region().id(idOf(location)));
+    }
+
+    @Test
+    void updateRegion() throws Exception {
+        Region region = regions.get(0);
+        Region updated = new Region().id(region.getId()).nom("Budget Region Updated");
+
+        queryBudget.assertAtMost(2, () ->
+            restRegionMockMvc
+                .perform(
+                    put(ENTITY_API_URL_ID, region.getId()).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(updated))
+                )
+                .andExpect(status().isOk())
+        );
+    }
+
+    @Test
+    void partialUpdateRegion() throws Exception {
+        Region region = regions.get(0);
+        Region patch = new Region().id(region.getId()).nom("Budget Region Patched");
+
+        queryBudget.assertAtMost(2, () ->
+            restRegionMockMvc
+                .perform(
+                    patch(ENTITY_API_URL_ID, region.getId())
+                        .contentType("application/merge-patch+json")
+                        .content(om.writeValueAsBytes(patch))
+                )
+                .andExpect(status().isOk())
+        );
+    }
+
+    @Test
+    void getAllRegions() throws Exception {
+        queryBudget.assertAtMost(2, () -> restRegionMockMvc.perform(get(ENTITY_API_URL)).andExpect(status().isOk()));
+    }
+
+    @Test
+    void getNotModifiedRegions() throws Exception {
+        String eTag = restRegionMockMvc.perform(get(ENTITY_API_URL)).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        queryBudget.assertAtMost(1, () ->
+            restRegionMockMvc.perform(get(ENTITY_API_URL).header(HttpHeaders.IF_NONE_MATCH, eTag)).andExpect(status().isNotModified())
+        );
+    }
+
+    @Test
+    void getAllRegionsByVilles() throws Exception {
+        queryBudget.assertAtMost(1, () ->
+            restRegionMockMvc.perform(get(ENTITY_API_URL + "?villesId.equals=" + villes.get(0).getId())).andExpect(status().isOk())
+        );
+    }
+
+    @Test
+    void countRegions() throws Exception {
+        queryBudget.assertAtMost(1, () -> restRegionMockMvc.perform(get(ENTITY_API_URL + "/count")).andExpect(status().isOk()));
+    }
+
+    @Test
+    void getRegionsByIds() throws Exception {
+        List<Long> ids = regions.stream().map(Region::getId).toList();
+
+        queryBudget.assertAtMost(1, () ->
+            restRegionMockMvc
+                .perform(post(ENTITY_API_URL + "/_batch").contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(ids)))
+                .andExpect(status().isOk())
+        );
+    }
+
+    @Test
+    void getAllRegionStats() throws Exception {
+        queryBudget.assertAtMost(1, () -> restRegionMockMvc.perform(get(ENTITY_API_URL + "/stats")).andExpect(status().isOk()));
+    }
+
+    @Test
+    void getRegionStats() throws Exception {
+        queryBudget.assertAtMost(1, () ->
+            restRegionMockMvc.perform(get(ENTITY_API_URL_ID + "/stats", regions.get(0).getId())).andExpect(status().isOk())
+        );
+    }
+
+    @Test
+    void getRegionPopulation() throws Exception {
+        queryBudget.assertAtMost(1, () ->
+            restRegionMockMvc.perform(get(ENTITY_API_URL_ID + "/population", regions.get(0).getId())).andExpect(status().isOk())
+        );
+    }
+
+    @Test
+    void getRegionVilles() throws Exception {
+        queryBudget.assertAtMost(1, () ->
+            restRegionMockMvc.perform(get(ENTITY_API_URL_ID + "/villes", regions.get(0).getId())).andExpect(status().isOk())
+        );
+    }
+
+    @Test
+    void getRegion() throws Exception {
+        queryBudget.assertAtMost(2, () ->
+            restRegionMockMvc.perform(get(ENTITY_API_URL_ID, regions.get(0).getId())).andExpect(status().isOk())
+        );
+    }
+
+    @Test
+    void getNotModifiedRegion() throws Exception {
+        Long id = regions.get(0).getId();
+        String eTag = restRegionMockMvc.perform(get(ENTITY_API_URL_ID, id)).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        queryBudget.assertAtMost(1, () ->
+            restRegionMockMvc
+                .perform(get(ENTITY_API_URL_ID, id).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+        );
+    }
+
+    @Test
+    void deleteRegion() throws Exception {
+        Region region = regionService.save(new Region().nom("Budget Region Deleted"));
+
+        queryBudget.assertAtMost(3, () ->
+            restRegionMockMvc.perform(delete(ENTITY_API_URL_ID, region.getId())).andExpect(status().isNoContent())
+        );
+    }
+
+    private static Long idOf(String location) {
+        return Long.valueOf(location.substring(location.lastIndexOf('/') + 1));
+    }
+}
@@ -0,0 +1,144 @@
+package fr.soheilb.projet.web.rest;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fr.soheilb.projet.IntegrationTest;
+import fr.soheilb.projet.config.QueryBudget;
+import fr.soheilb.projet.domain.User;
+import fr.soheilb.projet.repository.AuthorityRepository;
+import fr.soheilb.projet.repository.UserRepository;
+import fr.soheilb.projet.security.AuthoritiesConstants;
+import fr.soheilb.projet.service.UserService;
+import fr.soheilb.projet.service.dto.AdminUserDTO;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Query budgets of the {@link UserResource} REST controller.
+ * <p>
+ * Each user has authorities, so that loading them user by user would exceed the budgets. The calls are not run in a test
+ * transaction, so that their writes are flushed, and the user caches are cleared before each call.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+class UserResourceQueryBudgetIT {
+
+    private static final String LOGIN_PREFIX = "budget-user-";
+
+    private static final int USER_COUNT = 3;
+
+    @Autowired
+    private ObjectMapper om;
+
+    @Autowired
+    private QueryBudget queryBudget;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AuthorityRepository authorityRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MockMvc restUserMockMvc;
+
+    private final List<User> users = new ArrayList<>();
+
+    @BeforeEach
+    void insertUsers() {
+        for (int i = 0; i < USER_COUNT; i++) {
+            User user = UserResourceIT.createEntity();
+            user.setLogin(LOGIN_PREFIX + i);
+            user.setEmail(LOGIN_PREFIX + i + "@localhost");
+            user.getAuthorities().add(authorityRepository.findById(AuthoritiesConstants.USER).orElseThrow());
+            user.getAuthorities().add(authorityRepository.findById(AuthoritiesConstants.ADMIN).orElseThrow());
+            users.add(userRepository.saveAndFlush(user));
+        }
+        clearUserCaches();
+    }
+
+    @AfterEach
+    void cleanup() {
+        for (int i = 0; i < USER_COUNT; i++) {
+            userService.deleteUser(LOGIN_PREFIX + i);
+        }
+        userService.deleteUser(LOGIN_PREFIX + "created");
+        clearUserCaches();
+    }
+
+    @Test
+    void createUser() throws Exception {
+        AdminUserDTO userDTO = new AdminUserDTO();
+        userDTO.setLogin(LOGIN_PREFIX + "created");
+        userDTO.setEmail(LOGIN_PREFIX + "created@localhost");
+        userDTO.setLangKey("en");
+        userDTO.setAuthorities(Set.of(AuthoritiesConstants.USER));
+
+        queryBudget.assertAtMost(5, () ->
+            restUserMockMvc
+                .perform(post("/api/admin/users").contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(userDTO)))
+                .andExpect(status().isCreated())
+        );
+    }
+
+    @Test
+    void updateUser() throws Exception {
+        AdminUserDTO userDTO = new AdminUserDTO(users.get(0));
+        userDTO.setFirstName("Budget");
+        userDTO.setAuthorities(Set.of(AuthoritiesConstants.USER));
+
+        queryBudget.assertAtMost(6, () ->
+            restUserMockMvc
+                .perform(
+                    put("/api/admin/users/{login}", userDTO.getLogin())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsBytes(userDTO))
+                )
+                .andExpect(status().isOk())
+        );
+    }
+
+    @Test
+    void getAllUsers() throws Exception {
+        queryBudget.assertAtMost(2, () -> restUserMockMvc.perform(get("/api/admin/users?sort=id,desc")).andExpect(status().isOk()));
+    }
+
+    @Test
+    void getUser() throws Exception {
+        queryBudget.assertAtMost(1, () ->
+            restUserMockMvc.perform(get("/api/admin/users/{login}", LOGIN_PREFIX + 0)).andExpect(status().isOk())
+        );
+    }
+
+    @Test
+    void deleteUser() throws Exception {
+        queryBudget.assertAtMost(3, () ->
+            restUserMockMvc.perform(delete("/api/admin/users/{login}", LOGIN_PREFIX + 0)).andExpect(status().isNoContent())
+        );
+    }
+
+    private void clearUserCaches() {
+        Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE)).clear();
+        Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_EMAIL_CACHE)).clear();
+    }
+}
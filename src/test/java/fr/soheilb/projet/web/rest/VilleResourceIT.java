@@ -3,15 +3,26 @@ package fr.soheilb.projet.web.rest;
 import static fr.soheilb.projet.domain.VilleAsserts.*;
 import static fr.soheilb.projet.web.rest.TestUtil.createUpdateProxyForBean;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import fr.soheilb.projet.IntegrationTest;
+import fr.soheilb.projet.domain.Region;
 import fr.soheilb.projet.domain.Ville;
+import fr.soheilb.projet.repository.RegionRepository;
 import fr.soheilb.projet.repository.VilleRepository;
+import fr.soheilb.projet.security.AuthoritiesConstants;
+import fr.soheilb.projet.service.VilleSuggestService;
+import fr.soheilb.projet.web.rest.errors.ErrorConstants;
 import jakarta.persistence.EntityManager;
+import java.util.Arrays;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
 import org.junit.jupiter.api.AfterEach;
@@ -19,9 +30,11 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -53,6 +66,12 @@ class VilleResourceIT {
     @Autowired
     private VilleRepository villeRepository;
 
+    @Autowired
+    private RegionRepository regionRepository;
+
+    @Autowired
+    private VilleSuggestService villeSuggestService;
+
     @Autowired
     private EntityManager em;
 
@@ -91,7 +110,8 @@ class VilleResourceIT {
     @AfterEach
     public void cleanup() {
         if (insertedVille != null) {
-            villeRepository.delete(insertedVille);
+            // By id, as the updates through the REST API leave insertedVille with a former version
+            villeRepository.deleteById(insertedVille.getId());
             insertedVille = null;
         }
     }
@@ -118,6 +138,168 @@ class VilleResourceIT {
         insertedVille = returnedVille;
     }
 
+    @Test
+    @Transactional
+    void createVilleWithRegionGivenById() throws Exception {
+        Region region = RegionResourceIT.createEntity();
+        em.persist(region);
+        em.flush();
+        em.clear();
+        // The region of the request only has its id, not its version
+        Region regionReference = new Region();
+        regionReference.setId(region.getId());
+        ville.setRegion(regionReference);
+
+        var returnedVille = om.readValue(
+            restVilleMockMvc
+                .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(ville)))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(),
+            Ville.class
+        );
+        insertedVille = returnedVille;
+
+        em.flush();
+        em.clear();
+        assertThat(villeRepository.findById(returnedVille.getId()).orElseThrow().getRegion().getId()).isEqualTo(region.getId());
+    }
+
+    @Test
+    @Transactional
+    @WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+    void importVillesFromCsv() throws Exception {
+        long databaseSizeBeforeImport = getRepositoryCount();
+        long regionCountBeforeImport = regionRepository.count();
+        String csv = String.join(
+            "\n",
+            "nom;code_postal;nb_habitants;region",
+            "Import Ville A;01000;100;Import Region",
+            "\"Import; Ville B\";01001;;import region",
+            "Import Ville C;01002;not a number;Import Region",
+            "",
+            ";01003;10;Import Region"
+        );
+
+        restVilleMockMvc
+            .perform(post(ENTITY_API_URL + "/_import").contentType("text/csv").content(csv))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.linesRead").value(4))
+            .andExpect(jsonPath("$.imported").value(2))
+            .andExpect(jsonPath("$.failed").value(2))
+            .andExpect(jsonPath("$.regionsCreated").value(1))
+            .andExpect(jsonPath("$.errors.[*].line").value(contains(4, 6)));
+
+        assertThat(getRepositoryCount()).isEqualTo(databaseSizeBeforeImport + 2);
+        assertThat(regionRepository.count()).isEqualTo(regionCountBeforeImport + 1);
+        Region region = regionRepository.findFirstByNomIgnoreCase("Import Region").orElseThrow();
+        assertThat(villeRepository.findAll())
+            .filteredOn(imported -> imported.getNom().startsWith("Import"))
+            .extracting(Ville::getNom, Ville::getNbHabitants, imported -> imported.getRegion().getId())
+            .containsExactlyInAnyOrder(tuple("Import Ville A", 100, region.getId()), tuple("Import; Ville B", null, region.getId()));
+        restVilleMockMvc
+            .perform(get("/api/regions/{id}/population", region.getId()))
+            .andExpect(jsonPath("$.population").value(100))
+            .andExpect(jsonPath("$.villeCount").value(2));
+    }
+
+    @Test
+    @Transactional
+    @WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+    void importVillesFromNdjson() throws Exception {
+        long databaseSizeBeforeImport = getRepositoryCount();
+        String ndjson = String.join(
+            "\n",
+            "{\"nom\":\"Import Ville A\",\"codePostal\":\"01000\",\"nbHabitants\":100}",
+            "{\"nom\":",
+            "{\"nom\":\"Import Ville B\"}"
+        );
+
+        restVilleMockMvc
+            .perform(post(ENTITY_API_URL + "/_import").contentType("application/x-ndjson").content(ndjson))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.imported").value(2))
+            .andExpect(jsonPath("$.failed").value(1))
+            .andExpect(jsonPath("$.errors.[0].line").value(2));
+
+        assertThat(getRepositoryCount()).isEqualTo(databaseSizeBeforeImport + 2);
+    }
+
+    @Test
+    @Transactional
+    @WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+    void importVillesWithoutNomColumn() throws Exception {
+        restVilleMockMvc
+            .perform(post(ENTITY_API_URL + "/_import").contentType("text/csv").content("code_postal,region\n01000,Import Region"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void importVillesIsForAdmins() throws Exception {
+        restVilleMockMvc
+            .perform(post(ENTITY_API_URL + "/_import").contentType("text/csv").content("nom\nImport Ville A"))
+            .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @Transactional
+    void exportVillesAsNdjson() throws Exception {
+        // Initialize the database
+        Region region = new Region().nom("Export Region");
+        em.persist(region);
+        insertedVille = villeRepository.saveAndFlush(ville.region(region));
+
+        String ndjson = restVilleMockMvc
+            .perform(get(ENTITY_API_URL + "/_export"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+            .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, containsString("villes.ndjson")))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+        String[] lines = ndjson.split("\n");
+        assertThat(lines).hasSize((int) getRepositoryCount());
+        JsonNode exported = om.readTree(
+            Arrays.stream(lines)
+                .filter(line -> line.startsWith("{\"id\":" + ville.getId() + ","))
+                .findFirst()
+                .orElseThrow()
+        );
+        assertThat(exported.get("nom").asText()).isEqualTo(DEFAULT_NOM);
+        assertThat(exported.get("codePostal").asText()).isEqualTo(DEFAULT_CODE_POSTAL);
+        assertThat(exported.get("nbHabitants").asInt()).isEqualTo(DEFAULT_NB_HABITANTS);
+        assertThat(exported.get("region").asText()).isEqualTo("Export Region");
+    }
+
+    @Test
+    @Transactional
+    void exportVillesAsCsv() throws Exception {
+        // Initialize the database
+        insertedVille = villeRepository.saveAndFlush(ville.nom("Export; \"Ville\""));
+
+        String csv = restVilleMockMvc
+            .perform(get(ENTITY_API_URL + "/_export?format=csv"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith("text/csv"))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+        String[] lines = csv.split("\n");
+        assertThat(lines[0]).isEqualTo("id;nom;codePostal;nbHabitants;region");
+        assertThat(lines).hasSize((int) getRepositoryCount() + 1);
+        assertThat(lines).contains(ville.getId() + ";\"Export; \"\"Ville\"\"\";" + DEFAULT_CODE_POSTAL + ";" + DEFAULT_NB_HABITANTS + ";");
+    }
+
+    @Test
+    @Transactional
+    void exportVillesWithInvalidFormat() throws Exception {
+        restVilleMockMvc.perform(get(ENTITY_API_URL + "/_export?format=xml")).andExpect(status().isBadRequest());
+    }
+
     @Test
     @Transactional
     void createVilleWithExistingId() throws Exception {
@@ -152,6 +334,136 @@ class VilleResourceIT {
             .andExpect(jsonPath("$.[*].nbHabitants").value(hasItem(DEFAULT_NB_HABITANTS)));
     }
 
+    @Test
+    @Transactional
+    void getAllVillesWithRegionExpanded() throws Exception {
+        // Initialize the database
+        Region region = RegionResourceIT.createEntity();
+        em.persist(region);
+        insertedVille = villeRepository.saveAndFlush(ville.region(region));
+        em.clear();
+
+        restVilleMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&id.equals=" + ville.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].region.id").value(region.getId().intValue()))
+            .andExpect(jsonPath("$.[0].region.nom").doesNotExist());
+
+        restVilleMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&id.equals=" + ville.getId() + "&expand=region"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "1"))
+            .andExpect(jsonPath("$.[0].region.id").value(region.getId().intValue()))
+            .andExpect(jsonPath("$.[0].region.nom").value(region.getNom()));
+    }
+
+    @Test
+    @Transactional
+    void getAllVillesIsPaginated() throws Exception {
+        // Initialize the database
+        insertedVille = villeRepository.saveAndFlush(ville);
+
+        // Get the first page of the villeList
+        restVilleMockMvc
+            .perform(get(ENTITY_API_URL + "?page=0&size=1&sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", String.valueOf(getRepositoryCount())))
+            .andExpect(header().exists(HttpHeaders.LINK))
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(ville.getId().intValue()));
+    }
+
+    @Test
+    @Transactional
+    void getVillesByKeysetOnId() throws Exception {
+        // Initialize the database
+        Ville first = villeRepository.saveAndFlush(createEntity());
+        Ville second = villeRepository.saveAndFlush(createEntity());
+
+        // Seek just before the two villes: the slice is full, so a next cursor is given
+        restVilleMockMvc
+            .perform(get(ENTITY_API_URL + "/_keyset?size=1&lastId=" + (first.getId() - 1)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(first.getId().intValue()))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("lastId=" + first.getId())));
+
+        // Seek after the first one
+        restVilleMockMvc
+            .perform(get(ENTITY_API_URL + "/_keyset?size=1&lastId=" + first.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].id").value(second.getId().intValue()));
+
+        // Seek after the last one: the slice is empty, so there is no next cursor
+        restVilleMockMvc
+            .perform(get(ENTITY_API_URL + "/_keyset?size=1&lastId=" + second.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(0))
+            .andExpect(header().doesNotExist(HttpHeaders.LINK));
+    }
+
+    @Test
+    @Transactional
+    void getVillesByKeysetOnNom() throws Exception {
+        // Initialize the database
+        Ville updated = villeRepository.saveAndFlush(createUpdatedEntity());
+        insertedVille = villeRepository.saveAndFlush(ville);
+
+        // DEFAULT_NOM sorts before UPDATED_NOM, whatever the ids
+        restVilleMockMvc
+            .perform(get(ENTITY_API_URL + "/_keyset?orderBy=nom&size=1000&lastNom=" + DEFAULT_NOM + "&lastId=" + (ville.getId() - 1)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].id").value(ville.getId().intValue()))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(updated.getId().intValue())));
+
+        restVilleMockMvc
+            .perform(get(ENTITY_API_URL + "/_keyset?orderBy=nom&size=1000&lastNom=" + DEFAULT_NOM + "&lastId=" + ville.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(ville.getId().intValue()))))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(updated.getId().intValue())));
+    }
+
+    @Test
+    @Transactional
+    void getVillesByKeysetWithInvalidParameters() throws Exception {
+        restVilleMockMvc.perform(get(ENTITY_API_URL + "/_keyset?size=0")).andExpect(status().isBadRequest());
+        restVilleMockMvc.perform(get(ENTITY_API_URL + "/_keyset?orderBy=codePostal")).andExpect(status().isBadRequest());
+        restVilleMockMvc
+            .perform(get(ENTITY_API_URL + "/_keyset?orderBy=nom&lastNom=" + DEFAULT_NOM))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.cursorinvalid"));
+        restVilleMockMvc
+            .perform(get(ENTITY_API_URL + "/_keyset?orderBy=nom&lastId=1"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.cursorinvalid"));
+    }
+
+    @Test
+    @Transactional
+    void suggestVilles() throws Exception {
+        // Initialize the database and the index
+        insertedVille = villeRepository.saveAndFlush(ville);
+        villeSuggestService.rebuild();
+
+        try {
+            restVilleMockMvc
+                .perform(get(ENTITY_API_URL + "/_suggest?q=" + DEFAULT_NOM.substring(0, 3).toLowerCase()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(jsonPath("$.[*].id").value(hasItem(ville.getId().intValue())))
+                .andExpect(jsonPath("$.[*].nom").value(hasItem(DEFAULT_NOM)));
+
+            restVilleMockMvc
+                .perform(get(ENTITY_API_URL + "/_suggest?q=" + UPDATED_NOM))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[*].id").value(not(hasItem(ville.getId().intValue()))));
+        } finally {
+            villeRepository.delete(insertedVille);
+            insertedVille = null;
+            villeSuggestService.rebuild();
+        }
+    }
+
     @Test
     @Transactional
     void getVille() throws Exception {
@@ -169,6 +481,271 @@ class VilleResourceIT {
             .andExpect(jsonPath("$.nbHabitants").value(DEFAULT_NB_HABITANTS));
     }
 
+    @Test
+    @Transactional
+    void getVilleWithRegionExpanded() throws Exception {
+        // Initialize the database
+        Region region = RegionResourceIT.createEntity();
+        em.persist(region);
+        insertedVille = villeRepository.saveAndFlush(ville.region(region));
+        em.clear();
+
+        restVilleMockMvc
+            .perform(get(ENTITY_API_URL_ID + "?expand=region", ville.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.id").value(ville.getId().intValue()))
+            .andExpect(jsonPath("$.region.nom").value(region.getNom()));
+    }
+
+    @Test
+    @Transactional
+    void getVillesByIds() throws Exception {
+        // Initialize the database
+        insertedVille = villeRepository.saveAndFlush(ville);
+        Ville otherVille = villeRepository.saveAndFlush(createEntity());
+
+        restVilleMockMvc
+            .perform(
+                post(ENTITY_API_URL + "/_batch")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(new Long[] { otherVille.getId(), Long.MAX_VALUE, ville.getId(), otherVille.getId() }))
+            )
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.[*].id").value(contains(otherVille.getId().intValue(), ville.getId().intValue())));
+    }
+
+    @Test
+    @Transactional
+    void getVillesByIdsWithTooManyIds() throws Exception {
+        Long[] ids = new Long[1001];
+        Arrays.fill(ids, 1L);
+        restVilleMockMvc
+            .perform(post(ENTITY_API_URL + "/_batch").contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(ids)))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void getVillesByIdFiltering() throws Exception {
+        // Initialize the database
+        insertedVille = villeRepository.saveAndFlush(ville);
+
+        Long id = ville.getId();
+
+        defaultVilleFiltering("id.equals=" + id, "id.notEquals=" + id);
+
+        defaultVilleFiltering("id.greaterThanOrEqual=" + id, "id.greaterThan=" + id);
+
+        defaultVilleFiltering("id.lessThanOrEqual=" + id, "id.lessThan=" + id);
+    }
+
+    @Test
+    @Transactional
+    void getAllVillesByNomIsEqualToSomething() throws Exception {
+        // Initialize the database
+        insertedVille = villeRepository.saveAndFlush(ville);
+
+        // Get all the villeList where nom equals to
+        defaultVilleFiltering("nom.equals=" + DEFAULT_NOM, "nom.equals=" + UPDATED_NOM);
+    }
+
+    @Test
+    @Transactional
+    void getAllVillesByNomIsInShouldWork() throws Exception {
+        // Initialize the database
+        insertedVille = villeRepository.saveAndFlush(ville);
+
+        // Get all the villeList where nom in
+        defaultVilleFiltering("nom.in=" + DEFAULT_NOM + "," + UPDATED_NOM, "nom.in=" + UPDATED_NOM);
+    }
+
+    @Test
+    @Transactional
+    void getAllVillesByNomIsNullOrNotNull() throws Exception {
+        // Initialize the database
+        insertedVille = villeRepository.saveAndFlush(ville);
+
+        // Get all the villeList where nom is not null
+        defaultVilleFiltering("nom.specified=true", "nom.specified=false");
+    }
+
+    @Test
+    @Transactional
+    void getAllVillesByNomContainsSomething() throws Exception {
+        // Initialize the database
+        insertedVille = villeRepository.saveAndFlush(ville);
+
+        // Get all the villeList where nom contains
+        defaultVilleFiltering("nom.contains=" + DEFAULT_NOM, "nom.contains=" + UPDATED_NOM);
+    }
+
+    @Test
+    @Transactional
+    void getAllVillesByNomNotContainsSomething() throws Exception {
+        // Initialize the database
+        insertedVille = villeRepository.saveAndFlush(ville);
+
+        // Get all the villeList where nom does not contain
+        defaultVilleFiltering("nom.doesNotContain=" + UPDATED_NOM, "nom.doesNotContain=" + DEFAULT_NOM);
+    }
+
+    @Test
+    @Transactional
+    void getAllVillesByCodePostalIsEqualToSomething() throws Exception {
+        // Initialize the database
+        insertedVille = villeRepository.saveAndFlush(ville);
+
+        // Get all the villeList where codePostal equals to
+        defaultVilleFiltering("codePostal.equals=" + DEFAULT_CODE_POSTAL, "codePostal.equals=" + UPDATED_CODE_POSTAL);
+    }
+
+    @Test
+    @Transactional
+    void getAllVillesByCodePostalIsInShouldWork() throws Exception {
+        // Initialize the database
+        insertedVille = villeRepository.saveAndFlush(ville);
+
+        // Get all the villeList where codePostal in
+        defaultVilleFiltering("codePostal.in=" + DEFAULT_CODE_POSTAL + "," + UPDATED_CODE_POSTAL, "codePostal.in=" + UPDATED_CODE_POSTAL);
+    }
+
+    @Test
+    @Transactional
+    void getAllVillesByCodePostalIsNullOrNotNull() throws Exception {
+        // Initialize the database
+        insertedVille = villeRepository.saveAndFlush(ville);
+
+        // Get all the villeList where codePostal is not null
+        defaultVilleFiltering("codePostal.specified=true", "codePostal.specified=false");
+    }
+
+    @Test
+    @Transactional
+    void getAllVillesByNbHabitantsIsGreaterThanOrEqualToSomething() throws Exception {
+        // Initialize the database
+        insertedVille = villeRepository.saveAndFlush(ville);
+
+        // Get all the villeList where nbHabitants is greater than or equal to
+        defaultVilleFiltering("nbHabitants.greaterThanOrEqual=" + DEFAULT_NB_HABITANTS, "nbHabitants.greaterThanOrEqual=" + (DEFAULT_NB_HABITANTS + 1));
+    }
+
+    @Test
+    @Transactional
+    void getAllVillesByNbHabitantsIsLessThanSomething() throws Exception {
+        // Initialize the database
+        insertedVille = villeRepository.saveAndFlush(ville);
+
+        // Get all the villeList where nbHabitants is less than
+        defaultVilleFiltering("nbHabitants.lessThan=" + (DEFAULT_NB_HABITANTS + 1), "nbHabitants.lessThan=" + DEFAULT_NB_HABITANTS);
+    }
+
+    @Test
+    @Transactional
+    void getAllVillesByRegionIsEqualToSomething() throws Exception {
+        Region region = RegionResourceIT.createEntity();
+        em.persist(region);
+        em.flush();
+        ville.setRegion(region);
+        insertedVille = villeRepository.saveAndFlush(ville);
+        Long regionId = region.getId();
+
+        // Get all the villeList where region equals to regionId
+        defaultVilleShouldBeFound("regionId.equals=" + regionId);
+
+        // Get all the villeList where region equals to (regionId + 1)
+        defaultVilleShouldNotBeFound("regionId.equals=" + (regionId + 1));
+    }
+
+    private void defaultVilleFiltering(String shouldBeFound, String shouldNotBeFound) throws Exception {
+        defaultVilleShouldBeFound(shouldBeFound);
+        defaultVilleShouldNotBeFound(shouldNotBeFound);
+    }
+
+    /**
+     * Executes the search, and checks that the default entity is returned.
+     */
+    private void defaultVilleShouldBeFound(String filter) throws Exception {
+        restVilleMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(ville.getId().intValue())))
+            .andExpect(jsonPath("$.[*].nom").value(hasItem(DEFAULT_NOM)))
+            .andExpect(jsonPath("$.[*].codePostal").value(hasItem(DEFAULT_CODE_POSTAL)))
+            .andExpect(jsonPath("$.[*].nbHabitants").value(hasItem(DEFAULT_NB_HABITANTS)));
+
+        // Check, that the count call also returns 1
+        restVilleMockMvc
+            .perform(get(ENTITY_API_URL + "/count?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(content().string("1"));
+    }
+
+    /**
+     * Executes the search, and checks that the default entity is not returned.
+     */
+    private void defaultVilleShouldNotBeFound(String filter) throws Exception {
+        restVilleMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$").isArray())
+            .andExpect(jsonPath("$").isEmpty());
+
+        // Check, that the count call also returns 0
+        restVilleMockMvc
+            .perform(get(ENTITY_API_URL + "/count?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(content().string("0"));
+    }
+
+    @Test
+    @Transactional
+    void getVilleIsNotModifiedUntilItChanges() throws Exception {
+        // Initialize the database
+        insertedVille = villeRepository.saveAndFlush(ville);
+
+        // Get the ville, then again with its ETag
+        String eTag = restVilleMockMvc
+            .perform(get(ENTITY_API_URL_ID, ville.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+        restVilleMockMvc
+            .perform(get(ENTITY_API_URL_ID, ville.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, eTag))
+            .andExpect(content().string(""));
+
+        // Update the ville, the ETag no longer matches
+        villeRepository.saveAndFlush(insertedVille.nom(UPDATED_NOM));
+        restVilleMockMvc
+            .perform(get(ENTITY_API_URL_ID, ville.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+            .andExpect(jsonPath("$.nom").value(UPDATED_NOM));
+    }
+
+    @Test
+    @Transactional
+    void getVilleSendsTheETagOfTheReturnedVille() throws Exception {
+        // Initialize the database
+        insertedVille = villeRepository.saveAndFlush(ville);
+        // The database is one version ahead of the ville held by the persistence context, like a stale cache entry
+        em.createNativeQuery("update ville set version = version + 1 where id = ?").setParameter(1, ville.getId()).executeUpdate();
+
+        restVilleMockMvc
+            .perform(get(ENTITY_API_URL_ID, ville.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+            .andExpect(jsonPath("$.version").value(0));
+    }
+
     @Test
     @Transactional
     void getNonExistingVille() throws Exception {
@@ -218,6 +795,47 @@ class VilleResourceIT {
         assertSameRepositoryCount(databaseSizeBeforeUpdate);
     }
 
+    @Test
+    @Transactional
+    void putVilleWithStaleVersion() throws Exception {
+        // Initialize the database
+        insertVilleWithStaleVersion();
+
+        Ville staleVille = new Ville().id(ville.getId()).nom(DEFAULT_NOM).version(0);
+
+        assertConflict(put(ENTITY_API_URL_ID, staleVille.getId()), staleVille);
+
+        // The update of the other client is kept
+        assertThat(villeRepository.findById(ville.getId()).orElseThrow().getNom()).isEqualTo(UPDATED_NOM);
+    }
+
+    @Test
+    @Transactional
+    void patchVilleWithStaleVersion() throws Exception {
+        // Initialize the database
+        insertVilleWithStaleVersion();
+
+        Ville staleVille = new Ville().id(ville.getId()).nom(DEFAULT_NOM).version(0);
+
+        assertConflict(patch(ENTITY_API_URL_ID, staleVille.getId()), staleVille);
+
+        // The update of the other client is kept
+        assertThat(villeRepository.findById(ville.getId()).orElseThrow().getNom()).isEqualTo(UPDATED_NOM);
+    }
+
+    private void insertVilleWithStaleVersion() {
+        insertedVille = villeRepository.saveAndFlush(ville);
+        // Another client updates the ville meanwhile, from version 0 to 1
+        villeRepository.saveAndFlush(insertedVille.nom(UPDATED_NOM));
+    }
+
+    private void assertConflict(MockHttpServletRequestBuilder request, Ville staleVille) throws Exception {
+        restVilleMockMvc
+            .perform(request.contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(staleVille)))
+            .andExpect(status().isConflict())
+            .andExpect(jsonPath("$.message").value(ErrorConstants.ERR_CONCURRENCY_FAILURE));
+    }
+
     @Test
     @Transactional
     void putWithIdMismatchVille() throws Exception {
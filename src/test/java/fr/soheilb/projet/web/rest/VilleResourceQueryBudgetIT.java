@@ -0,0 +1,236 @@
+package fr.soheilb.projet.web.rest;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fr.soheilb.projet.IntegrationTest;
+import fr.soheilb.projet.config.QueryBudget;
+import fr.soheilb.projet.domain.Joueur;
+import fr.soheilb.projet.domain.Region;
+import fr.soheilb.projet.domain.Ville;
+import fr.soheilb.projet.repository.VilleRepository;
+import fr.soheilb.projet.security.AuthoritiesConstants;
+import fr.soheilb.projet.service.JoueurService;
+import fr.soheilb.projet.service.RegionService;
+import fr.soheilb.projet.service.VilleService;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Query budgets of the {@link VilleResource} REST controller.
+ * <p>
+ * The villes have a region and a joueur, so that loading them one by one would exceed the budgets. The calls are not run
+ * in a test transaction, so that their writes are flushed.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+class VilleResourceQueryBudgetIT {
+
+    private static final String ENTITY_API_URL = "/api/villes";
+    private static final String ENTITY_API_URL_ID = ENTITY_API_URL + "/{id}";
+
+    private static final int VILLE_COUNT = 3;
+
+    @Autowired
+    private ObjectMapper om;
+
+    @Autowired
+    private QueryBudget queryBudget;
+
+    @Autowired
+    private RegionService regionService;
+
+    @Autowired
+    private VilleService villeService;
+
+    @Autowired
+    private JoueurService joueurService;
+
+    @Autowired
+    private VilleRepository villeRepository;
+
+    @Autowired
+    private MockMvc restVilleMockMvc;
+
+    private Region region;
+
+    private final List<Ville> villes = new ArrayList<>();
+
+    private final List<Joueur> joueurs = new ArrayList<>();
+
+    @BeforeEach
+    void insertEntities() {
+        region = regionService.save(new Region().nom("Budget Region"));
+        for (int i = 0; i < VILLE_COUNT; i++) {
+            Ville ville = villeService.save(new Ville().nom("Budget Ville " + i).codePostal("0000" + i).nbHabitants(100).region(region));
+            villes.add(ville);
+            joueurs.add(joueurService.save(new Joueur().pseudo("budget-ville-" + i).ville(ville)));
+        }
+    }
+
+    @AfterEach
+    void cleanup() {
+        joueurs.forEach(joueur -> joueurService.delete(joueur.getId()));
+        villeRepository.findAllByRegionIdOrderByNomAscIdAsc(region.getId()).forEach(ville -> villeService.delete(ville.getId()));
+        regionService.delete(region.getId());
+    }
+
+    @Test
+    void createVille() throws Exception {
+        Ville ville = new Ville().nom("Budget Ville").nbHabitants(100).region(new Region().id(region.getId()));
+
+        queryBudget.assertAtMost(2, () ->
+            restVilleMockMvc
+                .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(ville)))
+                .andExpect(status().isCreated())
+        );
+    }
+
+    @Test
+    @WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+    void importVilles() throws Exception {
+        String csv = String.join(
+            "\n",
+            "nom;code_postal;nb_habitants;region",
+            "Budget Import A;01000;100;Budget Region",
+            "Budget Import B;01001;100;Budget Region"
+        );
+
+        queryBudget.assertAtMost(4, () ->
+            restVilleMockMvc.perform(post(ENTITY_API_URL + "/_import").contentType("text/csv").content(csv)).andExpect(status().isOk())
+        );
+    }
+
+    @Test
+    void exportVilles() throws Exception {
+        queryBudget.assertAtMost(1, () -> restVilleMockMvc.perform(get(ENTITY_API_URL + "/_export")).andExpect(status().isOk()));
+    }
+
+    @Test
+    void updateVille() throws Exception {
+        Ville ville = villes.get(0);
+        Ville updated = new Ville()
+            .id(ville.getId())
+            .nom("Budget Ville Updated")
+            .codePostal(ville.getCodePostal())
+            .nbHabitants(200)
+            .region(new Region().id(region.getId()));
+
+        queryBudget.assertAtMost(3, () ->
+            restVilleMockMvc
+                .perform(
+                    put(ENTITY_API_URL_ID, ville.getId()).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(updated))
+                )
+                .andExpect(status().isOk())
+        );
+    }
+
+    @Test
+    void partialUpdateVille() throws Exception {
+        Ville ville = villes.get(0);
+        Ville patch = new Ville().id(ville.getId()).nbHabitants(200);
+
+        queryBudget.assertAtMost(3, () ->
+            restVilleMockMvc
+                .perform(
+                    patch(ENTITY_API_URL_ID, ville.getId())
+                        .contentType("application/merge-patch+json")
+                        .content(om.writeValueAsBytes(patch))
+                )
+                .andExpect(status().isOk())
+        );
+    }
+
+    @Test
+    void getAllVilles() throws Exception {
+        queryBudget.assertAtMost(1, () ->
+            restVilleMockMvc
+                .perform(get(ENTITY_API_URL + "?regionId.equals=" + region.getId() + "&sort=id,desc"))
+                .andExpect(status().isOk())
+        );
+    }
+
+    @Test
+    void getAllVillesExpandingRegion() throws Exception {
+        queryBudget.assertAtMost(1, () ->
+            restVilleMockMvc.perform(get(ENTITY_API_URL + "?expand=region&regionId.equals=" + region.getId())).andExpect(status().isOk())
+        );
+    }
+
+    @Test
+    void countVilles() throws Exception {
+        queryBudget.assertAtMost(1, () ->
+            restVilleMockMvc.perform(get(ENTITY_API_URL + "/count?regionId.equals=" + region.getId())).andExpect(status().isOk())
+        );
+    }
+
+    @Test
+    void getVillesByIds() throws Exception {
+        List<Long> ids = villes.stream().map(Ville::getId).toList();
+
+        queryBudget.assertAtMost(1, () ->
+            restVilleMockMvc
+                .perform(post(ENTITY_API_URL + "/_batch").contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(ids)))
+                .andExpect(status().isOk())
+        );
+    }
+
+    @Test
+    void getVillesByKeyset() throws Exception {
+        queryBudget.assertAtMost(1, () ->
+            restVilleMockMvc.perform(get(ENTITY_API_URL + "/_keyset?size=" + VILLE_COUNT)).andExpect(status().isOk())
+        );
+        queryBudget.assertAtMost(1, () ->
+            restVilleMockMvc
+                .perform(get(ENTITY_API_URL + "/_keyset?orderBy=nom&lastNom=Budget&lastId=0&size=" + VILLE_COUNT))
+                .andExpect(status().isOk())
+        );
+    }
+
+    @Test
+    void suggestVilles() throws Exception {
+        queryBudget.assertAtMost(0, () -> restVilleMockMvc.perform(get(ENTITY_API_URL + "/_suggest?q=budget")).andExpect(status().isOk()));
+    }
+
+    @Test
+    void getVille() throws Exception {
+        Long id = villes.get(0).getId();
+
+        queryBudget.assertAtMost(2, () -> restVilleMockMvc.perform(get(ENTITY_API_URL_ID, id)).andExpect(status().isOk()));
+        queryBudget.assertAtMost(1, () ->
+            restVilleMockMvc.perform(get(ENTITY_API_URL_ID + "?expand=region", id)).andExpect(status().isOk())
+        );
+    }
+
+    @Test
+    void getNotModifiedVille() throws Exception {
+        Long id = villes.get(0).getId();
+        String eTag = restVilleMockMvc.perform(get(ENTITY_API_URL_ID, id)).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        queryBudget.assertAtMost(1, () ->
+            restVilleMockMvc
+                .perform(get(ENTITY_API_URL_ID, id).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+        );
+    }
+
+    @Test
+    void deleteVille() throws Exception {
+        Ville ville = villeService.save(new Ville().nom("Budget Ville Deleted").nbHabitants(100).region(region));
+
+        queryBudget.assertAtMost(3, () ->
+            restVilleMockMvc.perform(delete(ENTITY_API_URL_ID, ville.getId())).andExpect(status().isNoContent())
+        );
+    }
+}
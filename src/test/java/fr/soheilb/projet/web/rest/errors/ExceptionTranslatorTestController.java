@@ -1,11 +1,14 @@
 package fr.soheilb.projet.web.rest.errors;
 
+import fr.soheilb.projet.security.PasswordHashingUnavailableException;
+import jakarta.persistence.OptimisticLockException;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -17,6 +20,11 @@ public class ExceptionTranslatorTestController {
         throw new ConcurrencyFailureException("test concurrency failure");
     }
 
+    @GetMapping("/optimistic-lock")
+    public void optimisticLock() {
+        throw new OptimisticLockException("test optimistic lock");
+    }
+
     @PostMapping("/method-argument")
     public void methodArgument(@Valid @RequestBody TestDTO testDTO) {
         // empty method
@@ -42,6 +50,15 @@ public class ExceptionTranslatorTestController {
         throw new BadCredentialsException("test authentication failed!");
     }
 
+    @GetMapping("/password-hashing-unavailable")
+    public void passwordHashingUnavailable() {
+        // As thrown by the authentication manager
+        throw new InternalAuthenticationServiceException(
+            "test password hashing unavailable",
+            new PasswordHashingUnavailableException("test password hashing unavailable", null)
+        );
+    }
+
     @GetMapping("/response-status")
     public void exceptionWithResponseStatus() {
         throw new TestResponseStatusException();